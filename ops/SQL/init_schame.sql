@@ -23,7 +23,8 @@ CREATE TABLE `sys_basic_user`
     `update_name`           varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin  DEFAULT NULL COMMENT '修改人名称',
     `create_time`           datetime                                               DEFAULT NULL COMMENT '创建时间',
     `update_time`           datetime                                               DEFAULT NULL COMMENT '修改时间',
-    PRIMARY KEY (`id`) USING BTREE
+    PRIMARY KEY (`id`) USING BTREE,
+    KEY                     `idx_create_time_id` (`create_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin ROW_FORMAT=DYNAMIC COMMENT='基础用户信息表';
 
 INSERT INTO sys_basic_user (id, username, nickname, profile, picture, email, email_verified, gender, password,
@@ -90,7 +91,8 @@ CREATE TABLE `sys_dict_item`
     `create_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin           DEFAULT NULL COMMENT '创建人名称',
     `update_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin           DEFAULT NULL COMMENT '修改人名称',
     PRIMARY KEY (`id`),
-    KEY           `idx_type_code` (`type_code`)
+    KEY           `idx_type_code` (`type_code`),
+    KEY           `idx_sort_order_id` (`sort_order`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='字典项表';
 
 
@@ -110,7 +112,8 @@ CREATE TABLE `sys_dict_type`
     `create_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '创建人名称',
     `update_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '修改人名称',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `uk_type_code` (`type_code`)
+    UNIQUE KEY `uk_type_code` (`type_code`),
+    KEY `idx_create_time_id` (`create_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='字典类型表';
 
 
@@ -129,6 +132,7 @@ CREATE TABLE `sys_permission`
     `description`         varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '描述',
     `need_authentication` tinyint(1) DEFAULT '0' COMMENT '是否需要鉴权',
     `parent_id`           bigint                                                 DEFAULT '0' COMMENT '父节点id',
+    `tree_path`           varchar(1000) COLLATE utf8mb4_bin                      DEFAULT NULL COMMENT '层级路径，格式为 /根节点id/.../当前节点id/',
     `component`           varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '组件路径',
     `redirect`            varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '路由重定向',
     `deleted`             tinyint(1) DEFAULT NULL COMMENT '是否已删除',
@@ -151,7 +155,10 @@ CREATE TABLE `sys_permission`
     `update_name`         varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin  DEFAULT NULL COMMENT '修改人名称',
     `create_time`         datetime                                               DEFAULT NULL COMMENT '创建时间',
     `update_time`         datetime                                               DEFAULT NULL COMMENT '修改时间',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY                   `idx_tree_path` (`tree_path`(255)),
+    KEY                   `idx_parent_id` (`parent_id`),
+    KEY                   `idx_sort_order_id` (`sort_order`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='RBAC权限表';
 
 
@@ -170,7 +177,8 @@ CREATE TABLE `sys_role`
     `update_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL COMMENT '修改人名称',
     `create_time` datetime                                              DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime                                              DEFAULT NULL COMMENT '修改时间',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time_id` (`create_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='RBAC角色表';
 
 
@@ -2431,4 +2439,18 @@ VALUES (1991420063233941510, 1948585988513411073, 1990332148267409409, 1, 1, '
 INSERT INTO sys_user_role (id, role_id, user_id, create_by, update_by, create_name, update_name, create_time,
                            update_time)
 VALUES (1991420063233941511, 1991419386055172098, 1990332148267409409, 1, 1, '云逸', '云逸', '2025-11-20 16:15:17',
-        '2025-11-20 16:15:17');
\ No newline at end of file
+        '2025-11-20 16:15:17');
+
+-- 根据 parent_id 计算 sys_permission 的层级路径
+WITH RECURSIVE tree (id, tree_path) AS (SELECT p.id, CAST(CONCAT('/', p.id, '/') AS CHAR(1000))
+                                        FROM sys_permission p
+                                        WHERE p.parent_id IS NULL
+                                           OR p.parent_id = 0
+                                           OR NOT EXISTS (SELECT 1 FROM sys_permission parent WHERE parent.id = p.parent_id)
+                                        UNION ALL
+                                        SELECT c.id, CONCAT(t.tree_path, c.id, '/')
+                                        FROM sys_permission c
+                                                 JOIN tree t ON c.parent_id = t.id)
+UPDATE sys_permission p
+    JOIN tree t ON p.id = t.id
+SET p.tree_path = t.tree_path;
@@ -0,0 +1,20 @@
+-- sys_permission 增加层级路径(物化路径)，子树查询、删除与移动改为按路径前缀匹配
+
+ALTER TABLE `sys_permission`
+    ADD COLUMN `tree_path` varchar(1000) COLLATE utf8mb4_bin DEFAULT NULL COMMENT '层级路径，格式为 /根节点id/.../当前节点id/' AFTER `parent_id`,
+    ADD KEY `idx_tree_path` (`tree_path`(255)),
+    ADD KEY `idx_parent_id` (`parent_id`);
+
+-- 根据 parent_id 回填已有数据的层级路径，父节点不存在的权限视为根节点
+WITH RECURSIVE tree (id, tree_path) AS (SELECT p.id, CAST(CONCAT('/', p.id, '/') AS CHAR(1000))
+                                        FROM sys_permission p
+                                        WHERE p.parent_id IS NULL
+                                           OR p.parent_id = 0
+                                           OR NOT EXISTS (SELECT 1 FROM sys_permission parent WHERE parent.id = p.parent_id)
+                                        UNION ALL
+                                        SELECT c.id, CONCAT(t.tree_path, c.id, '/')
+                                        FROM sys_permission c
+                                                 JOIN tree t ON c.parent_id = t.id)
+UPDATE sys_permission p
+    JOIN tree t ON p.id = t.id
+SET p.tree_path = t.tree_path;
@@ -0,0 +1,16 @@
+-- 分页查询按 排序字段 + 主键 排序，按游标分页时从索引中定位到游标之后只扫描一页的数据
+
+ALTER TABLE `sys_basic_user`
+    ADD KEY `idx_create_time_id` (`create_time`, `id`);
+
+ALTER TABLE `sys_role`
+    ADD KEY `idx_create_time_id` (`create_time`, `id`);
+
+ALTER TABLE `sys_permission`
+    ADD KEY `idx_sort_order_id` (`sort_order`, `id`);
+
+ALTER TABLE `sys_dict_type`
+    ADD KEY `idx_create_time_id` (`create_time`, `id`);
+
+ALTER TABLE `sys_dict_item`
+    ADD KEY `idx_sort_order_id` (`sort_order`, `id`);
@@ -2,12 +2,14 @@ package com.basic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 启动类
  *
  * @author vains
  */
+@EnableScheduling
 @SpringBootApplication
 public class BasicPlatformApplication {
 
@@ -0,0 +1,48 @@
+package com.basic.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 字典翻译注解
+ * <p>
+ * 序列化时根据字段值(字典项编码)从内存中的字典查找字典项，在字段之后写入字典项名称，
+ * 例如 gender 字段会额外写入 genderLabel；开启 {@link #i18n()} 时同时写入字典项的多语言 JSON。
+ * 字段值为 null 或找不到对应的字典项时不写入。
+ * </p>
+ *
+ * @author vains
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DictLabel {
+
+    /**
+     * 字典类型编码
+     *
+     * @return 字典类型编码
+     */
+    String value();
+
+    /**
+     * 字典项名称的属性名后缀，默认为 Label
+     *
+     * @return 字典项名称的属性名后缀
+     */
+    String labelSuffix() default "Label";
+
+    /**
+     * 是否同时写入字典项的多语言 JSON，默认不写入
+     *
+     * @return 是否写入多语言 JSON
+     */
+    boolean i18n() default false;
+
+    /**
+     * 多语言 JSON 的属性名后缀，默认为 I18n
+     *
+     * @return 多语言 JSON 的属性名后缀
+     */
+    String i18nSuffix() default "I18n";
+
+}
@@ -0,0 +1,325 @@
+package com.basic.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.entity.SysDictItem;
+import com.basic.domain.entity.SysDictType;
+import com.basic.domain.response.FindDictItemsResponse;
+import com.basic.domain.response.FindSysDictItemResponse;
+import com.basic.enums.StatusEnum;
+import com.basic.mapper.SysDictItemMapper;
+import com.basic.mapper.SysDictTypeMapper;
+import com.basic.util.BeanCopyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 字典内存存储
+ * <p>
+ * 启动时加载所有字典类型及其启用的字典项，按类型编码保存排序后的不可修改列表以及按字典项编码建立的索引，查询字典时不访问数据库。
+ * 快照中的字典项不直接返回给调用方：查询字典时返回字典项的副本，翻译字典项时返回不可修改的 {@link ItemLabel}。
+ * 字典类型或字典项变更时在事务提交后递增 Redis 中对应类型的版本号，并通过 Redis 发布订阅通知所有节点重新加载变更的类型；
+ * 另外定时全量加载，弥补订阅断开期间丢失的通知。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class DictionaryStore implements MessageListener, InitializingBean {
+
+    private static final String TYPE_CODE_DELIMITER = ",";
+
+    private final SysDictTypeMapper sysDictTypeMapper;
+
+    private final SysDictItemMapper sysDictItemMapper;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * 字典快照，整体替换
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public DictionaryStore(SysDictTypeMapper sysDictTypeMapper,
+                           SysDictItemMapper sysDictItemMapper,
+                           RedisTemplate<String, String> stringRedisTemplate,
+                           RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.sysDictTypeMapper = sysDictTypeMapper;
+        this.sysDictItemMapper = sysDictItemMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(AuthorizeConstants.DICT_CHANGED_CHANNEL));
+        this.reload();
+    }
+
+    /**
+     * 获取字典
+     *
+     * @param typeCode 字典类型编码
+     * @return 字典，字典类型不存在时返回 null
+     */
+    public FindDictItemsResponse get(String typeCode) {
+        StoredDictionary dictionary = this.snapshot.dictionaries().get(typeCode);
+        return dictionary == null ? null : dictionary.toResponse();
+    }
+
+    /**
+     * 获取字典项的名称
+     *
+     * @param typeCode 字典类型编码
+     * @param itemCode 字典项编码
+     * @return 启用的字典项的名称，字典类型或字典项不存在时返回 null
+     */
+    public ItemLabel getItem(String typeCode, String itemCode) {
+        Map<String, ItemLabel> items = this.snapshot.items().get(typeCode);
+        return items == null ? null : items.get(itemCode);
+    }
+
+    /**
+     * 批量获取字典
+     *
+     * @param typeCodes 字典类型编码
+     * @return 字典类型编码 -> 字典，按入参顺序，不包含不存在的字典类型
+     */
+    public Map<String, FindDictItemsResponse> getAll(Collection<String> typeCodes) {
+        Map<String, StoredDictionary> current = this.snapshot.dictionaries();
+        Map<String, FindDictItemsResponse> result = new LinkedHashMap<>();
+        for (String typeCode : typeCodes) {
+            StoredDictionary dictionary = current.get(typeCode);
+            if (dictionary != null) {
+                result.put(typeCode, dictionary.toResponse());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 字典已变更，在当前事务提交后递增版本号并通知所有节点重新加载
+     *
+     * @param typeCodes 变更的字典类型编码
+     */
+    public void changed(String... typeCodes) {
+        Set<String> changedTypeCodes = Arrays.stream(typeCodes)
+                .filter(e -> !ObjectUtils.isEmpty(e))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (changedTypeCodes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    DictionaryStore.this.publishChanged(changedTypeCodes);
+                }
+            });
+        } else {
+            this.publishChanged(changedTypeCodes);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        List<String> typeCodes = Arrays.stream(body.split(TYPE_CODE_DELIMITER))
+                .filter(e -> !e.isEmpty())
+                .toList();
+        try {
+            this.reload(typeCodes);
+        } catch (Exception e) {
+            log.error("重新加载字典失败，字典类型编码：{}", typeCodes, e);
+        }
+    }
+
+    /**
+     * 定时全量加载
+     */
+    @Scheduled(fixedDelay = 10, initialDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public synchronized void reload() {
+        List<SysDictType> types = sysDictTypeMapper.selectList(Wrappers.lambdaQuery(SysDictType.class)
+                .select(SysDictType::getTypeCode));
+        List<SysDictItem> items = sysDictItemMapper.selectList(Wrappers.lambdaQuery(SysDictItem.class)
+                .eq(SysDictItem::getStatus, StatusEnum.ENABLE.getCode())
+                .orderByAsc(SysDictItem::getSortOrder));
+        Set<String> typeCodes = types.stream()
+                .map(SysDictType::getTypeCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, StoredDictionary> loaded = build(typeCodes, items, this.versions(typeCodes));
+        this.snapshot = Snapshot.of(loaded);
+        log.info("字典已加载，字典类型 {} 个，字典项 {} 个.", loaded.size(), items.size());
+    }
+
+    /**
+     * 重新加载指定的字典类型
+     *
+     * @param typeCodes 字典类型编码
+     */
+    private synchronized void reload(Collection<String> typeCodes) {
+        if (typeCodes.isEmpty()) {
+            return;
+        }
+        Set<String> existingTypeCodes = sysDictTypeMapper.selectList(Wrappers.lambdaQuery(SysDictType.class)
+                        .select(SysDictType::getTypeCode)
+                        .in(SysDictType::getTypeCode, typeCodes))
+                .stream()
+                .map(SysDictType::getTypeCode)
+                .collect(Collectors.toSet());
+        List<SysDictItem> items = existingTypeCodes.isEmpty() ? List.of() : sysDictItemMapper.selectList(
+                Wrappers.lambdaQuery(SysDictItem.class)
+                        .eq(SysDictItem::getStatus, StatusEnum.ENABLE.getCode())
+                        .in(SysDictItem::getTypeCode, existingTypeCodes)
+                        .orderByAsc(SysDictItem::getSortOrder));
+
+        Map<String, StoredDictionary> updated = new HashMap<>(this.snapshot.dictionaries());
+        // 已删除的字典类型从存储中移除
+        typeCodes.forEach(updated::remove);
+        updated.putAll(build(existingTypeCodes, items, this.versions(existingTypeCodes)));
+        this.snapshot = Snapshot.of(updated);
+        if (log.isDebugEnabled()) {
+            log.debug("字典已重新加载，字典类型编码：{}", typeCodes);
+        }
+    }
+
+    private void publishChanged(Set<String> typeCodes) {
+        try {
+            typeCodes.forEach(typeCode -> stringRedisTemplate.opsForHash()
+                    .increment(AuthorizeConstants.DICT_VERSION_KEY, typeCode, 1));
+        } catch (Exception e) {
+            log.warn("递增字典版本号失败：{}", e.getMessage());
+        }
+        // 当前节点立即生效，收到自己发送的通知时会再加载一次
+        this.reload(typeCodes);
+        try {
+            stringRedisTemplate.convertAndSend(AuthorizeConstants.DICT_CHANGED_CHANNEL,
+                    String.join(TYPE_CODE_DELIMITER, typeCodes));
+        } catch (Exception e) {
+            // 通知失败时其它节点在下次定时加载时更新
+            log.warn("发送字典变更通知失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取字典类型的版本号
+     *
+     * @param typeCodes 字典类型编码
+     * @return 字典类型编码 -> 版本号，读取失败时沿用当前版本号加一
+     */
+    private Map<String, Long> versions(Collection<String> typeCodes) {
+        Map<String, Long> versions = new HashMap<>(typeCodes.size());
+        if (typeCodes.isEmpty()) {
+            return versions;
+        }
+        List<String> fields = List.copyOf(typeCodes);
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash()
+                    .multiGet(AuthorizeConstants.DICT_VERSION_KEY, new ArrayList<>(fields));
+            for (int i = 0; i < fields.size(); i++) {
+                Object value = values.get(i);
+                versions.put(fields.get(i), value == null ? 0L : Long.parseLong(String.valueOf(value)));
+            }
+        } catch (Exception e) {
+            log.warn("读取字典版本号失败：{}", e.getMessage());
+            Map<String, StoredDictionary> current = this.snapshot.dictionaries();
+            fields.forEach(typeCode -> {
+                StoredDictionary dictionary = current.get(typeCode);
+                versions.put(typeCode, dictionary == null ? 0L : dictionary.version() + 1);
+            });
+        }
+        return versions;
+    }
+
+    private static Map<String, StoredDictionary> build(Set<String> typeCodes, List<SysDictItem> items,
+                                                       Map<String, Long> versions) {
+        // 查询结果已按排序值升序，分组后保持顺序
+        Map<String, List<FindSysDictItemResponse>> grouped = items.stream()
+                .filter(e -> typeCodes.contains(e.getTypeCode()))
+                .collect(Collectors.groupingBy(SysDictItem::getTypeCode, Collectors.mapping(e -> {
+                    FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
+                    BeanCopyUtils.copyProperties(e, dictItemResponse);
+                    return dictItemResponse;
+                }, Collectors.toList())));
+        Map<String, StoredDictionary> result = new HashMap<>(typeCodes.size());
+        for (String typeCode : typeCodes) {
+            result.put(typeCode, new StoredDictionary(typeCode, versions.getOrDefault(typeCode, 0L),
+                    List.copyOf(grouped.getOrDefault(typeCode, List.of()))));
+        }
+        return result;
+    }
+
+    /**
+     * 字典项的名称，用于翻译字典项
+     *
+     * @param itemName 字典项名称
+     * @param i18nJson 多语言 JSON 值
+     */
+    public record ItemLabel(String itemName, String i18nJson) {
+    }
+
+    /**
+     * 快照中的字典，字典项只在当前类中读取，返回给调用方时复制
+     *
+     * @param typeCode 字典类型编码
+     * @param version  字典版本号
+     * @param items    启用的字典项，按排序值升序
+     */
+    private record StoredDictionary(String typeCode, long version, List<FindSysDictItemResponse> items) {
+
+        FindDictItemsResponse toResponse() {
+            List<FindSysDictItemResponse> copies = new ArrayList<>(this.items.size());
+            for (FindSysDictItemResponse item : this.items) {
+                FindSysDictItemResponse copy = new FindSysDictItemResponse();
+                BeanCopyUtils.copyProperties(item, copy);
+                copies.add(copy);
+            }
+            return new FindDictItemsResponse(this.typeCode, this.version, copies);
+        }
+
+    }
+
+    /**
+     * 字典快照
+     *
+     * @param dictionaries 字典类型编码 -> 字典
+     * @param items        字典类型编码 -> (字典项编码 -> 字典项名称)，用于按编码翻译字典项
+     */
+    private record Snapshot(Map<String, StoredDictionary> dictionaries, Map<String, Map<String, ItemLabel>> items) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        static Snapshot of(Map<String, StoredDictionary> dictionaries) {
+            Map<String, Map<String, ItemLabel>> items = new HashMap<>(dictionaries.size());
+            dictionaries.forEach((typeCode, dictionary) -> items.put(typeCode, dictionary.items().stream()
+                    .filter(e -> e.getItemCode() != null)
+                    // 编码重复时取排序靠前的字典项
+                    .collect(Collectors.toUnmodifiableMap(FindSysDictItemResponse::getItemCode,
+                            e -> new ItemLabel(e.getItemName(), e.getI18nJson()), (a, b) -> a))));
+            return new Snapshot(Map.copyOf(dictionaries), Map.copyOf(items));
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.basic.cache;
+
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.model.BitSetAuthorities;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import java.util.*;
+
+/**
+ * 权限编码字典
+ * <p>
+ * 为每个权限标识分配一个全局唯一、从 0 开始连续的整数编码，用户的权限以编码位图的形式保存，
+ * 权限判断只需要检查对应的位，耗时与用户拥有的权限数量无关。
+ * 编码保存在 Redis 中，所有节点共享，新编码由 Redis 中的计数器分配；编码一经分配不会修改或回收，所以本地可以一直缓存，
+ * 遇到本地不存在的编码时(其它节点新分配的)重新从 Redis 加载并替换本地快照。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class PermissionCodeDictionary implements InitializingBean {
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    /**
+     * 分配编码脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> assignScript;
+
+    /**
+     * 本地字典快照，变更时整体替换
+     */
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new String[0]);
+
+    public PermissionCodeDictionary(RedisTemplate<String, String> stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.assignScript = DefaultRedisScript.of(new ClassPathResource("scripts/permission-code.lua"), List.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.reload();
+    }
+
+    /**
+     * 获取权限标识对应的编码
+     *
+     * @param authority 权限标识
+     * @return 编码，未分配时返回 -1
+     */
+    public int codeOf(String authority) {
+        Integer code = this.snapshot.codes().get(authority);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * 获取编码对应的权限标识
+     *
+     * @param code 编码
+     * @return 权限标识，不存在时返回 null
+     */
+    public String authorityOf(int code) {
+        String authority = this.snapshot.authorityOf(code);
+        if (authority == null) {
+            // 其它节点新分配的编码
+            this.reload();
+            authority = this.snapshot.authorityOf(code);
+        }
+        return authority;
+    }
+
+    /**
+     * 将权限标识转为位图权限，未分配编码的权限标识会先分配编码
+     *
+     * @param authorities 权限标识
+     * @return 位图权限
+     */
+    public BitSetAuthorities encode(Collection<String> authorities) {
+        BitSet bits = new BitSet();
+        Snapshot current = this.snapshot;
+        Set<String> missing = new LinkedHashSet<>();
+        for (String authority : authorities) {
+            Integer code = current.codes().get(authority);
+            if (code == null) {
+                missing.add(authority);
+            } else {
+                bits.set(code);
+            }
+        }
+        if (!missing.isEmpty()) {
+            this.assign(missing).values().forEach(bits::set);
+        }
+        return new BitSetAuthorities(bits, this);
+    }
+
+    /**
+     * 将 {@link BitSet#toByteArray()} 的结果还原为位图权限
+     *
+     * @param bytes 位图数据
+     * @return 位图权限
+     */
+    public BitSetAuthorities decode(byte[] bytes) {
+        BitSet bits = BitSet.valueOf(bytes);
+        // 编码是连续分配的，位图中存在超出本地字典范围的编码时说明其它节点分配了新编码，
+        // 需要在判断权限之前加载，否则会把用户拥有的权限判断为没有
+        if (bits.length() > this.snapshot.authorities().length) {
+            this.reload();
+        }
+        return new BitSetAuthorities(bits, this);
+    }
+
+    /**
+     * 从 Redis 重新加载字典，以 Redis 中的数据替换本地快照
+     */
+    public synchronized void reload() {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(AuthorizeConstants.PERMISSION_CODE_KEY);
+        Map<String, Integer> codes = new HashMap<>(entries.size());
+        entries.forEach((authority, code) -> codes.put(String.valueOf(authority), Integer.valueOf(String.valueOf(code))));
+        this.snapshot = Snapshot.of(codes);
+        if (log.isDebugEnabled()) {
+            log.debug("权限编码字典已加载，共 {} 个权限.", codes.size());
+        }
+    }
+
+    /**
+     * 通过 Redis 分配编码并合并至本地字典
+     *
+     * @param authorities 未分配编码的权限标识
+     * @return 权限标识与编码的映射
+     */
+    private synchronized Map<String, Integer> assign(Set<String> authorities) {
+        List<String> args = new ArrayList<>(authorities);
+        List<?> result = stringRedisTemplate.execute(this.assignScript,
+                List.of(AuthorizeConstants.PERMISSION_CODE_KEY, AuthorizeConstants.PERMISSION_CODE_SEQUENCE_KEY),
+                args.toArray());
+        if (ObjectUtils.isEmpty(result) || result.size() != args.size()) {
+            throw new IllegalStateException("分配权限编码失败：" + authorities);
+        }
+
+        Map<String, Integer> assigned = new HashMap<>(args.size());
+        Map<String, Integer> codes = new HashMap<>(this.snapshot.codes());
+        for (int i = 0; i < args.size(); i++) {
+            int code = ((Number) result.get(i)).intValue();
+            assigned.put(args.get(i), code);
+            codes.put(args.get(i), code);
+        }
+        this.snapshot = Snapshot.of(codes);
+        return assigned;
+    }
+
+    /**
+     * 字典快照
+     *
+     * @param codes       权限标识 -> 编码
+     * @param authorities 编码 -> 权限标识
+     */
+    private record Snapshot(Map<String, Integer> codes, String[] authorities) {
+
+        static Snapshot of(Map<String, Integer> codes) {
+            int length = codes.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            String[] authorities = new String[length];
+            codes.forEach((authority, code) -> authorities[code] = authority);
+            return new Snapshot(Map.copyOf(codes), authorities);
+        }
+
+        String authorityOf(int code) {
+            return code >= 0 && code < this.authorities.length ? this.authorities[code] : null;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.basic.cache;
+
+import com.basic.domain.entity.SysPermission;
+import com.basic.util.LongObjectMap;
+
+import java.util.*;
+
+/**
+ * RBAC 关系快照
+ * <p>
+ * 保存 用户 -> 角色、角色 -> 权限 以及所有未删除的权限，所有查询都在内存中完成；
+ * 实例不可修改，变更时返回修改后的新实例，旧实例可以继续被正在执行的查询使用。
+ * 快照中的权限在多个请求间共享，不应修改。
+ * </p>
+ *
+ * @author vains
+ */
+public final class RbacGraph {
+
+    private static final long[] EMPTY_IDS = new long[0];
+
+    static final RbacGraph EMPTY = new RbacGraph(LongObjectMap.empty(), LongObjectMap.empty(), LongObjectMap.empty());
+
+    /**
+     * 用户id -> 角色id(升序)
+     */
+    private final LongObjectMap<long[]> userRoles;
+
+    /**
+     * 角色id -> 权限id(升序)
+     */
+    private final LongObjectMap<long[]> rolePermissions;
+
+    /**
+     * 权限id -> 权限
+     */
+    private final LongObjectMap<SysPermission> permissions;
+
+    RbacGraph(LongObjectMap<long[]> userRoles, LongObjectMap<long[]> rolePermissions,
+              LongObjectMap<SysPermission> permissions) {
+        this.userRoles = userRoles;
+        this.rolePermissions = rolePermissions;
+        this.permissions = permissions;
+    }
+
+    /**
+     * 获取用户拥有的角色id
+     *
+     * @param userId 用户id
+     * @return 角色id，没有角色时返回空数组
+     */
+    public long[] getRoleIds(long userId) {
+        long[] roleIds = this.userRoles.get(userId);
+        return roleIds == null ? EMPTY_IDS : roleIds.clone();
+    }
+
+    /**
+     * 获取角色拥有的权限id，包含已删除权限的id
+     *
+     * @param roleId 角色id
+     * @return 权限id，没有权限时返回空数组
+     */
+    public long[] getPermissionIds(long roleId) {
+        long[] permissionIds = this.rolePermissions.get(roleId);
+        return permissionIds == null ? EMPTY_IDS : permissionIds.clone();
+    }
+
+    /**
+     * 获取用户拥有的所有角色的权限并集，不包含已删除的权限
+     *
+     * @param userId 用户id
+     * @return 权限列表，按权限id升序
+     */
+    public List<SysPermission> findPermissionsByUserId(long userId) {
+        long[] roleIds = this.userRoles.get(userId);
+        if (roleIds == null) {
+            return List.of();
+        }
+        int total = 0;
+        for (long roleId : roleIds) {
+            long[] permissionIds = this.rolePermissions.get(roleId);
+            total += permissionIds == null ? 0 : permissionIds.length;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long roleId : roleIds) {
+            long[] permissionIds = this.rolePermissions.get(roleId);
+            if (permissionIds != null) {
+                System.arraycopy(permissionIds, 0, merged, offset, permissionIds.length);
+                offset += permissionIds.length;
+            }
+        }
+        Arrays.sort(merged);
+
+        List<SysPermission> result = new ArrayList<>(total);
+        for (int i = 0; i < merged.length; i++) {
+            if (i > 0 && merged[i] == merged[i - 1]) {
+                continue;
+            }
+            SysPermission permission = this.permissions.get(merged[i]);
+            if (permission != null) {
+                result.add(permission);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取拥有任意一个角色的用户id
+     *
+     * @param roleIds 角色id
+     * @return 用户id
+     */
+    public Set<Long> findUserIdsByRoleIds(Collection<Long> roleIds) {
+        Set<Long> userIds = new HashSet<>();
+        this.userRoles.forEach((userId, userRoleIds) -> {
+            for (long roleId : userRoleIds) {
+                if (roleIds.contains(roleId)) {
+                    userIds.add(userId);
+                    return;
+                }
+            }
+        });
+        return userIds;
+    }
+
+    /**
+     * 过滤掉在给定权限中存在子节点的权限id
+     *
+     * @param permissionIds 权限id
+     * @return 没有子节点的权限id
+     */
+    public List<String> findNonParentPermissions(Collection<Long> permissionIds) {
+        Set<Long> parentIds = new HashSet<>();
+        for (Long permissionId : permissionIds) {
+            SysPermission permission = this.permissions.get(permissionId);
+            // 去掉根节点标识
+            if (permission != null && permission.getParentId() != null && permission.getParentId() != 0) {
+                parentIds.add(permission.getParentId());
+            }
+        }
+        return permissionIds.stream()
+                .filter(id -> !parentIds.contains(id))
+                .map(String::valueOf)
+                .toList();
+    }
+
+    /**
+     * 替换用户的角色
+     *
+     * @param changes 用户id -> 角色id，角色id 为空时表示用户没有角色
+     * @return 修改后的新实例
+     */
+    RbacGraph withUserRoles(Map<Long, long[]> changes) {
+        return new RbacGraph(this.userRoles.withAll(normalize(changes)), this.rolePermissions, this.permissions);
+    }
+
+    /**
+     * 替换角色的权限
+     *
+     * @param changes 角色id -> 权限id，权限id 为空时表示角色没有权限
+     * @return 修改后的新实例
+     */
+    RbacGraph withRolePermissions(Map<Long, long[]> changes) {
+        return new RbacGraph(this.userRoles, this.rolePermissions.withAll(normalize(changes)), this.permissions);
+    }
+
+    /**
+     * 替换权限
+     *
+     * @param changes 权限id -> 权限，权限为 null 时表示已删除
+     * @return 修改后的新实例
+     */
+    RbacGraph withPermissions(Map<Long, SysPermission> changes) {
+        return new RbacGraph(this.userRoles, this.rolePermissions, this.permissions.withAll(changes));
+    }
+
+    /**
+     * 是否与另一个快照的角色权限与权限完全相同，只有用户角色变更时两个快照共享同一份角色权限与权限
+     *
+     * @param other 另一个快照
+     * @return 相同时返回 true
+     */
+    boolean sharesPermissions(RbacGraph other) {
+        return this.rolePermissions == other.rolePermissions && this.permissions == other.permissions;
+    }
+
+    /**
+     * @return 权限数量
+     */
+    int permissionCount() {
+        return this.permissions.size();
+    }
+
+    /**
+     * 排序去重，空数组转为 null 表示删除
+     */
+    private static Map<Long, long[]> normalize(Map<Long, long[]> changes) {
+        Map<Long, long[]> normalized = new HashMap<>(changes.size());
+        changes.forEach((key, ids) -> normalized.put(key,
+                ids == null || ids.length == 0 ? null : Arrays.stream(ids).sorted().distinct().toArray()));
+        return normalized;
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.basic.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.entity.SysPermission;
+import com.basic.domain.entity.SysRolePermission;
+import com.basic.domain.entity.SysUserRole;
+import com.basic.mapper.SysPermissionMapper;
+import com.basic.mapper.SysRolePermissionMapper;
+import com.basic.mapper.SysUserRoleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RBAC 关系内存快照
+ * <p>
+ * 启动时从数据库加载完整的 {@link RbacGraph}，之后根据变更事件增量更新：
+ * 用户角色、角色权限或权限变更时，在事务提交后从数据库重新加载变更的部分并替换快照，同时将变更事件写入 Redis Stream；
+ * 其它节点按 Stream 中的顺序(消息id 即序号)消费变更事件并更新本地快照，最终所有节点一致。
+ * 变更事件只包含变更数据的 id，重复处理是幂等的；另外定时全量加载，弥补 Stream 被裁剪期间丢失的事件。
+ * 会话中的权限按快照计算，每次替换快照后清除当前节点 {@link SessionNearCache} 中受影响用户的会话，
+ * 下次请求时按新的快照重新计算权限。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class RbacGraphCache implements InitializingBean {
+
+    /**
+     * 变更事件 Stream 保留的最大长度
+     */
+    private static final long STREAM_MAX_LENGTH = 10000;
+
+    /**
+     * 每次读取的最大事件数
+     */
+    private static final long READ_BATCH_SIZE = 100;
+
+    private static final String FIELD_TYPE = "type";
+
+    private static final String FIELD_IDS = "ids";
+
+    private final SysUserRoleMapper sysUserRoleMapper;
+
+    private final SysRolePermissionMapper sysRolePermissionMapper;
+
+    private final SysPermissionMapper sysPermissionMapper;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final SessionNearCache sessionNearCache;
+
+    private volatile RbacGraph graph = RbacGraph.EMPTY;
+
+    /**
+     * 最后处理的变更事件id
+     */
+    private volatile String lastEventId = "0-0";
+
+    public RbacGraphCache(SysUserRoleMapper sysUserRoleMapper,
+                          SysRolePermissionMapper sysRolePermissionMapper,
+                          SysPermissionMapper sysPermissionMapper,
+                          RedisTemplate<String, String> stringRedisTemplate,
+                          SessionNearCache sessionNearCache) {
+        this.sysUserRoleMapper = sysUserRoleMapper;
+        this.sysRolePermissionMapper = sysRolePermissionMapper;
+        this.sysPermissionMapper = sysPermissionMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.sessionNearCache = sessionNearCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.reload();
+    }
+
+    /**
+     * 获取当前快照
+     *
+     * @return RBAC 关系快照
+     */
+    public RbacGraph getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * 用户的角色已变更
+     *
+     * @param userIds 用户id
+     */
+    public void userRolesChanged(Collection<Long> userIds) {
+        this.changed(ChangeType.USER_ROLES, userIds);
+    }
+
+    /**
+     * 角色的权限已变更
+     *
+     * @param roleIds 角色id
+     */
+    public void rolePermissionsChanged(Collection<Long> roleIds) {
+        this.changed(ChangeType.ROLE_PERMISSIONS, roleIds);
+    }
+
+    /**
+     * 权限已新增、修改或删除
+     *
+     * @param permissionIds 权限id
+     */
+    public void permissionsChanged(Collection<Long> permissionIds) {
+        this.changed(ChangeType.PERMISSIONS, permissionIds);
+    }
+
+    /**
+     * 消费其它节点写入的变更事件
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        List<MapRecord<String, Object, Object>> records;
+        do {
+            try {
+                records = stringRedisTemplate.opsForStream().read(StreamReadOptions.empty().count(READ_BATCH_SIZE),
+                        StreamOffset.create(AuthorizeConstants.RBAC_CHANGE_STREAM, ReadOffset.from(this.lastEventId)));
+            } catch (Exception e) {
+                log.warn("读取 RBAC 变更事件失败：{}", e.getMessage());
+                return;
+            }
+            if (ObjectUtils.isEmpty(records)) {
+                return;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                ChangeType type = ChangeType.valueOf(String.valueOf(record.getValue().get(FIELD_TYPE)));
+                Set<Long> ids = Arrays.stream(String.valueOf(record.getValue().get(FIELD_IDS)).split(","))
+                        .filter(id -> !id.isEmpty())
+                        .map(Long::valueOf)
+                        .collect(Collectors.toSet());
+                this.apply(type, ids);
+                this.lastEventId = record.getId().getValue();
+            }
+        } while (records.size() >= READ_BATCH_SIZE);
+    }
+
+    /**
+     * 定时全量加载
+     */
+    @Scheduled(fixedDelay = 10, initialDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void reload() {
+        synchronized (this) {
+            // 先记录最新的事件id，加载之后的事件会在下次消费时重新处理
+            String latestEventId = this.latestEventId();
+
+            Map<Long, long[]> userRoles = group(sysUserRoleMapper.selectList(Wrappers.lambdaQuery(SysUserRole.class)
+                            .select(SysUserRole::getUserId, SysUserRole::getRoleId)),
+                    SysUserRole::getUserId, SysUserRole::getRoleId);
+            Map<Long, long[]> rolePermissions = group(sysRolePermissionMapper.selectList(
+                            Wrappers.lambdaQuery(SysRolePermission.class)
+                                    .select(SysRolePermission::getRoleId, SysRolePermission::getPermissionId)),
+                    SysRolePermission::getRoleId, SysRolePermission::getPermissionId);
+            Map<Long, SysPermission> permissions = sysPermissionMapper.selectList(null).stream()
+                    .collect(Collectors.toMap(SysPermission::getId, Function.identity(), (a, b) -> a));
+
+            this.graph = RbacGraph.EMPTY.withUserRoles(userRoles)
+                    .withRolePermissions(rolePermissions)
+                    .withPermissions(permissions);
+            // 全量加载可能包含丢失的事件，无法确定受影响的用户
+            sessionNearCache.evictAll();
+            if (latestEventId != null) {
+                this.lastEventId = latestEventId;
+            }
+            log.info("RBAC 关系已加载，用户 {} 个，角色 {} 个，权限 {} 个.",
+                    userRoles.size(), rolePermissions.size(), this.graph.permissionCount());
+        }
+    }
+
+    /**
+     * 在当前事务提交后更新本地快照并写入变更事件
+     *
+     * @param type 变更类型
+     * @param ids  变更数据的id
+     */
+    private void changed(ChangeType type, Collection<Long> ids) {
+        if (ObjectUtils.isEmpty(ids)) {
+            return;
+        }
+        Set<Long> changedIds = Set.copyOf(ids);
+        Runnable action = () -> {
+            // 当前节点立即生效，消费到自己写入的事件时会再处理一次
+            this.apply(type, changedIds);
+            this.publish(type, changedIds);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void publish(ChangeType type, Set<Long> ids) {
+        try {
+            Map<String, String> event = Map.of(FIELD_TYPE, type.name(),
+                    FIELD_IDS, ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            stringRedisTemplate.opsForStream().add(
+                    StreamRecords.newRecord().in(AuthorizeConstants.RBAC_CHANGE_STREAM).ofMap(event),
+                    XAddOptions.maxlen(STREAM_MAX_LENGTH).approximateTrimming(true));
+        } catch (Exception e) {
+            // 写入失败时其它节点在下次全量加载时更新
+            log.warn("写入 RBAC 变更事件失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库重新加载变更的部分并替换快照，替换后清除当前节点受影响用户的会话
+     *
+     * @param type 变更类型
+     * @param ids  变更数据的id
+     */
+    private synchronized void apply(ChangeType type, Set<Long> ids) {
+        this.graph = switch (type) {
+            case USER_ROLES -> {
+                Map<Long, long[]> userRoles = group(sysUserRoleMapper.selectList(
+                                Wrappers.lambdaQuery(SysUserRole.class)
+                                        .select(SysUserRole::getUserId, SysUserRole::getRoleId)
+                                        .in(SysUserRole::getUserId, ids)),
+                        SysUserRole::getUserId, SysUserRole::getRoleId);
+                ids.forEach(id -> userRoles.putIfAbsent(id, null));
+                yield this.graph.withUserRoles(userRoles);
+            }
+            case ROLE_PERMISSIONS -> {
+                Map<Long, long[]> rolePermissions = group(sysRolePermissionMapper.selectList(
+                                Wrappers.lambdaQuery(SysRolePermission.class)
+                                        .select(SysRolePermission::getRoleId, SysRolePermission::getPermissionId)
+                                        .in(SysRolePermission::getRoleId, ids)),
+                        SysRolePermission::getRoleId, SysRolePermission::getPermissionId);
+                ids.forEach(id -> rolePermissions.putIfAbsent(id, null));
+                yield this.graph.withRolePermissions(rolePermissions);
+            }
+            case PERMISSIONS -> {
+                Map<Long, SysPermission> permissions = new HashMap<>();
+                // 已删除的权限查询不到，从快照中移除
+                ids.forEach(id -> permissions.put(id, null));
+                sysPermissionMapper.selectByIds(ids).forEach(e -> permissions.put(e.getId(), e));
+                yield this.graph.withPermissions(permissions);
+            }
+        };
+        // 先替换快照再清除，清除之后加载的会话一定按新的快照计算权限
+        switch (type) {
+            case USER_ROLES -> sessionNearCache.evictUsers(ids);
+            case ROLE_PERMISSIONS -> sessionNearCache.evictUsers(this.graph.findUserIdsByRoleIds(ids));
+            case PERMISSIONS -> sessionNearCache.evictAll();
+        }
+    }
+
+    /**
+     * 获取 Stream 中最新的事件id
+     *
+     * @return 最新的事件id，Stream 不存在或读取失败时返回 null
+     */
+    private String latestEventId() {
+        try {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .reverseRange(AuthorizeConstants.RBAC_CHANGE_STREAM, Range.unbounded(), Limit.limit().count(1));
+            return ObjectUtils.isEmpty(records) ? null : records.getFirst().getId().getValue();
+        } catch (Exception e) {
+            log.warn("读取 RBAC 变更事件失败：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 按 key 分组并转为 id 数组
+     */
+    private static <T> Map<Long, long[]> group(List<T> rows, Function<T, Long> key, Function<T, Long> value) {
+        Map<Long, List<Long>> grouped = rows.stream()
+                .filter(row -> key.apply(row) != null && value.apply(row) != null)
+                .collect(Collectors.groupingBy(key, Collectors.mapping(value, Collectors.toList())));
+        Map<Long, long[]> result = new HashMap<>(grouped.size());
+        grouped.forEach((k, v) -> result.put(k, v.stream().mapToLong(Long::longValue).toArray()));
+        return result;
+    }
+
+    /**
+     * 变更类型
+     */
+    private enum ChangeType {
+
+        /**
+         * 用户角色
+         */
+        USER_ROLES,
+
+        /**
+         * 角色权限
+         */
+        ROLE_PERMISSIONS,
+
+        /**
+         * 权限
+         */
+        PERMISSIONS
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.basic.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.entity.SysPermission;
+import com.basic.enums.PermissionTypeEnum;
+import com.basic.mapper.SysPermissionMapper;
+import com.basic.util.PathPatternTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 接口权限索引
+ * <p>
+ * 将所有接口类型的权限按请求方式与路径构建为前缀树，请求时按路径段查找对应的权限，耗时与路径深度成正比，与权限数量无关。
+ * 索引构建完成后整体替换，构建期间的请求依然使用旧的索引；
+ * 权限变更时在事务提交后于后台线程重新构建，并通过 Redis 发布订阅通知其它节点，同时定时全量重建，弥补订阅断开期间丢失的通知。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class RequestPermissionIndex implements MessageListener, InitializingBean, DisposableBean {
+
+    private final SysPermissionMapper sysPermissionMapper;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * 重建索引的线程
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "request-permission-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 是否已有等待执行的重建任务，重建期间的多次变更只需要再重建一次
+     */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile Index index = new Index(Map.of(), new PathPatternTrie<>());
+
+    public RequestPermissionIndex(SysPermissionMapper sysPermissionMapper,
+                                  RedisTemplate<String, String> stringRedisTemplate,
+                                  RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.sysPermissionMapper = sysPermissionMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        redisMessageListenerContainer.addMessageListener(this,
+                new ChannelTopic(AuthorizeConstants.PERMISSION_CHANGED_CHANNEL));
+        // 启动时同步构建，构建失败时不允许启动，避免接口权限失效
+        this.rebuild();
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * 查找请求对应的接口权限
+     *
+     * @param method 请求方式
+     * @param path   请求路径(不包含 context path)
+     * @return 接口权限，没有对应的权限时返回 null
+     */
+    public RequestPermission match(String method, String path) {
+        Index current = this.index;
+        PathPatternTrie<RequestPermission> trie = current.methods().get(method);
+        RequestPermission permission = trie == null ? null : trie.match(path);
+        // 没有对应请求方式的权限时查找不限制请求方式的权限
+        return permission != null ? permission : current.anyMethod().match(path);
+    }
+
+    /**
+     * 接口权限已变更，在当前事务提交后重新构建所有节点的索引
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    RequestPermissionIndex.this.publishChanged();
+                }
+            });
+        } else {
+            this.publishChanged();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        this.rebuildAsync();
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(fixedDelay = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void scheduledRebuild() {
+        this.rebuildAsync();
+    }
+
+    private void publishChanged() {
+        this.rebuildAsync();
+        try {
+            stringRedisTemplate.convertAndSend(AuthorizeConstants.PERMISSION_CHANGED_CHANNEL, "changed");
+        } catch (Exception e) {
+            // 通知失败时其它节点在下次定时重建时更新
+            log.warn("发送接口权限变更通知失败：{}", e.getMessage());
+        }
+    }
+
+    private void rebuildAsync() {
+        if (!this.rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        this.executor.execute(() -> {
+            this.rebuildPending.set(false);
+            try {
+                this.rebuild();
+            } catch (Exception e) {
+                log.error("重建接口权限索引失败，继续使用旧的索引.", e);
+            }
+        });
+    }
+
+    /**
+     * 从数据库加载所有接口权限并构建索引
+     */
+    private void rebuild() {
+        List<SysPermission> permissions = sysPermissionMapper.selectList(Wrappers.lambdaQuery(SysPermission.class)
+                .eq(SysPermission::getPermissionType, PermissionTypeEnum.REST)
+                .isNotNull(SysPermission::getPath)
+                .orderByAsc(SysPermission::getSortOrder));
+
+        Map<String, PathPatternTrie<RequestPermission>> methods = new HashMap<>();
+        PathPatternTrie<RequestPermission> anyMethod = new PathPatternTrie<>();
+        for (SysPermission permission : permissions) {
+            if (ObjectUtils.isEmpty(permission.getPath())) {
+                continue;
+            }
+            RequestPermission requestPermission = new RequestPermission(permission.getPermission(),
+                    Integer.valueOf(1).equals(permission.getNeedAuthentication()));
+            if (ObjectUtils.isEmpty(permission.getRequestMethod())) {
+                anyMethod.add(permission.getPath(), requestPermission);
+            } else {
+                methods.computeIfAbsent(permission.getRequestMethod().toUpperCase(Locale.ROOT),
+                        k -> new PathPatternTrie<>()).add(permission.getPath(), requestPermission);
+            }
+        }
+        this.index = new Index(Map.copyOf(methods), anyMethod);
+        if (log.isDebugEnabled()) {
+            log.debug("接口权限索引已重建，共 {} 条.", permissions.size());
+        }
+    }
+
+    /**
+     * 接口权限
+     *
+     * @param permission         权限码
+     * @param needAuthentication 是否需要鉴权，需要时用户必须拥有权限码
+     */
+    public record RequestPermission(String permission, boolean needAuthentication) {
+    }
+
+    /**
+     * 索引快照
+     *
+     * @param methods   请求方式 -> 路径前缀树
+     * @param anyMethod 不限制请求方式的路径前缀树
+     */
+    private record Index(Map<String, PathPatternTrie<RequestPermission>> methods,
+                         PathPatternTrie<RequestPermission> anyMethod) {
+    }
+
+}
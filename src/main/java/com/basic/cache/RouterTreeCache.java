@@ -0,0 +1,118 @@
+package com.basic.cache;
+
+import com.basic.converter.RouterConverter;
+import com.basic.domain.entity.SysPermission;
+import com.basic.domain.model.DynamicRouter;
+import com.basic.enums.PermissionTypeEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.RawValue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 用户菜单路由缓存
+ * <p>
+ * 角色组合相同的用户菜单相同，以排序后的角色id 作为 key 缓存序列化后的路由树 json，
+ * 大量用户共享少数几种角色组合时，每种组合只需要构建一次。
+ * 缓存中只保存不可修改的 json，不保存路由对象，需要路由对象时从 json 反序列化出新的实例，共享的数据不会被调用方修改。
+ * 缓存基于 {@link RbacGraphCache} 的快照：角色权限或权限变更后整体失效，只变更用户角色时不失效(用户的 key 随角色变化)。
+ * </p>
+ *
+ * @author vains
+ */
+@Component
+public class RouterTreeCache {
+
+    /**
+     * 最多缓存的角色组合数量
+     */
+    private static final long MAXIMUM_SIZE = 1024;
+
+    /**
+     * 菜单路由列表类型
+     */
+    private static final TypeReference<List<DynamicRouter>> ROUTERS_TYPE = new TypeReference<>() {
+    };
+
+    private final RbacGraphCache rbacGraphCache;
+
+    private final JsonMapper jsonMapper;
+
+    private final RouterConverter routerConverter = new RouterConverter();
+
+    private volatile Generation generation = new Generation(RbacGraph.EMPTY, newCache());
+
+    public RouterTreeCache(RbacGraphCache rbacGraphCache, JsonMapper jsonMapper) {
+        this.rbacGraphCache = rbacGraphCache;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * 获取用户的菜单路由 json
+     *
+     * @param userId 用户id
+     * @return 序列化后的菜单路由，所有角色组合相同的用户共享同一份数据
+     */
+    public RawValue getJson(long userId) {
+        return new RawValue(this.get(userId));
+    }
+
+    /**
+     * 获取用户的菜单路由
+     *
+     * @param userId 用户id
+     * @return 菜单路由，每次调用都从缓存的 json 反序列化出新的实例，可以修改
+     */
+    public List<DynamicRouter> getRouters(long userId) {
+        return jsonMapper.readValue(this.get(userId).getValue(), ROUTERS_TYPE);
+    }
+
+    private SerializedString get(long userId) {
+        RbacGraph graph = rbacGraphCache.getGraph();
+        Generation current = this.generation;
+        if (!current.graph().sharesPermissions(graph)) {
+            // 并发时可能创建多次，只是多构建几次路由树，不影响结果
+            current = new Generation(graph, newCache());
+            this.generation = current;
+        }
+        long[] roleIds = graph.getRoleIds(userId);
+        Arrays.sort(roleIds);
+        String signature = Arrays.stream(roleIds).mapToObj(Long::toString).collect(Collectors.joining(","));
+        return current.trees().get(signature, key -> this.build(graph.findPermissionsByUserId(userId)));
+    }
+
+    private SerializedString build(List<SysPermission> permissions) {
+        List<SysPermission> menus = permissions.stream()
+                .filter(e -> PermissionTypeEnum.isMenuType(e.getPermissionType()))
+                .toList();
+        List<DynamicRouter> routers = routerConverter.convertToRouterTree(menus);
+        // 使用与接口响应相同的 JsonMapper 序列化，保证与直接返回路由树的结果一致
+        SerializedString json = new SerializedString(jsonMapper.writeValueAsString(routers));
+        // 提前编码为 UTF-8，响应时直接写入字节
+        json.asUnquotedUTF8();
+        return json;
+    }
+
+    private static Cache<String, SerializedString> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .build();
+    }
+
+    /**
+     * 基于同一份角色权限与权限的缓存
+     *
+     * @param graph 构建缓存时的快照
+     * @param trees 角色组合 -> 序列化后的菜单路由
+     */
+    private record Generation(RbacGraph graph, Cache<String, SerializedString> trees) {
+    }
+
+}
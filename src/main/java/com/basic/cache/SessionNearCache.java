@@ -0,0 +1,241 @@
+package com.basic.cache;
+
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.model.BasicOAuth2AuthenticatedPrincipal;
+import com.basic.property.SessionNearCacheProperties;
+import com.basic.property.TokenProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 用户会话本地缓存(near-cache)
+ * <p>
+ * 缓存 jti 与用户信息快照的映射，避免每次请求都访问 Redis 以及重复构建用户信息；
+ * 缓存的存活时间不超过 token 的过期时间，登出时通过 Redis 发布订阅通知所有节点清除；
+ * 快照中的权限按加载时的 RBAC 快照计算，各节点的 {@link RbacGraphCache} 更新后清除当前节点受影响的用户。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class SessionNearCache implements MessageListener, InitializingBean {
+
+    /**
+     * 清除指定用户缓存的消息前缀，多个用户ID 以逗号分隔
+     */
+    private static final String INVALIDATE_USER_PREFIX = "user:";
+
+    private final boolean enabled;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * jti -> 用户信息快照
+     */
+    private final Cache<String, Entry<BasicOAuth2AuthenticatedPrincipal>> sessionCache;
+
+    /**
+     * 缓存版本号，每次清除缓存时递增；加载期间版本号发生变化时不缓存加载结果，避免缓存已失效的用户信息
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    public SessionNearCache(TokenProperties tokenProperties,
+                            RedisTemplate<String, String> stringRedisTemplate,
+                            RedisMessageListenerContainer redisMessageListenerContainer) {
+        SessionNearCacheProperties properties = tokenProperties.getNearCache();
+        this.enabled = properties.isEnabled();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        long maxExpireNanos = TimeUnit.SECONDS.toNanos(properties.getExpire());
+        this.sessionCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new EntryExpiry<String, BasicOAuth2AuthenticatedPrincipal>(maxExpireNanos))
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.enabled) {
+            redisMessageListenerContainer.addMessageListener(this,
+                    new ChannelTopic(AuthorizeConstants.SESSION_INVALIDATE_CHANNEL));
+        }
+    }
+
+    /**
+     * 根据 jti 获取用户信息快照，本地缓存不存在时通过 loader 加载；同一会话的所有请求共享同一个快照
+     *
+     * @param jti       令牌唯一ID
+     * @param expiresAt 令牌过期时间
+     * @param loader    本地缓存不存在时的加载方法
+     * @return 用户信息快照，不存在时返回 null
+     */
+    public BasicOAuth2AuthenticatedPrincipal get(String jti, Instant expiresAt,
+                                                Function<String, BasicOAuth2AuthenticatedPrincipal> loader) {
+        if (jti == null) {
+            return null;
+        }
+        if (!this.enabled) {
+            return loader.apply(jti);
+        }
+        Entry<BasicOAuth2AuthenticatedPrincipal> entry = this.sessionCache.getIfPresent(jti);
+        if (entry != null) {
+            return entry.value();
+        }
+
+        long loadVersion = this.version.get();
+        BasicOAuth2AuthenticatedPrincipal principal = loader.apply(jti);
+        if (principal == null) {
+            return null;
+        }
+        Entry<BasicOAuth2AuthenticatedPrincipal> created = new Entry<>(principal, expiresAt);
+        entry = this.sessionCache.asMap().putIfAbsent(jti, created);
+        if (entry != null) {
+            return entry.value();
+        }
+        // 加载期间或写入前后缓存被清除过，写入的结果可能已失效(清除可能发生在写入之前)，移除后直接返回
+        if (loadVersion != this.version.get()) {
+            this.sessionCache.asMap().remove(jti, created);
+        }
+        return principal;
+    }
+
+    /**
+     * 清除所有节点中指定用户的缓存，存在事务时在事务提交后清除，
+     * 避免事务提交前重新加载到旧数据，或者事务回滚时白白清除
+     *
+     * @param userIds 用户ID 列表
+     */
+    public void invalidateUsers(Collection<?> userIds) {
+        if (ObjectUtils.isEmpty(userIds)) {
+            return;
+        }
+        Set<String> ids = userIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        Runnable action = () -> {
+            // 先清除当前节点，再通知其它节点
+            this.evictUsers(ids);
+            this.publish(INVALIDATE_USER_PREFIX + String.join(",", ids));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(INVALIDATE_USER_PREFIX)) {
+            String ids = body.substring(INVALIDATE_USER_PREFIX.length());
+            this.evictUsers(Arrays.stream(ids.split(",")).collect(Collectors.toSet()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("收到用户会话缓存失效通知：{}", body);
+        }
+    }
+
+    private void publish(String message) {
+        if (!this.enabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(AuthorizeConstants.SESSION_INVALIDATE_CHANNEL, message);
+        } catch (Exception e) {
+            // 通知失败时其它节点的缓存会在存活时间到期后失效
+            log.warn("发送用户会话缓存失效通知失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 清除当前节点中属于指定用户的所有会话，失效通知较少，遍历缓存即可
+     *
+     * @param userIds 用户ID 列表
+     */
+    public void evictUsers(Collection<?> userIds) {
+        if (ObjectUtils.isEmpty(userIds)) {
+            return;
+        }
+        Set<String> ids = userIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        this.version.incrementAndGet();
+        this.sessionCache.asMap().values()
+                .removeIf(entry -> ids.contains(String.valueOf(entry.value().getId())));
+    }
+
+    /**
+     * 清除当前节点中的所有会话
+     */
+    public void evictAll() {
+        this.version.incrementAndGet();
+        this.sessionCache.invalidateAll();
+    }
+
+    /**
+     * 缓存条目，记录对应令牌的过期时间
+     *
+     * @param value     缓存的值
+     * @param expiresAt 令牌过期时间
+     * @param <V>       缓存值的类型
+     */
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+
+    /**
+     * 缓存条目过期策略：取配置的最长存活时间与令牌剩余有效期中较小的一个
+     *
+     * @param maxExpireNanos 最长存活时间（纳秒）
+     * @param <K>            缓存key的类型
+     * @param <V>            缓存值的类型
+     */
+    private record EntryExpiry<K, V>(long maxExpireNanos) implements Expiry<K, Entry<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Entry<V> entry, long currentTime) {
+            if (entry.expiresAt() == null) {
+                return maxExpireNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(entry.expiresAt().toEpochMilli() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxExpireNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
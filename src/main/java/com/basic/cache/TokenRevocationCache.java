@@ -0,0 +1,200 @@
+package com.basic.cache;
+
+import com.basic.constant.AuthorizeConstants;
+import com.basic.enums.TokenModeEnum;
+import com.basic.property.TokenProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 无状态模式下的 token 吊销列表
+ * <p>
+ * 以 用户id -> 有效 token 最小版本 的形式保存，版本小于该值的 token 视为已吊销；
+ * 每个节点在本地保存完整的吊销列表，请求时只读取本地数据，只有吊销列表更新时才通过 Redis 发布订阅同步，
+ * 并定时从 Redis 全量同步，弥补订阅断开期间丢失的通知。
+ * 早于一个 access token 有效期的吊销记录不再有意义，全量同步时会从本地和 Redis 中删除。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class TokenRevocationCache implements MessageListener, InitializingBean {
+
+    private final TokenProperties tokenProperties;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final RedisScript<Long> pruneScript;
+
+    /**
+     * 用户id -> 有效 token 的最小版本
+     */
+    private volatile Map<Long, Long> minVersions = new ConcurrentHashMap<>();
+
+    public TokenRevocationCache(TokenProperties tokenProperties,
+                                RedisTemplate<String, String> stringRedisTemplate,
+                                RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.tokenProperties = tokenProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.pruneScript = DefaultRedisScript.of(
+                new ClassPathResource("scripts/token-revocation-prune.lua"), Long.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.isEnabled()) {
+            redisMessageListenerContainer.addMessageListener(this,
+                    new ChannelTopic(AuthorizeConstants.TOKEN_REVOCATION_CHANNEL));
+            this.reload();
+        }
+    }
+
+    /**
+     * 判断 token 是否已被吊销
+     *
+     * @param userId  用户id
+     * @param version token 的版本
+     * @return 已吊销时返回 true
+     */
+    public boolean isRevoked(Long userId, long version) {
+        Long minVersion = this.minVersions.get(userId);
+        return minVersion != null && version < minVersion;
+    }
+
+    /**
+     * 吊销用户在当前时间之前签发的所有 token，并通知所有节点
+     * <p>
+     * 在事务中调用时，事务提交后才吊销，避免事务回滚时吊销了有效的 token，
+     * 或者其它请求在事务提交前使用旧数据重新签发 token
+     * </p>
+     *
+     * @param userIds 用户id 列表
+     */
+    public void revoke(Collection<?> userIds) {
+        if (!this.isEnabled() || ObjectUtils.isEmpty(userIds)) {
+            return;
+        }
+        List<String> ids = userIds.stream().map(String::valueOf).distinct().toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRevoke(ids);
+                }
+            });
+        } else {
+            this.doRevoke(ids);
+        }
+    }
+
+    private void doRevoke(List<String> ids) {
+        long version = System.currentTimeMillis();
+        Map<String, String> entries = ids.stream().collect(Collectors.toMap(id -> id, id -> String.valueOf(version)));
+        stringRedisTemplate.opsForHash().putAll(AuthorizeConstants.TOKEN_REVOCATION_KEY, entries);
+        // 所有记录在一个 access token 有效期后都不再有意义
+        stringRedisTemplate.expire(AuthorizeConstants.TOKEN_REVOCATION_KEY,
+                tokenProperties.getAccessTokenExpire(), TimeUnit.SECONDS);
+
+        ids.forEach(id -> this.apply(Long.valueOf(id), version));
+        stringRedisTemplate.convertAndSend(AuthorizeConstants.TOKEN_REVOCATION_CHANNEL,
+                version + ":" + String.join(",", ids));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // 消息格式：版本:用户id,用户id
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(':');
+        if (index < 0) {
+            return;
+        }
+        long version = Long.parseLong(body.substring(0, index));
+        for (String id : body.substring(index + 1).split(",")) {
+            if (!id.isEmpty()) {
+                this.apply(Long.valueOf(id), version);
+            }
+        }
+    }
+
+    /**
+     * 定时从 Redis 全量同步吊销列表，同时清除已过期的记录
+     */
+    @Scheduled(fixedDelay = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void reload() {
+        if (!this.isEnabled()) {
+            return;
+        }
+        long expiredBefore = this.expiredBefore();
+        Map<Long, Long> loaded = new ConcurrentHashMap<>();
+        boolean hasExpired = false;
+        for (Map.Entry<String, String> entry : stringRedisTemplate.<String, String>opsForHash()
+                .entries(AuthorizeConstants.TOKEN_REVOCATION_KEY).entrySet()) {
+            long value = Long.parseLong(entry.getValue());
+            if (value > expiredBefore) {
+                loaded.put(Long.valueOf(entry.getKey()), value);
+            } else {
+                hasExpired = true;
+            }
+        }
+        if (hasExpired) {
+            // 持续有吊销时整个 key 的过期时间会一直被刷新，需要逐条删除过期的记录，避免无限增长
+            stringRedisTemplate.execute(this.pruneScript, List.of(AuthorizeConstants.TOKEN_REVOCATION_KEY),
+                    String.valueOf(expiredBefore));
+        }
+        synchronized (this) {
+            // 同步期间收到的通知也需要保留
+            this.minVersions.forEach((id, version) -> {
+                if (version > expiredBefore) {
+                    loaded.merge(id, version, Math::max);
+                }
+            });
+            this.minVersions = loaded;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("同步 token 吊销列表完成，共 {} 条.", loaded.size());
+        }
+    }
+
+    private synchronized void apply(Long userId, long version) {
+        this.minVersions.merge(userId, version, Math::max);
+    }
+
+    /**
+     * 早于该时间的吊销记录对应的 token 都已过期
+     *
+     * @return 时间戳（毫秒）
+     */
+    private long expiredBefore() {
+        return System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(tokenProperties.getAccessTokenExpire());
+    }
+
+    private boolean isEnabled() {
+        return tokenProperties.getMode() == TokenModeEnum.STATELESS;
+    }
+
+}
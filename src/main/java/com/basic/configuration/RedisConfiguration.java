@@ -1,12 +1,17 @@
 package com.basic.configuration;
 
+import com.basic.cache.PermissionCodeDictionary;
+import com.basic.configuration.redis.BasicUserDetailsRedisSerializer;
+import com.basic.domain.model.BasicUserDetails;
 import com.basic.util.RedisConfigUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import tools.jackson.databind.json.JsonMapper;
 
 /**
@@ -37,4 +42,41 @@ public class RedisConfiguration {
         return RedisConfigUtils.buildRedisTemplate(connectionFactory, valueSerializer);
     }
 
+    /**
+     * 用户信息(会话、刷新令牌)使用的 RedisTemplate，值使用二进制格式序列化
+     *
+     * @param connectionFactory        Redis 链接工厂
+     * @param permissionCodeDictionary 权限编码字典，用于读写位图权限
+     * @return RedisTemplate
+     */
+    @Bean
+    public RedisTemplate<String, BasicUserDetails> userRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                     PermissionCodeDictionary permissionCodeDictionary) {
+
+        JsonMapper.Builder builder = RedisConfigUtils.buildRedisObjectMapper(jsonMapperBuilder);
+
+        // 升级前以 json 格式存储的数据使用原有的序列化器读取
+        GenericJacksonJsonRedisSerializer jsonSerializer = new GenericJacksonJsonRedisSerializer(builder.build());
+
+        RedisTemplate<String, BasicUserDetails> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(new BasicUserDetailsRedisSerializer(jsonSerializer, permissionCodeDictionary));
+        redisTemplate.setConnectionFactory(connectionFactory);
+        return redisTemplate;
+    }
+
+    /**
+     * Redis 发布订阅的监听容器，用于各节点之间同步本地缓存
+     *
+     * @param connectionFactory Redis 链接工厂
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
 }
@@ -1,18 +1,22 @@
 package com.basic.configuration;
 
+import com.basic.configuration.jwk.CachingJwtDecoder;
+import com.basic.configuration.jwk.JwtKeyManager;
 import com.basic.constant.AuthorizeConstants;
 import com.basic.converter.BasicJwtRedisAuthenticationConverter;
+import com.basic.converter.BasicJwtStatelessAuthenticationConverter;
+import com.basic.enums.TokenModeEnum;
+import com.basic.handler.security.BasicPreAuthorizeAuthorizationManager;
 import com.basic.handler.security.LoginFailureHandler;
 import com.basic.handler.security.LoginSuccessHandler;
+import com.basic.handler.security.RequestPermissionAuthorizationManager;
 import com.basic.property.BasicLoginProperties;
 import com.basic.property.CorsProperties;
+import com.basic.property.JwtDecoderCacheProperties;
+import com.basic.property.TokenProperties;
 import com.basic.service.TokenService;
 import com.basic.util.SecurityUtils;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
@@ -20,9 +24,20 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -41,13 +56,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 /**
  * 鉴权类
@@ -58,15 +68,21 @@ import java.util.UUID;
 @EnableWebSecurity
 @RequiredArgsConstructor
 @Configuration(proxyBeanMethods = false)
-@EnableMethodSecurity(jsr250Enabled = true, securedEnabled = true)
+@EnableMethodSecurity(prePostEnabled = false, jsr250Enabled = true, securedEnabled = true)
 public class SecurityConfiguration {
 
     private final CorsProperties corsProperties;
 
+    private final TokenProperties tokenProperties;
+
     private final BasicLoginProperties basicLoginProperties;
 
     private final BasicJwtRedisAuthenticationConverter basicJwtRedisAuthenticationConverter;
 
+    private final BasicJwtStatelessAuthenticationConverter basicJwtStatelessAuthenticationConverter;
+
+    private final RequestPermissionAuthorizationManager requestPermissionAuthorizationManager;
+
     @Bean
     public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http, TokenService tokenService) {
         // 禁用 csrf 与 cors
@@ -95,14 +111,18 @@ public class SecurityConfiguration {
                 // 放行预检请求
                 .requestMatchers(HttpMethod.OPTIONS).permitAll()
                 .requestMatchers(AuthorizeConstants.DEFAULT_IGNORE_PATHS.toArray(new String[0])).permitAll()
-                .anyRequest().authenticated()
+                // 其它请求根据数据库中的接口权限鉴权
+                .anyRequest().access(requestPermissionAuthorizationManager)
         );
         // 资源服务配置，将系统当做一个资源服务
         http.oauth2ResourceServer(oauth2 -> oauth2
                 // 添加未携带 token和权限不足异常处理
                 .accessDeniedHandler(SecurityUtils::exceptionHandler)
                 .authenticationEntryPoint(SecurityUtils::exceptionHandler)
-                .jwt(jwtConfigurer -> jwtConfigurer.jwtAuthenticationConverter(basicJwtRedisAuthenticationConverter))
+                .jwt(jwtConfigurer -> jwtConfigurer.jwtAuthenticationConverter(
+                        tokenProperties.getMode() == TokenModeEnum.STATELESS
+                                ? basicJwtStatelessAuthenticationConverter
+                                : basicJwtRedisAuthenticationConverter))
         );
 
         // 禁用 Session
@@ -113,76 +133,110 @@ public class SecurityConfiguration {
     }
 
     /**
-     * 密码解析器
+     * {@code @PreAuthorize} 方法拦截，简单的权限表达式直接通过位图权限判断
      *
-     * @return 返回一个密码解析器委托类，根据密码找到对应的解析器
+     * @param applicationContext 容器上下文，用于解析表达式中的 bean 引用
+     * @return Advisor
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new BasicPreAuthorizeAuthorizationManager(methodSecurityExpressionHandler(applicationContext)));
     }
 
     /**
-     * 配置jwk源，使用非对称加密，公开用于检索匹配指定选择器的JWK的方法
+     * 关闭 prePostEnabled 后需要自行注册 {@code @PostAuthorize} 方法拦截
      *
-     * @return JWKSource
+     * @param applicationContext 容器上下文，用于解析表达式中的 bean 引用
+     * @return Advisor
      */
     @Bean
-    public JWKSource<SecurityContext> jwkSource() {
-        KeyPair keyPair = generateRsaKey();
-        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-        RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-        RSAKey rsaKey = new RSAKey.Builder(publicKey)
-                .privateKey(privateKey)
-                .keyID(UUID.randomUUID().toString())
-                .build();
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return new ImmutableJWKSet<>(jwkSet);
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PostAuthorizeAuthorizationManager authorizationManager = new PostAuthorizeAuthorizationManager();
+        authorizationManager.setExpressionHandler(methodSecurityExpressionHandler(applicationContext));
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(authorizationManager);
     }
 
     /**
-     * 配置jwt编码器
+     * 关闭 prePostEnabled 后需要自行注册 {@code @PreFilter} 方法拦截
      *
-     * @return JwtEncoder
+     * @param applicationContext 容器上下文，用于解析表达式中的 bean 引用
+     * @return Advisor
      */
     @Bean
-    public JwtEncoder jwtEncoder(JWKSource<SecurityContext> jwkSource) {
-        return new NimbusJwtEncoder(jwkSource);
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(methodSecurityExpressionHandler(applicationContext));
+        return interceptor;
     }
 
     /**
-     * 生成rsa密钥对，提供给jwk
+     * 关闭 prePostEnabled 后需要自行注册 {@code @PostFilter} 方法拦截
      *
-     * @return 密钥对
+     * @param applicationContext 容器上下文，用于解析表达式中的 bean 引用
+     * @return Advisor
      */
-    private static KeyPair generateRsaKey() {
-        KeyPair keyPair;
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            keyPair = keyPairGenerator.generateKeyPair();
-        } catch (Exception ex) {
-            throw new IllegalStateException(ex);
-        }
-        return keyPair;
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(methodSecurityExpressionHandler(applicationContext));
+        return interceptor;
+    }
+
+    private static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ApplicationContext applicationContext) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(applicationContext);
+        return expressionHandler;
+    }
+
+    /**
+     * 密码解析器
+     *
+     * @return 返回一个密码解析器委托类，根据密码找到对应的解析器
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    /**
+     * 配置jwt编码器，只使用当前的签名密钥
+     *
+     * @param jwtKeyManager jwt 签名密钥管理
+     * @return JwtEncoder
+     */
+    @Bean
+    public JwtEncoder jwtEncoder(JwtKeyManager jwtKeyManager) {
+        return new NimbusJwtEncoder(jwtKeyManager.signingKeySource());
     }
 
     /**
      * 配置jwt解析器
      *
-     * @param jwkSource jwk源
+     * @param jwtKeyManager jwt 签名密钥管理，包含所有未过期的密钥
      * @return JwtDecoder
      */
     @Bean
-    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
+    public JwtDecoder jwtDecoder(JwtKeyManager jwtKeyManager) {
         Set<JWSAlgorithm> jws = new HashSet<>();
         jws.addAll(JWSAlgorithm.Family.RSA);
         jws.addAll(JWSAlgorithm.Family.EC);
         jws.addAll(JWSAlgorithm.Family.HMAC_SHA);
         ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
-        JWSKeySelector<SecurityContext> jwsKeySelector = new JWSVerificationKeySelector<>(jws, jwkSource);
+        JWSKeySelector<SecurityContext> jwsKeySelector = new JWSVerificationKeySelector<>(jws, jwtKeyManager);
         jwtProcessor.setJWSKeySelector(jwsKeySelector);
-        return new NimbusJwtDecoder(jwtProcessor);
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+
+        JwtDecoderCacheProperties decoderCache = tokenProperties.getDecoderCache();
+        if (!decoderCache.isEnabled()) {
+            return jwtDecoder;
+        }
+        // 缓存已验签的 jwt，重复请求时跳过签名验证
+        return new CachingJwtDecoder(jwtDecoder, decoderCache);
     }
 
     /**
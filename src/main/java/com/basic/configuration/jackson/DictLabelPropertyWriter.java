@@ -0,0 +1,92 @@
+package com.basic.configuration.jackson;
+
+import com.basic.annotation.DictLabel;
+import com.basic.cache.DictionaryStore;
+import com.basic.cache.DictionaryStore.ItemLabel;
+import com.basic.enums.BasicEnum;
+import org.springframework.util.ObjectUtils;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.PropertyName;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.BeanPropertyWriter;
+
+import java.util.function.Supplier;
+
+/**
+ * 字典翻译属性写入器
+ * <p>
+ * 包装标注了 {@link DictLabel} 的属性，写入属性值之后再写入字典项名称(以及多语言 JSON)。
+ * 每个属性只在构建序列化器时创建一次，属性名提前编码；序列化时只从 {@link DictionaryStore} 的内存快照中查找，不访问数据库。
+ * </p>
+ *
+ * @author vains
+ */
+public class DictLabelPropertyWriter extends BeanPropertyWriter {
+
+    private final DictLabel dictLabel;
+
+    private final Supplier<DictionaryStore> dictionaryStore;
+
+    private final SerializedString labelName;
+
+    private final SerializedString i18nName;
+
+    DictLabelPropertyWriter(BeanPropertyWriter base, DictLabel dictLabel, Supplier<DictionaryStore> dictionaryStore) {
+        super(base);
+        this.dictLabel = dictLabel;
+        this.dictionaryStore = dictionaryStore;
+        this.labelName = new SerializedString(base.getName() + dictLabel.labelSuffix());
+        this.i18nName = new SerializedString(base.getName() + dictLabel.i18nSuffix());
+    }
+
+    private DictLabelPropertyWriter(DictLabelPropertyWriter base, PropertyName newName) {
+        super(base, newName);
+        this.dictLabel = base.dictLabel;
+        this.dictionaryStore = base.dictionaryStore;
+        this.labelName = new SerializedString(newName.getSimpleName() + dictLabel.labelSuffix());
+        this.i18nName = new SerializedString(newName.getSimpleName() + dictLabel.i18nSuffix());
+    }
+
+    @Override
+    protected BeanPropertyWriter _new(PropertyName newName) {
+        return new DictLabelPropertyWriter(this, newName);
+    }
+
+    @Override
+    public void serializeAsProperty(Object bean, JsonGenerator gen, SerializationContext ctxt) throws Exception {
+        super.serializeAsProperty(bean, gen, ctxt);
+
+        Object value = this.get(bean);
+        if (value == null) {
+            return;
+        }
+        ItemLabel item = this.dictionaryStore.get().getItem(dictLabel.value(), toItemCode(value));
+        if (item == null) {
+            return;
+        }
+        gen.writeName(this.labelName);
+        gen.writeString(item.itemName());
+        if (dictLabel.i18n() && !ObjectUtils.isEmpty(item.i18nJson())) {
+            gen.writeName(this.i18nName);
+            gen.writeString(item.i18nJson());
+        }
+    }
+
+    /**
+     * 将属性值转为字典项编码，通用枚举取枚举值，其它枚举取名称
+     *
+     * @param value 属性值
+     * @return 字典项编码
+     */
+    private static String toItemCode(Object value) {
+        if (value instanceof BasicEnum<?, ?> basicEnum) {
+            return String.valueOf(basicEnum.getValue());
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        return String.valueOf(value);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.basic.configuration.jackson;
+
+import com.basic.annotation.DictLabel;
+import com.basic.cache.DictionaryStore;
+import tools.jackson.databind.BeanDescription;
+import tools.jackson.databind.SerializationConfig;
+import tools.jackson.databind.ser.BeanPropertyWriter;
+import tools.jackson.databind.ser.ValueSerializerModifier;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 将标注了 {@link DictLabel} 的属性替换为 {@link DictLabelPropertyWriter}
+ * <p>
+ * 只在构建 Bean 序列化器时执行一次，构建后的序列化器由 Jackson 缓存。
+ * </p>
+ *
+ * @author vains
+ */
+public class DictLabelSerializerModifier extends ValueSerializerModifier {
+
+    private final transient Supplier<DictionaryStore> dictionaryStore;
+
+    public DictLabelSerializerModifier(Supplier<DictionaryStore> dictionaryStore) {
+        this.dictionaryStore = dictionaryStore;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                     BeanDescription.Supplier beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        for (int i = 0; i < beanProperties.size(); i++) {
+            BeanPropertyWriter writer = beanProperties.get(i);
+            DictLabel dictLabel = writer.getAnnotation(DictLabel.class);
+            if (dictLabel != null) {
+                beanProperties.set(i, new DictLabelPropertyWriter(writer, dictLabel, dictionaryStore));
+            }
+        }
+        return beanProperties;
+    }
+
+}
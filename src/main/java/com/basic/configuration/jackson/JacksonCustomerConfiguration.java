@@ -1,9 +1,12 @@
 package com.basic.configuration.jackson;
 
+import com.basic.cache.DictionaryStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.util.function.SingletonSupplier;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.cfg.DateTimeFeature;
 import tools.jackson.databind.module.SimpleModule;
@@ -18,7 +21,7 @@ import tools.jackson.databind.module.SimpleModule;
 public class JacksonCustomerConfiguration {
 
     @Bean
-    public JsonMapperBuilderCustomizer jsonMapperBuilderCustomizer() {
+    public JsonMapperBuilderCustomizer jsonMapperBuilderCustomizer(ObjectProvider<DictionaryStore> dictionaryStore) {
         return builder -> {
             builder.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
 
@@ -34,6 +37,9 @@ public class JacksonCustomerConfiguration {
             // 超JS安全整数 → 转字符串，没超 → 保留原数字类型
             SimpleModule module = new SimpleModule();
             module.addSerializer(BigIntToStringSerializer.INSTANCE);
+            // 字典翻译，字典存储在第一次序列化时获取，避免与依赖 JsonMapper 的 Bean 循环依赖
+            module.setSerializerModifier(
+                    new DictLabelSerializerModifier(SingletonSupplier.of(dictionaryStore::getObject)));
             builder.addModule(module);
         };
     }
@@ -0,0 +1,117 @@
+package com.basic.configuration.jwk;
+
+import com.basic.property.JwtDecoderCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存已验签 jwt 的解析器
+ * <p>
+ * 同一个 access token 在有效期内会被重复使用，缓存验签与解析的结果后，命中缓存时不再进行签名验证；
+ * 缓存 key 为 token 的 SHA-256 摘要，存活时间为 token 的剩余有效期，命中时再次校验过期时间，保证不会返回已过期的 token。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, JwtDecoderCacheProperties properties) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new JwtExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt jwt = this.cache.getIfPresent(key);
+        if (jwt != null) {
+            if (token.equals(jwt.getTokenValue()) && jwt.getExpiresAt() != null
+                    && jwt.getExpiresAt().isAfter(Instant.now())) {
+                return jwt;
+            }
+            this.cache.invalidate(key);
+        }
+
+        // 验签并解析，失败时直接抛出异常，不缓存
+        jwt = this.delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            this.cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * 获取缓存的命中统计
+     *
+     * @return 缓存统计
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * 定时输出缓存的命中统计
+     */
+    @Scheduled(fixedDelay = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void logStats() {
+        CacheStats stats = this.cache.stats();
+        log.info("jwt 解析缓存统计：命中 {} 次，未命中 {} 次，命中率 {}，淘汰 {} 个，当前 {} 个.",
+                stats.hitCount(), stats.missCount(), String.format("%.2f%%", stats.hitRate() * 100),
+                stats.evictionCount(), this.cache.estimatedSize());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 缓存存活时间为 token 的剩余有效期
+     */
+    private static class JwtExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            long remaining = jwt.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,311 @@
+package com.basic.configuration.jwk;
+
+import com.basic.constant.AuthorizeConstants;
+import com.basic.property.JwkProperties;
+import com.basic.property.TokenProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jwt 签名密钥管理
+ * <p>
+ * 密钥以 JWK Set 的格式持久化在本地文件中，重启后签发的 token 依然有效；按配置的周期轮换密钥：
+ * 新密钥生成后先经过预发布时间只用于验签，之后才用于签名；旧密钥在最后一个由它签名的 token 过期后才移除。
+ * 多节点部署时需要共享同一个密钥文件，轮换通过分布式锁保证只有一个节点执行，其它节点定时检测文件变化后重新加载。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Component
+public class JwtKeyManager implements JWKSource<SecurityContext>, InitializingBean {
+
+    /**
+     * 密钥轮换锁
+     */
+    private static final String ROTATE_LOCK_KEY = AuthorizeConstants.BASIC_PREFIX + "lock:jwk-rotate";
+
+    /**
+     * 支持的签名算法
+     */
+    private static final Set<JWSAlgorithm> SUPPORTED_ALGORITHMS = Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256);
+
+    private final JwkProperties jwkProperties;
+
+    private final TokenProperties tokenProperties;
+
+    private final RedissonClient redissonClient;
+
+    private final JWSAlgorithm algorithm;
+
+    private final Path keystore;
+
+    /**
+     * 所有未过期的密钥，用于验签
+     */
+    private volatile JWKSet jwkSet = new JWKSet();
+
+    /**
+     * 当前用于签名的密钥
+     */
+    private volatile JWKSet signingKeySet = new JWKSet();
+
+    /**
+     * 最后一次加载时密钥文件的修改时间
+     */
+    private volatile long lastModified = -1;
+
+    public JwtKeyManager(JwkProperties jwkProperties, TokenProperties tokenProperties, RedissonClient redissonClient) {
+        this.jwkProperties = jwkProperties;
+        this.tokenProperties = tokenProperties;
+        this.redissonClient = redissonClient;
+        this.algorithm = JWSAlgorithm.parse(jwkProperties.getAlgorithm());
+        if (!SUPPORTED_ALGORITHMS.contains(this.algorithm)) {
+            throw new IllegalArgumentException("不支持的签名算法：" + jwkProperties.getAlgorithm() + "，仅支持 RS256、ES256.");
+        }
+        this.keystore = Paths.get(jwkProperties.getKeystore()).toAbsolutePath();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.reload();
+        if (this.needsRotation()) {
+            this.rotateWithLock();
+        }
+    }
+
+    /**
+     * 验签时根据 token 头中的 kid、alg 从所有未过期的密钥中选择
+     */
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(this.jwkSet);
+    }
+
+    /**
+     * 签名使用的密钥源，只包含当前用于签名的密钥
+     *
+     * @return JWKSource
+     */
+    public JWKSource<SecurityContext> signingKeySource() {
+        return (jwkSelector, context) -> jwkSelector.select(this.signingKeySet);
+    }
+
+    /**
+     * 获取签名算法
+     *
+     * @return 签名算法
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return SignatureAlgorithm.from(this.algorithm.getName());
+    }
+
+    /**
+     * 定时检测密钥文件变化以及是否需要轮换
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void checkRotation() {
+        this.reload();
+        if (this.needsRotation()) {
+            this.rotateWithLock();
+        }
+    }
+
+    /**
+     * 获取分布式锁后轮换密钥
+     */
+    private void rotateWithLock() {
+        RLock lock = redissonClient.getLock(ROTATE_LOCK_KEY);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(10, 60, TimeUnit.SECONDS);
+            if (!locked) {
+                log.warn("获取密钥轮换锁失败，等待下次检测.");
+                return;
+            }
+            // 其它节点可能已经完成轮换
+            this.reload();
+            if (this.needsRotation()) {
+                this.rotate();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 生成新密钥，设置旧密钥的过期时间，移除已过期的密钥并保存
+     */
+    private void rotate() {
+        Instant now = Instant.now();
+        boolean initial = this.jwkSet.getKeys().stream().noneMatch(k -> this.algorithm.equals(k.getAlgorithm()));
+        // 第一次生成时没有已签发的 token，新密钥直接生效
+        Instant notBefore = initial ? now : now.plusSeconds(jwkProperties.getPublishDelay());
+        // 旧密钥在新密钥生效后不再用于签名，由它签名的 token 最晚在一个 access token 有效期后过期
+        Date retireAt = Date.from(notBefore.plusSeconds(tokenProperties.getAccessTokenExpire()));
+
+        List<JWK> keys = new ArrayList<>();
+        keys.add(this.generate(now, notBefore));
+        for (JWK key : this.jwkSet.getKeys()) {
+            if (key.getExpirationTime() == null) {
+                keys.add(expireAt(key, retireAt));
+            } else if (key.getExpirationTime().toInstant().isAfter(now)) {
+                keys.add(key);
+            }
+        }
+
+        this.save(new JWKSet(keys));
+        this.reload();
+        log.info("jwt 签名密钥已轮换，新密钥 kid：{}，生效时间：{}", keys.getFirst().getKeyID(), notBefore);
+    }
+
+    /**
+     * 是否需要轮换：没有当前算法的密钥或者最新的密钥已超过轮换周期
+     *
+     * @return 需要轮换时返回 true
+     */
+    private boolean needsRotation() {
+        Instant threshold = Instant.now().minus(jwkProperties.getRotationPeriod(), ChronoUnit.DAYS);
+        return this.jwkSet.getKeys().stream()
+                .filter(k -> this.algorithm.equals(k.getAlgorithm()))
+                .map(JWK::getIssueTime)
+                .filter(Objects::nonNull)
+                .noneMatch(iat -> iat.toInstant().isAfter(threshold));
+    }
+
+    /**
+     * 密钥文件有变化时重新加载
+     */
+    private synchronized void reload() {
+        try {
+            if (!Files.exists(this.keystore)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(this.keystore).toMillis();
+            if (modified != this.lastModified) {
+                this.jwkSet = JWKSet.parse(Files.readString(this.keystore, StandardCharsets.UTF_8));
+                this.lastModified = modified;
+            }
+            this.signingKeySet = this.selectSigningKey();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("加载 jwt 签名密钥文件失败：" + this.keystore, e);
+        }
+    }
+
+    /**
+     * 选择当前用于签名的密钥：当前算法中已生效且生效时间最晚的密钥，都未生效时使用最新的密钥
+     *
+     * @return 只包含签名密钥的 JWKSet
+     */
+    private JWKSet selectSigningKey() {
+        Date now = new Date();
+        List<JWK> candidates = this.jwkSet.getKeys().stream()
+                .filter(k -> this.algorithm.equals(k.getAlgorithm()))
+                .filter(JWK::isPrivate)
+                .sorted(Comparator.comparing(JWK::getNotBeforeTime, Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+        return candidates.stream()
+                .filter(k -> k.getNotBeforeTime() == null || !k.getNotBeforeTime().after(now))
+                .findFirst()
+                .or(() -> candidates.stream().findFirst())
+                .map(JWKSet::new)
+                .orElseGet(JWKSet::new);
+    }
+
+    /**
+     * 原子写入密钥文件
+     *
+     * @param keys 所有密钥
+     */
+    private void save(JWKSet keys) {
+        try {
+            Path parent = this.keystore.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, "jwks", ".tmp");
+            // 包含私钥
+            Files.writeString(temp, keys.toString(false), StandardCharsets.UTF_8);
+            Files.move(temp, this.keystore, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("保存 jwt 签名密钥文件失败：" + this.keystore, e);
+        }
+    }
+
+    /**
+     * 根据配置的算法生成新密钥
+     *
+     * @param issueTime 生成时间
+     * @param notBefore 生效时间
+     * @return 新密钥
+     */
+    private JWK generate(Instant issueTime, Instant notBefore) {
+        String keyId = UUID.randomUUID().toString();
+        try {
+            if (JWSAlgorithm.ES256.equals(this.algorithm)) {
+                return new ECKeyGenerator(Curve.P_256)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(this.algorithm)
+                        .keyID(keyId)
+                        .issueTime(Date.from(issueTime))
+                        .notBeforeTime(Date.from(notBefore))
+                        .generate();
+            }
+            return new RSAKeyGenerator(2048)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(this.algorithm)
+                    .keyID(keyId)
+                    .issueTime(Date.from(issueTime))
+                    .notBeforeTime(Date.from(notBefore))
+                    .generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("生成 jwt 签名密钥失败.", e);
+        }
+    }
+
+    /**
+     * 设置密钥的过期时间
+     *
+     * @param key      密钥
+     * @param expireAt 过期时间
+     * @return 设置过期时间后的密钥
+     */
+    private static JWK expireAt(JWK key, Date expireAt) {
+        if (key instanceof RSAKey rsaKey) {
+            return new RSAKey.Builder(rsaKey).expirationTime(expireAt).build();
+        }
+        if (key instanceof ECKey ecKey) {
+            return new ECKey.Builder(ecKey).expirationTime(expireAt).build();
+        }
+        return key;
+    }
+
+}
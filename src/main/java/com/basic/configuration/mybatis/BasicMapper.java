@@ -0,0 +1,124 @@
+package com.basic.configuration.mybatis;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.basic.configuration.mybatis.injector.BasicSqlInjector;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * 在 {@link BaseMapper} 的基础上增加多行插入、多行插入或更新、流式查询与估算总行数(MySQL)
+ * <p>
+ * 多行语句按批次大小拆分，每批一条语句；自动填充与逻辑删除同单条插入。
+ * </p>
+ *
+ * @param <T> 实体类型
+ * @author vains
+ * @see BasicSqlInjector
+ */
+public interface BasicMapper<T> extends BaseMapper<T> {
+
+    /**
+     * 默认每条语句的最大行数
+     */
+    int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * 多行插入，由 {@link BasicSqlInjector} 注入，不拆分批次
+     *
+     * @param entityList 实体列表，不能为空
+     * @return 影响行数
+     */
+    int insertValues(@Param(Constants.LIST) List<T> entityList);
+
+    /**
+     * 多行插入，主键或唯一索引冲突时更新，由 {@link BasicSqlInjector} 注入，不拆分批次
+     *
+     * @param entityList 实体列表，不能为空
+     * @return 影响行数(MySQL 中更新的行计为 2)
+     */
+    int upsertValues(@Param(Constants.LIST) List<T> entityList);
+
+    /**
+     * 流式查询，结果逐行交给 handler 处理，不在内存中保存查询结果，由 {@link BasicSqlInjector} 注入
+     * <p>
+     * 处理完所有行之前数据库连接被占用，handler 中不能再通过同一个连接执行查询。
+     * </p>
+     *
+     * @param queryWrapper 查询条件
+     * @param handler      逐行处理查询结果
+     */
+    void selectStream(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper, ResultHandler<T> handler);
+
+    /**
+     * 根据数据库的表统计信息估算总行数，由 {@link BasicSqlInjector} 注入
+     *
+     * @return 估算的总行数，没有统计信息时返回 null
+     */
+    Long estimateRows();
+
+    /**
+     * 按默认批次大小多行插入
+     *
+     * @param entityList 实体列表
+     * @return 影响行数
+     */
+    default int insertBatch(Collection<T> entityList) {
+        return this.insertBatch(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 按批次大小多行插入
+     *
+     * @param entityList 实体列表
+     * @param batchSize  每条语句的最大行数
+     * @return 影响行数
+     */
+    default int insertBatch(Collection<T> entityList, int batchSize) {
+        return executeBatch(entityList, batchSize, this::insertValues);
+    }
+
+    /**
+     * 按默认批次大小多行插入或更新
+     *
+     * @param entityList 实体列表
+     * @return 影响行数
+     */
+    default int upsertBatch(Collection<T> entityList) {
+        return this.upsertBatch(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 按批次大小多行插入或更新
+     *
+     * @param entityList 实体列表
+     * @param batchSize  每条语句的最大行数
+     * @return 影响行数
+     */
+    default int upsertBatch(Collection<T> entityList, int batchSize) {
+        return executeBatch(entityList, batchSize, this::upsertValues);
+    }
+
+    private static <T> int executeBatch(Collection<T> entityList, int batchSize, ToIntFunction<List<T>> executor) {
+        if (ObjectUtils.isEmpty(entityList)) {
+            return 0;
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0.");
+        }
+        List<T> entities = new ArrayList<>(entityList);
+        int rows = 0;
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            rows += executor.applyAsInt(entities.subList(from, Math.min(from + batchSize, entities.size())));
+        }
+        return rows;
+    }
+
+}
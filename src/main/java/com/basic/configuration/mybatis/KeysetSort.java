@@ -0,0 +1,76 @@
+package com.basic.configuration.mybatis;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.util.function.Function;
+
+/**
+ * 游标分页的排序：排序字段加主键
+ * <p>
+ * 主键保证排序唯一，游标由最后一行的排序字段值与主键组成；
+ * 排序字段允许为 null，与 MySQL 一致，升序时 null 在前，降序时 null 在后。
+ * 排序字段与主键应建立联合索引，按游标查询时只扫描一页的数据。
+ * </p>
+ *
+ * @param column 排序字段
+ * @param id     主键
+ * @param asc    是否升序
+ * @param parser 将游标中的排序字段值转为字段类型，与字段值的 {@code toString} 对应
+ * @param <E>    实体类型
+ * @param <S>    排序字段类型
+ * @author vains
+ */
+public record KeysetSort<E, S>(SFunction<E, S> column, SFunction<E, Long> id, boolean asc,
+                               Function<String, S> parser) {
+
+    /**
+     * 按排序字段与主键升序
+     */
+    public static <E, S> KeysetSort<E, S> asc(SFunction<E, S> column, SFunction<E, Long> id,
+                                              Function<String, S> parser) {
+        return new KeysetSort<>(column, id, true, parser);
+    }
+
+    /**
+     * 按排序字段与主键降序
+     */
+    public static <E, S> KeysetSort<E, S> desc(SFunction<E, S> column, SFunction<E, Long> id,
+                                               Function<String, S> parser) {
+        return new KeysetSort<>(column, id, false, parser);
+    }
+
+    /**
+     * 添加排序
+     *
+     * @param wrapper 查询条件
+     */
+    void orderBy(LambdaQueryWrapper<E> wrapper) {
+        wrapper.orderBy(true, asc, column).orderBy(true, asc, id);
+    }
+
+    /**
+     * 添加只查询游标之后数据的条件
+     *
+     * @param wrapper 查询条件
+     * @param value   游标中的排序字段值
+     * @param idValue 游标中的主键
+     */
+    void after(LambdaQueryWrapper<E> wrapper, S value, Long idValue) {
+        if (asc) {
+            if (value == null) {
+                wrapper.and(w -> w.isNull(column).gt(id, idValue).or().isNotNull(column));
+            } else {
+                wrapper.and(w -> w.gt(column, value).or(o -> o.eq(column, value).gt(id, idValue)));
+            }
+        } else {
+            if (value == null) {
+                wrapper.and(w -> w.isNull(column).lt(id, idValue));
+            } else {
+                wrapper.and(w -> w.lt(column, value).or(o -> o.eq(column, value).lt(id, idValue))
+                        .or().isNull(column));
+            }
+        }
+    }
+
+}
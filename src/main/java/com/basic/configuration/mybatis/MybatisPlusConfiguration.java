@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.autoconfigure.MybatisPlusPropertiesCustomizer;
 import com.baomidou.mybatisplus.core.config.GlobalConfig;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.basic.configuration.mybatis.injector.BasicSqlInjector;
 import com.basic.handler.mybatis.MybatisBasicEnumTypeHandler;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +34,17 @@ public class MybatisPlusConfiguration {
         return interceptor;
     }
 
+    /**
+     * 为所有 Mapper 注入多行插入与多行插入或更新方法
+     *
+     * @return BasicSqlInjector
+     * @see BasicMapper
+     */
+    @Bean
+    public BasicSqlInjector basicSqlInjector() {
+        return new BasicSqlInjector();
+    }
+
     /**
      * 自定义枚举转换器注册
      *
@@ -0,0 +1,155 @@
+package com.basic.configuration.mybatis;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.basic.domain.BasicPageable;
+import com.basic.domain.PageResult;
+import com.basic.enums.PageCountModeEnum;
+import com.basic.exception.CloudIllegalArgumentException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 分页查询
+ * <p>
+ * 支持按页码(LIMIT offset)与按游标(排序字段加主键)分页，都多查询一行判断是否有下一页，并返回下一页的游标；
+ * 总条数按 {@link PageCountModeEnum} 精确统计、不统计、缓存或估算。
+ * 查询条件中不能包含排序，排序由 {@link KeysetSort} 添加。
+ * </p>
+ *
+ * @author vains
+ */
+@Component
+public class PageQueryExecutor {
+
+    /**
+     * 游标中主键与排序字段值的分隔符
+     */
+    private static final char CURSOR_DELIMITER = '|';
+
+    /**
+     * 总条数缓存时间
+     */
+    private static final Duration COUNT_CACHE_TTL = Duration.ofMinutes(1);
+
+    /**
+     * 最多缓存的查询条件数量
+     */
+    private static final long COUNT_CACHE_SIZE = 10000;
+
+    /**
+     * 查询条件 -> 总条数
+     */
+    private final Cache<String, Long> countCache = Caffeine.newBuilder()
+            .maximumSize(COUNT_CACHE_SIZE)
+            .expireAfterWrite(COUNT_CACHE_TTL)
+            .build();
+
+    /**
+     * 分页查询
+     *
+     * @param mapper    实体对应的 mapper
+     * @param wrapper   查询条件，不包含排序
+     * @param pageable  分页参数
+     * @param sort      排序
+     * @param converter 实体转为响应对象
+     * @param <E>       实体类型
+     * @param <S>       排序字段类型
+     * @param <R>       响应对象类型
+     * @return 分页结果
+     */
+    public <E, S, R> PageResult<R> page(BasicMapper<E> mapper, LambdaQueryWrapper<E> wrapper, BasicPageable pageable,
+                                        KeysetSort<E, S> sort, Function<E, R> converter) {
+        PageCountModeEnum countMode = pageable.getCountMode() == null
+                ? PageCountModeEnum.EXACT : pageable.getCountMode();
+        boolean keyset = !ObjectUtils.isEmpty(pageable.getCursor());
+        long current = keyset || pageable.getCurrent() == null ? 1 : pageable.getCurrent();
+        long size = pageable.getSize();
+
+        // 先统计总条数，之后添加的游标条件与排序不影响总条数
+        Long total = this.count(mapper, wrapper, countMode);
+
+        if (keyset) {
+            String[] cursor = decode(pageable.getCursor());
+            Long id;
+            S value;
+            try {
+                id = Long.valueOf(cursor[0]);
+                value = cursor[1] == null ? null : sort.parser().apply(cursor[1]);
+            } catch (RuntimeException e) {
+                throw new CloudIllegalArgumentException("分页游标无效。");
+            }
+            sort.after(wrapper, value, id);
+        }
+        sort.orderBy(wrapper);
+        // 多查询一行判断是否有下一页
+        wrapper.last(keyset ? "LIMIT " + (size + 1) : "LIMIT " + (current - 1) * size + ", " + (size + 1));
+        List<E> rows = mapper.selectList(wrapper);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, (int) size);
+        }
+
+        PageResult<R> result = PageResult.of(current, size, total, rows.stream().map(converter).toList());
+        result.setCountMode(countMode);
+        result.setCursor(pageable.getCursor());
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            E last = rows.getLast();
+            result.setNextCursor(encode(sort.id().apply(last), sort.column().apply(last)));
+        }
+        return result;
+    }
+
+    private <E> Long count(BasicMapper<E> mapper, LambdaQueryWrapper<E> wrapper, PageCountModeEnum countMode) {
+        return switch (countMode) {
+            case NONE -> null;
+            case EXACT -> mapper.selectCount(wrapper);
+            case CACHED -> this.cachedCount(mapper, wrapper);
+            case ESTIMATED -> {
+                Long estimated = wrapper.isEmptyOfWhere() ? mapper.estimateRows() : null;
+                yield estimated == null ? this.cachedCount(mapper, wrapper) : estimated;
+            }
+        };
+    }
+
+    private <E> Long cachedCount(BasicMapper<E> mapper, LambdaQueryWrapper<E> wrapper) {
+        // 参数名按添加条件的顺序生成，相同的查询条件生成相同的 key
+        String key = wrapper.getEntityClass() + ":" + wrapper.getSqlSegment()
+                + ":" + new TreeMap<>(wrapper.getParamNameValuePairs());
+        return countCache.get(key, k -> mapper.selectCount(wrapper));
+    }
+
+    private static String encode(Long id, Object value) {
+        String cursor = value == null ? String.valueOf(id) : id + String.valueOf(CURSOR_DELIMITER) + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标
+     * @return 主键与排序字段值，排序字段值为 null 时第二个元素为 null
+     */
+    private static String[] decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CloudIllegalArgumentException("分页游标无效。");
+        }
+        int index = decoded.indexOf(CURSOR_DELIMITER);
+        return index < 0 ? new String[]{decoded, null}
+                : new String[]{decoded.substring(0, index), decoded.substring(index + 1)};
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.basic.configuration.mybatis.injector;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.basic.configuration.mybatis.BasicMapper;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在默认方法的基础上为所有 Mapper 注入多行插入、多行插入或更新、流式查询与估算总行数方法
+ *
+ * @author vains
+ * @see BasicMapper
+ */
+public class BasicSqlInjector extends DefaultSqlInjector {
+
+    @Override
+    public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methodList = new ArrayList<>(super.getMethodList(configuration, mapperClass, tableInfo));
+        if (tableInfo.havePK()) {
+            methodList.add(new InsertValues());
+            methodList.add(new UpsertValues());
+        }
+        methodList.add(new SelectStream());
+        methodList.add(new EstimateRows());
+        return methodList;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.basic.configuration.mybatis.injector;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+/**
+ * 估算表的总行数(MySQL)
+ * <p>
+ * 读取 information_schema 中 InnoDB 的表统计信息，不扫描表；
+ * 统计信息由数据库定期更新，与实际行数存在误差，并且包含逻辑删除的数据。
+ * </p>
+ *
+ * @author vains
+ */
+public class EstimateRows extends AbstractMethod {
+
+    public EstimateRows() {
+        super("estimateRows");
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        String sql = "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '"
+                + tableInfo.getTableName().replace("`", "") + "'";
+        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        return this.addSelectMappedStatementForOther(mapperClass, methodName, sqlSource, Long.class);
+    }
+
+}
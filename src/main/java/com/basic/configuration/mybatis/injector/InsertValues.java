@@ -0,0 +1,78 @@
+package com.basic.configuration.mybatis.injector;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.stream.Collectors;
+
+/**
+ * 多行插入：INSERT INTO table (...) VALUES (...), (...)
+ * <p>
+ * 插入所有字段，主键与审计字段由 MybatisPlus 在执行前填充(ASSIGN_ID 与 {@code MetaObjectHandler#insertFill})；
+ * 逻辑删除字段固定写入未删除的值。
+ * </p>
+ *
+ * @author vains
+ */
+public class InsertValues extends AbstractMethod {
+
+    public InsertValues() {
+        this("insertValues");
+    }
+
+    protected InsertValues(String methodName) {
+        super(methodName);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        String columns = tableInfo.getKeyInsertSqlColumn(true, null, false) + tableInfo.getFieldList().stream()
+                .map(TableFieldInfo::getInsertSqlColumn)
+                .collect(Collectors.joining());
+        String values = tableInfo.getKeyInsertSqlProperty(true, ENTITY_DOT, false) + tableInfo.getFieldList().stream()
+                .map(InsertValues::insertSqlProperty)
+                .collect(Collectors.joining());
+        String valuesScript = SqlScriptUtils.convertForeach(
+                LEFT_BRACKET + values.substring(0, values.length() - 1) + RIGHT_BRACKET, LIST, null, ENTITY, COMMA);
+        String sql = "<script>\nINSERT INTO " + tableInfo.getTableName() + " "
+                + LEFT_BRACKET + columns.substring(0, columns.length() - 1) + RIGHT_BRACKET
+                + " VALUES " + valuesScript + this.sqlSuffix(tableInfo) + "\n</script>";
+        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource,
+                NoKeyGenerator.INSTANCE, null, null);
+    }
+
+    /**
+     * VALUES 之后追加的语句
+     *
+     * @param tableInfo 表信息
+     * @return 追加的语句
+     */
+    protected String sqlSuffix(TableInfo tableInfo) {
+        return EMPTY;
+    }
+
+    /**
+     * 逻辑删除字段的未删除值
+     *
+     * @param fieldInfo 逻辑删除字段
+     * @return 可以直接拼接到 sql 中的值
+     */
+    protected static String logicNotDeleteValue(TableFieldInfo fieldInfo) {
+        String value = fieldInfo.getLogicNotDeleteValue();
+        return fieldInfo.isCharSequence() ? "'" + value + "'" : value;
+    }
+
+    private static String insertSqlProperty(TableFieldInfo fieldInfo) {
+        if (fieldInfo.isLogicDelete()) {
+            return logicNotDeleteValue(fieldInfo) + COMMA;
+        }
+        return fieldInfo.getInsertSqlProperty(ENTITY_DOT);
+    }
+
+}
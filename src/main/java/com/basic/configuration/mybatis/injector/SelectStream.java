@@ -0,0 +1,42 @@
+package com.basic.configuration.mybatis.injector;
+
+import com.baomidou.mybatisplus.core.injector.methods.SelectList;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.*;
+
+/**
+ * 流式查询：与 selectList 相同的 sql，结果逐行交给 ResultHandler 处理
+ * <p>
+ * 语句为只进结果集，fetchSize 为 {@link Integer#MIN_VALUE}，MySQL 驱动逐行读取结果而不是一次性加载到内存；
+ * 读取完成前连接被占用，不需要事务。
+ * </p>
+ *
+ * @author vains
+ */
+public class SelectStream extends SelectList {
+
+    /**
+     * MySQL 驱动逐行读取结果的 fetchSize
+     */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    public SelectStream() {
+        super("selectStream");
+    }
+
+    @Override
+    protected MappedStatement addMappedStatement(Class<?> mapperClass, String id, SqlSource sqlSource,
+                                                 SqlCommandType sqlCommandType, Class<?> parameterType,
+                                                 String resultMap, Class<?> resultType, KeyGenerator keyGenerator,
+                                                 String keyProperty, String keyColumn) {
+        if (configuration.hasStatement(mapperClass.getName() + DOT + id, false)) {
+            return null;
+        }
+        // 不使用缓存，避免结果被缓存到一级缓存中
+        return builderAssistant.addMappedStatement(id, sqlSource, StatementType.PREPARED, sqlCommandType,
+                STREAMING_FETCH_SIZE, null, null, parameterType, resultMap, resultType, ResultSetType.FORWARD_ONLY,
+                false, false, false, keyGenerator, keyProperty, keyColumn, configuration.getDatabaseId(),
+                languageDriver);
+    }
+
+}
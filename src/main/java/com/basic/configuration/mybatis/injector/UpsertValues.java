@@ -0,0 +1,39 @@
+package com.basic.configuration.mybatis.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+
+import java.util.stream.Collectors;
+
+/**
+ * 多行插入或更新(MySQL)：INSERT INTO table (...) VALUES (...), (...) ON DUPLICATE KEY UPDATE ...
+ * <p>
+ * 主键或唯一索引冲突时更新除主键与仅插入时填充的字段(创建人、创建时间等)之外的所有字段，
+ * 修改人、修改时间使用插入时填充的值；已逻辑删除的数据会被恢复为未删除。
+ * </p>
+ *
+ * @author vains
+ */
+public class UpsertValues extends InsertValues {
+
+    public UpsertValues() {
+        super("upsertValues");
+    }
+
+    @Override
+    protected String sqlSuffix(TableInfo tableInfo) {
+        return " ON DUPLICATE KEY UPDATE " + tableInfo.getFieldList().stream()
+                .filter(e -> e.getFieldFill() != FieldFill.INSERT)
+                .map(UpsertValues::updateSql)
+                .collect(Collectors.joining(COMMA));
+    }
+
+    private static String updateSql(TableFieldInfo fieldInfo) {
+        if (fieldInfo.isLogicDelete()) {
+            return fieldInfo.getColumn() + EQUALS + logicNotDeleteValue(fieldInfo);
+        }
+        return fieldInfo.getColumn() + EQUALS + "VALUES(" + fieldInfo.getColumn() + RIGHT_BRACKET;
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.basic.configuration.redis;
+
+import com.basic.cache.PermissionCodeDictionary;
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.domain.model.BitSetAuthorities;
+import com.basic.enums.BasicEnum;
+import com.basic.enums.GenderEnum;
+import com.basic.enums.OAuth2AccountPlatformEnum;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 用户信息的二进制序列化器
+ * <p>
+ * 格式：[格式版本(1 byte)][标记(1 byte)][数据]，数据开头为字段存在标记(long)，之后依次为存在的字段；
+ * 字段只允许在末尾追加，新增字段时提升格式版本，读取时按数据的格式版本读取对应的字段，旧格式的数据依然可以读取。
+ * 数据超过压缩阈值时(权限较多)使用 deflate 压缩。
+ * 格式版本 2 开始权限前增加一个类型标记，位图权限({@link BitSetAuthorities})只写入权限编码位图，其它权限依然写入权限标识。
+ * 为了兼容升级前以 json 格式存储的数据，读取到 json 数据时使用 fallback 序列化器读取。
+ * </p>
+ *
+ * @author vains
+ */
+public class BasicUserDetailsRedisSerializer implements RedisSerializer<BasicUserDetails> {
+
+    /**
+     * 当前格式版本
+     */
+    private static final byte VERSION = 2;
+
+    /**
+     * 数据已压缩的标记
+     */
+    private static final byte FLAG_DEFLATE = 1;
+
+    /**
+     * 超过该长度(字节)的数据会被压缩
+     */
+    private static final int COMPRESS_THRESHOLD = 512;
+
+    /**
+     * 权限以权限标识列表保存
+     */
+    private static final byte AUTHORITIES_STRINGS = 0;
+
+    /**
+     * 权限以权限编码位图保存
+     */
+    private static final byte AUTHORITIES_BITSET = 1;
+
+    private final RedisSerializer<Object> fallback;
+
+    private final PermissionCodeDictionary dictionary;
+
+    public BasicUserDetailsRedisSerializer(RedisSerializer<Object> fallback) {
+        this(fallback, null);
+    }
+
+    public BasicUserDetailsRedisSerializer(RedisSerializer<Object> fallback, PermissionCodeDictionary dictionary) {
+        this.fallback = fallback;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public byte[] serialize(BasicUserDetails value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(body);
+            writeUser(out, value);
+            out.flush();
+
+            byte[] data = body.toByteArray();
+            byte flags = 0;
+            if (data.length > COMPRESS_THRESHOLD) {
+                data = deflate(data);
+                flags |= FLAG_DEFLATE;
+            }
+
+            byte[] result = new byte[data.length + 2];
+            result[0] = VERSION;
+            result[1] = flags;
+            System.arraycopy(data, 0, result, 2, data.length);
+            return result;
+        } catch (IOException e) {
+            throw new SerializationException("序列化用户信息失败.", e);
+        }
+    }
+
+    @Override
+    public BasicUserDetails deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // 兼容 json 格式存储的数据
+        if (bytes[0] == '{' || bytes[0] == '[') {
+            Object value = fallback.deserialize(bytes);
+            return value instanceof BasicUserDetails userDetails ? userDetails : null;
+        }
+        byte version = bytes[0];
+        if (version < 1 || version > VERSION || bytes.length < 2) {
+            throw new SerializationException("不支持的用户信息格式版本：" + version);
+        }
+        try {
+            InputStream body = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+            if ((bytes[1] & FLAG_DEFLATE) != 0) {
+                body = new InflaterInputStream(body);
+            }
+            return readUser(new DataInputStream(body), version);
+        } catch (IOException e) {
+            throw new SerializationException("反序列化用户信息失败.", e);
+        }
+    }
+
+    /**
+     * 写入用户信息，字段顺序即格式定义，只允许在末尾追加
+     *
+     * @param out  输出流
+     * @param user 用户信息
+     * @throws IOException 写入失败
+     */
+    private void writeUser(DataOutputStream out, BasicUserDetails user) throws IOException {
+        Object[] fields = {
+                user.getId(), user.getUsername(), user.getNickname(), user.getProfile(), user.getPicture(),
+                user.getEmail(), user.getEmailVerified(), user.getGender(), user.getPassword(), user.getBirthdate(),
+                user.getPhoneNumber(), user.getPhoneNumberVerified(), user.getAddress(), user.getDeleted(),
+                user.getAccountPlatform(), user.getCreateBy(), user.getUpdateBy(), user.getCreateName(),
+                user.getUpdateName(), user.getCreateTime(), user.getUpdateTime(), user.getAuthorities()
+        };
+        long present = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                present |= 1L << i;
+            }
+        }
+        out.writeLong(present);
+
+        for (Object field : fields) {
+            switch (field) {
+                case null -> {
+                }
+                case Long l -> out.writeLong(l);
+                case Integer i -> out.writeInt(i);
+                case Boolean b -> out.writeBoolean(b);
+                case String s -> out.writeUTF(s);
+                case GenderEnum gender -> out.writeInt(gender.getValue());
+                case OAuth2AccountPlatformEnum platform -> out.writeUTF(platform.getValue());
+                case LocalDate date -> out.writeLong(date.toEpochDay());
+                case LocalDateTime dateTime -> {
+                    out.writeLong(dateTime.toLocalDate().toEpochDay());
+                    out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+                }
+                case BitSetAuthorities authorities when this.dictionary != null -> {
+                    byte[] bits = authorities.toByteArray();
+                    out.writeByte(AUTHORITIES_BITSET);
+                    out.writeInt(bits.length);
+                    out.write(bits);
+                }
+                case Collection<?> authorities -> {
+                    out.writeByte(AUTHORITIES_STRINGS);
+                    out.writeInt(authorities.size());
+                    for (Object authority : authorities) {
+                        out.writeUTF(((GrantedAuthority) authority).getAuthority());
+                    }
+                }
+                default -> throw new IOException("不支持的字段类型：" + field.getClass());
+            }
+        }
+    }
+
+    /**
+     * 按格式版本读取用户信息
+     *
+     * @param in      输入流
+     * @param version 格式版本
+     * @return 用户信息
+     * @throws IOException 读取失败
+     */
+    private BasicUserDetails readUser(DataInputStream in, byte version) throws IOException {
+        long present = in.readLong();
+        BasicUserDetails user = new BasicUserDetails();
+        int i = 0;
+        // version 1
+        if (has(present, i++)) {
+            user.setId(in.readLong());
+        }
+        if (has(present, i++)) {
+            user.setUsername(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setNickname(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setProfile(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setPicture(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setEmail(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setEmailVerified(in.readBoolean());
+        }
+        if (has(present, i++)) {
+            user.setGender(BasicEnum.fromValue(in.readInt(), GenderEnum.class));
+        }
+        if (has(present, i++)) {
+            user.setPassword(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setBirthdate(LocalDate.ofEpochDay(in.readLong()));
+        }
+        if (has(present, i++)) {
+            user.setPhoneNumber(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setPhoneNumberVerified(in.readBoolean());
+        }
+        if (has(present, i++)) {
+            user.setAddress(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setDeleted(in.readInt());
+        }
+        if (has(present, i++)) {
+            user.setAccountPlatform(BasicEnum.fromValue(in.readUTF(), OAuth2AccountPlatformEnum.class));
+        }
+        if (has(present, i++)) {
+            user.setCreateBy(in.readLong());
+        }
+        if (has(present, i++)) {
+            user.setUpdateBy(in.readLong());
+        }
+        if (has(present, i++)) {
+            user.setCreateName(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setUpdateName(in.readUTF());
+        }
+        if (has(present, i++)) {
+            user.setCreateTime(readDateTime(in));
+        }
+        if (has(present, i++)) {
+            user.setUpdateTime(readDateTime(in));
+        }
+        if (has(present, i)) {
+            // version 2 开始权限前有类型标记
+            byte type = version >= 2 ? in.readByte() : AUTHORITIES_STRINGS;
+            user.setAuthorities(type == AUTHORITIES_BITSET ? this.readBitSetAuthorities(in) : readAuthorities(in));
+        }
+        return user;
+    }
+
+    private BitSetAuthorities readBitSetAuthorities(DataInputStream in) throws IOException {
+        if (this.dictionary == null) {
+            throw new IOException("缺少权限编码字典，无法读取位图权限.");
+        }
+        byte[] bits = new byte[in.readInt()];
+        in.readFully(bits);
+        return this.dictionary.decode(bits);
+    }
+
+    private static List<GrantedAuthority> readAuthorities(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<GrantedAuthority> authorities = new ArrayList<>(size);
+        for (int j = 0; j < size; j++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+        return authorities;
+    }
+
+    private static boolean has(long present, int index) {
+        return (present & (1L << index)) != 0;
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(data);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+}
@@ -16,20 +16,80 @@ public class AuthorizeConstants {
      */
     public static final String CLAIM_USER_ID = "user_id";
 
+    /**
+     * 权限信息，无状态模式下写入 jwt
+     */
+    public static final String CLAIM_AUTHORITIES = "authorities";
+
+    /**
+     * 用户版本(签发时间戳，毫秒)，无状态模式下用于判断 token 是否已被吊销
+     */
+    public static final String CLAIM_VERSION = "ver";
+
     /**
      * 认证信息前缀
      */
     public static final String AUTHENTICATION_PREFIX = BASIC_PREFIX + "authentication:";
 
     /**
-     * 用户id 与令牌唯一id的映射关系缓存key
+     * 令牌会话缓存前缀，key 为令牌唯一id(jti)，value 为用户信息快照
+     */
+    public static final String SESSION_PREFIX = BASIC_PREFIX + "session:jti:";
+
+    /**
+     * 用户会话索引前缀，key 为用户id，value 为该用户令牌唯一id(jti)的有序集合，score 为会话过期时间戳(毫秒)
+     */
+    public static final String USER_SESSIONS_PREFIX = BASIC_PREFIX + "session:user-index:";
+
+    /**
+     * 用户会话本地缓存失效通知的频道
+     */
+    public static final String SESSION_INVALIDATE_CHANNEL = BASIC_PREFIX + "channel:session-invalidate";
+
+    /**
+     * 无状态模式下的吊销列表，hash 结构，field 为用户id，value 为该用户有效 token 的最小版本
+     */
+    public static final String TOKEN_REVOCATION_KEY = BASIC_PREFIX + "token:revocation";
+
+    /**
+     * 无状态模式下吊销列表更新通知的频道
+     */
+    public static final String TOKEN_REVOCATION_CHANNEL = BASIC_PREFIX + "channel:token-revocation";
+
+    /**
+     * 权限编码字典，hash 结构，field 为权限标识，value 为从 0 开始连续分配的编码
+     */
+    public static final String PERMISSION_CODE_KEY = BASIC_PREFIX + "permission:code";
+
+    /**
+     * 权限编码计数器，值为已分配的编码数量，通过 INCR 分配下一个编码
+     */
+    public static final String PERMISSION_CODE_SEQUENCE_KEY = BASIC_PREFIX + "permission:code-sequence";
+
+    /**
+     * 接口权限变更通知的频道，收到通知后重新构建接口权限索引
+     */
+    public static final String PERMISSION_CHANGED_CHANNEL = BASIC_PREFIX + "channel:permission-changed";
+
+    /**
+     * RBAC 关系变更事件 Stream，各节点按顺序消费并更新本地的 RBAC 关系快照
+     */
+    public static final String RBAC_CHANGE_STREAM = BASIC_PREFIX + "stream:rbac-change";
+
+    /**
+     * 字典版本号，hash 结构，field 为字典类型编码，value 为每次变更时递增的版本号
+     */
+    public static final String DICT_VERSION_KEY = BASIC_PREFIX + "dict:version";
+
+    /**
+     * 字典变更通知的频道，消息为变更的字典类型编码，收到通知后重新加载对应的字典
      */
-    public static final String JTI_USER_HASH = BASIC_PREFIX + "userinfo:jti:";
+    public static final String DICT_CHANGED_CHANNEL = BASIC_PREFIX + "channel:dict-changed";
 
     /**
-     * 用户信息缓存前缀
+     * 用户导入任务进度前缀，hash 结构，后面拼接任务id
      */
-    public static final String USERINFO_PREFIX = BASIC_PREFIX + "userinfo:id:";
+    public static final String USER_IMPORT_PREFIX = BASIC_PREFIX + "import:user:";
 
     /**
      * 黑名单列表前缀
@@ -3,12 +3,17 @@ package com.basic.controller.system;
 import com.basic.domain.PageResult;
 import com.basic.domain.Result;
 import com.basic.domain.entity.SysBasicUser;
+import com.basic.domain.request.ExportBasicUserRequest;
 import com.basic.domain.request.FindBasicUserPageRequest;
 import com.basic.domain.request.SaveBasicUserRequest;
 import com.basic.domain.request.UpdateUserRolesRequest;
 import com.basic.domain.response.AuthenticatedUserResponse;
 import com.basic.domain.response.FindBasicUserResponse;
+import com.basic.domain.response.UserImportProgressResponse;
 import com.basic.service.SysBasicUserService;
+import com.basic.service.UserImportService;
+import com.basic.util.BeanCopyUtils;
+import com.basic.util.ExportUtils;
 import com.basic.validation.group.Update;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,9 +22,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
 import java.util.List;
@@ -39,6 +47,8 @@ public class SysBasicUserController {
 
     private final SysBasicUserService basicUserService;
 
+    private final UserImportService userImportService;
+
     @GetMapping("/findByPage")
     @Operation(summary = "分页查询基础用户信息列表", description = "分页查询基础用户信息列表")
     public Result<PageResult<FindBasicUserResponse>> findByPage(@Valid FindBasicUserPageRequest request) {
@@ -46,6 +56,28 @@ public class SysBasicUserController {
         return Result.success(pageResult);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "导出基础用户信息", description = "按查询条件流式导出基础用户信息，支持 csv 与 ndjson 格式")
+    public ResponseEntity<StreamingResponseBody> export(@Valid ExportBasicUserRequest request) {
+        return ExportUtils.response("users", request, out -> basicUserService.export(request, out));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "批量导入用户", description = "上传 csv 或 ndjson 文件，在后台导入并返回任务id")
+    public Result<String> importUsers(@RequestParam("file") MultipartFile file,
+                                      @RequestParam(required = false) List<Long> roleIds) {
+        String taskId = userImportService.submit(file, roleIds);
+        return Result.success(taskId);
+    }
+
+    @GetMapping("/import/{taskId}")
+    @Parameter(name = "taskId", description = "导入任务id")
+    @Operation(summary = "查询用户导入进度", description = "查询当前用户提交的导入任务进度，任务结束一天后过期")
+    public Result<UserImportProgressResponse> importProgress(@PathVariable String taskId) {
+        UserImportProgressResponse progress = userImportService.progress(taskId);
+        return Result.success(progress);
+    }
+
     @GetMapping("/userDetails/{id}")
     @Parameter(name = "id", description = "用户 ID")
     @Operation(summary = "查询用户详情", description = "根据用户 id 查询用户详情")
@@ -53,7 +85,7 @@ public class SysBasicUserController {
         Optional<SysBasicUser> opt = basicUserService.getOptById(id);
         FindBasicUserResponse userResponse = opt.map(u -> {
             FindBasicUserResponse basicUserResponse = new FindBasicUserResponse();
-            BeanUtils.copyProperties(u, basicUserResponse);
+            BeanCopyUtils.copyProperties(u, basicUserResponse);
             return basicUserResponse;
         }).orElse(null);
         return Result.success(userResponse);
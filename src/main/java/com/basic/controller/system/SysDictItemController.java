@@ -5,20 +5,23 @@ import com.basic.domain.Result;
 import com.basic.domain.entity.SysDictItem;
 import com.basic.domain.request.SysDictItemPageRequest;
 import com.basic.domain.request.SysDictItemRequest;
+import com.basic.domain.response.FindDictItemsResponse;
 import com.basic.domain.response.FindSysDictItemResponse;
 import com.basic.exception.CloudServiceException;
 import com.basic.service.SysDictItemService;
+import com.basic.util.BeanCopyUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 字典项相关接口
@@ -48,6 +51,13 @@ public class SysDictItemController {
         return Result.success(responses);
     }
 
+    @GetMapping("/types")
+    @Operation(summary = "根据多个字典类型编码批量查询字典项", description = "根据多个字典类型编码批量查询字典项，不存在的字典类型不返回")
+    public Result<Map<String, FindDictItemsResponse>> listByTypes(@RequestParam @NotEmpty List<@NotBlank String> typeCodes) {
+        Map<String, FindDictItemsResponse> responses = sysDictItemService.listByTypes(typeCodes);
+        return Result.success(responses);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "根据 字典项ID 查询字典项", description = "根据 字典项ID 查询字典项")
     public Result<FindSysDictItemResponse> getById(@PathVariable @NotNull Long id) {
@@ -55,7 +65,7 @@ public class SysDictItemController {
                 .orElseThrow(() -> new CloudServiceException("字典项不存在，ID：" + id));
 
         FindSysDictItemResponse response = new FindSysDictItemResponse();
-        BeanUtils.copyProperties(sysDictItem, response);
+        BeanCopyUtils.copyProperties(sysDictItem, response);
         return Result.success(response);
     }
 
@@ -77,7 +87,7 @@ public class SysDictItemController {
     @DeleteMapping("/{id}")
     @Operation(summary = "删除字典项", description = "删除字典项")
     public Result<String> delete(@PathVariable @NotNull Long id) {
-        sysDictItemService.removeById(id);
+        sysDictItemService.delete(id);
         return Result.success();
     }
 
@@ -8,12 +8,12 @@ import com.basic.domain.request.SysDictTypeRequest;
 import com.basic.domain.response.FindSysDictTypeResponse;
 import com.basic.exception.CloudServiceException;
 import com.basic.service.SysDictTypeService;
+import com.basic.util.BeanCopyUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -54,7 +54,7 @@ public class SysDictTypeController {
                 .orElseThrow(() -> new CloudServiceException("字典类型不存在，ID：" + id));
 
         FindSysDictTypeResponse response = new FindSysDictTypeResponse();
-        BeanUtils.copyProperties(sysDictType, response);
+        BeanCopyUtils.copyProperties(sysDictType, response);
 
         return Result.success(response);
     }
@@ -2,12 +2,13 @@ package com.basic.controller.system;
 
 import com.basic.domain.PageResult;
 import com.basic.domain.Result;
-import com.basic.domain.model.DynamicRouter;
+import com.basic.domain.request.ExportPermissionRequest;
 import com.basic.domain.request.FindPermissionPageRequest;
 import com.basic.domain.request.FindPermissionRequest;
 import com.basic.domain.request.SavePermissionRequest;
 import com.basic.domain.response.FindPermissionResponse;
 import com.basic.service.SysPermissionService;
+import com.basic.util.ExportUtils;
 import com.basic.validation.group.Update;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,8 +17,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.util.RawValue;
 
 import java.util.List;
 
@@ -42,6 +46,12 @@ public class SysPermissionController {
         return Result.success(pageResult);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "导出权限信息", description = "按查询条件流式导出权限信息，支持 csv 与 ndjson 格式")
+    public ResponseEntity<StreamingResponseBody> export(@Valid ExportPermissionRequest request) {
+        return ExportUtils.response("permissions", request, out -> sysPermissionService.export(request, out));
+    }
+
     @GetMapping("/findPermissions")
     @Operation(summary = "查询权限信息列表", description = "查询权限信息列表")
     public Result<List<FindPermissionResponse>> findPermissions(@Valid FindPermissionRequest request) {
@@ -104,9 +114,9 @@ public class SysPermissionController {
 
     @GetMapping("/findUserRouters")
     @Operation(summary = "获取当前用户的菜单列表", description = "获取当前用户的菜单列表")
-    public Result<List<DynamicRouter>> findUserRouters() {
-        List<DynamicRouter> dynamicRouters = sysPermissionService.findUserRouters();
-        return Result.success(dynamicRouters);
+    public Result<RawValue> findUserRouters() {
+        // 直接返回缓存中已序列化的路由树
+        return Result.success(sysPermissionService.findUserRoutersJson());
     }
 
 }
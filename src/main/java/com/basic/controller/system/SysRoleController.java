@@ -2,6 +2,7 @@ package com.basic.controller.system;
 
 import com.basic.domain.PageResult;
 import com.basic.domain.Result;
+import com.basic.domain.request.AssignRoleUsersRequest;
 import com.basic.domain.request.FindRolePageRequest;
 import com.basic.domain.request.FindRoleRequest;
 import com.basic.domain.request.SaveRoleRequest;
@@ -96,4 +97,11 @@ public class SysRoleController {
         return Result.success();
     }
 
+    @PutMapping("/assignUsers")
+    @Operation(summary = "批量为用户分配角色", description = "批量为用户分配角色，已拥有该角色的用户不变")
+    Result<String> assignUsers(@Valid @RequestBody AssignRoleUsersRequest request) {
+        sysRoleService.assignUsers(request);
+        return Result.success();
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.basic.converter;
 
+import com.basic.constant.AuthorizeConstants;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 
@@ -14,6 +15,8 @@ public class BasicJwtAuthenticationConverter extends JwtAuthenticationConverter
         JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
         // 设置解析权限信息的前缀，设置为空是去掉前缀
         grantedAuthoritiesConverter.setAuthorityPrefix("");
+        // 从 authorities 中获取权限信息
+        grantedAuthoritiesConverter.setAuthoritiesClaimName(AuthorizeConstants.CLAIM_AUTHORITIES);
         super.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
     }
 }
@@ -1,14 +1,15 @@
 package com.basic.converter;
 
-import com.basic.constant.AuthorizeConstants;
+import com.basic.cache.PermissionCodeDictionary;
+import com.basic.cache.SessionNearCache;
 import com.basic.domain.model.BasicOAuth2AuthenticatedPrincipal;
 import com.basic.domain.model.BasicUserDetails;
-import com.basic.util.JsonUtils;
+import com.basic.service.SysPermissionService;
+import com.basic.service.TokenSessionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.core.convert.converter.Converter;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -17,7 +18,7 @@ import org.springframework.security.oauth2.server.resource.BearerTokenErrors;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthentication;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.Collection;
 
 /**
  * 基于 Redis 用户信息解析Jwt的Converter
@@ -28,9 +29,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BasicJwtRedisAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
-    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final TokenSessionService tokenSessionService;
 
-    private final RedisTemplate<String, BasicUserDetails> userRedisTemplate;
+    private final SessionNearCache sessionNearCache;
+
+    private final SysPermissionService sysPermissionService;
+
+    private final PermissionCodeDictionary permissionCodeDictionary;
 
     @Override
     public AbstractAuthenticationToken convert(Jwt source) {
@@ -38,11 +43,9 @@ public class BasicJwtRedisAuthenticationConverter implements Converter<Jwt, Abst
             return null;
         }
 
-        // 获取 用户ID
-        String userId = stringRedisTemplate.opsForValue().get(AuthorizeConstants.JTI_USER_HASH + source.getId());
-        // 从Redis 中获取用户信息
-        BasicUserDetails userDetails = userRedisTemplate.opsForValue().get(AuthorizeConstants.USERINFO_PREFIX + userId);
-        if (userDetails == null) {
+        // 获取用户信息快照，优先从本地缓存中获取，不存在时从Redis 中获取并构建
+        BasicOAuth2AuthenticatedPrincipal principal = sessionNearCache.get(source.getId(), source.getExpiresAt(), this::loadPrincipal);
+        if (principal == null) {
             // Jwt被正常解析但是无法获取到Redis的用户信息，这种情况一般是登出、管理平台下线后出现的问题
             // RFC6750规定字符只能是 %x21 / %x23-5B/ %x5D-7E，以%x20分割(https://datatracker.ietf.org/doc/rfc6750/)
             // %x21 表示 !   %x23-5B 表示 # 到 [, 包括：# $ % & ' ( ) * + , - . / 0-9 : ; < = > ? @ A-Z 和 [
@@ -55,15 +58,50 @@ public class BasicJwtRedisAuthenticationConverter implements Converter<Jwt, Abst
         OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, source.getTokenValue(),
                 source.getIssuedAt(), source.getExpiresAt());
 
-        // 构建资源服务用户信息
-        BasicOAuth2AuthenticatedPrincipal principal = new BasicOAuth2AuthenticatedPrincipal();
-        BeanUtils.copyProperties(userDetails, principal);
+        return new BasicBearerTokenAuthentication(principal, accessToken);
+    }
 
-        // 生成属性
-        Map<String, Object> attributes = JsonUtils.objectToObject(userDetails, Map.class, String.class, Object.class);
-        principal.setAttributes(attributes);
+    /**
+     * 从Redis 中获取用户信息并构建用户信息快照
+     * <p>
+     * 权限不使用登录时保存的权限，而是按当前的 RBAC 快照重新计算，角色或权限变更后
+     * 清除本地缓存即可在下次请求时生效，不需要重新登录。
+     * </p>
+     *
+     * @param jti 令牌唯一ID
+     * @return 用户信息快照，会话不存在时返回 null
+     */
+    private BasicOAuth2AuthenticatedPrincipal loadPrincipal(String jti) {
+        BasicUserDetails userDetails = tokenSessionService.load(jti);
+        if (userDetails == null) {
+            return null;
+        }
+        userDetails.setAuthorities(permissionCodeDictionary.encode(
+                sysPermissionService.findAuthoritiesByUserId(userDetails.getId())));
+        return BasicOAuth2AuthenticatedPrincipal.of(userDetails);
+    }
+
+    /**
+     * 直接使用用户信息快照中权限的 BearerTokenAuthentication
+     * <p>
+     * {@link BearerTokenAuthentication} 的构造器会遍历并复制权限列表，位图权限会因此在每次请求时展开为列表；
+     * 这里不向父类传入权限，而是直接返回快照中的权限实例，位图权限的判断仍然只需要检查对应的位。
+     * </p>
+     */
+    private static final class BasicBearerTokenAuthentication extends BearerTokenAuthentication {
+
+        private final Collection<GrantedAuthority> authorities;
 
-        return new BearerTokenAuthentication(principal, accessToken, userDetails.getAuthorities());
+        @SuppressWarnings("unchecked")
+        private BasicBearerTokenAuthentication(BasicOAuth2AuthenticatedPrincipal principal, OAuth2AccessToken token) {
+            super(principal, token, null);
+            this.authorities = (Collection<GrantedAuthority>) principal.getAuthorities();
+        }
+
+        @Override
+        public Collection<GrantedAuthority> getAuthorities() {
+            return this.authorities;
+        }
     }
 
 }
@@ -0,0 +1,41 @@
+package com.basic.converter;
+
+import com.basic.cache.TokenRevocationCache;
+import com.basic.constant.AuthorizeConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.BearerTokenErrors;
+import org.springframework.stereotype.Component;
+
+/**
+ * 无状态模式下解析Jwt的Converter
+ * <p>
+ * 权限信息直接从 jwt 中获取，不读取 Redis；只校验 token 的版本是否已被吊销(登出、权限变更)。
+ * </p>
+ *
+ * @author vains
+ */
+@Component
+@RequiredArgsConstructor
+public class BasicJwtStatelessAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final TokenRevocationCache tokenRevocationCache;
+
+    private final BasicJwtAuthenticationConverter delegate = new BasicJwtAuthenticationConverter();
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt source) {
+        String userId = source.getClaimAsString(AuthorizeConstants.CLAIM_USER_ID);
+        Object version = source.getClaim(AuthorizeConstants.CLAIM_VERSION);
+        if (userId == null || !(version instanceof Number number)
+                || tokenRevocationCache.isRevoked(Long.valueOf(userId), number.longValue())) {
+            throw new OAuth2AuthenticationException(
+                    BearerTokenErrors.invalidToken("Access token is invalid or has been logged out."));
+        }
+        return delegate.convert(source);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.basic.domain;
 
+import com.basic.enums.PageCountModeEnum;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +10,9 @@ import java.io.Serializable;
 
 /**
  * 分页请求入参
+ * <p>
+ * 默认按页码分页；传入上一页返回的游标时按游标分页，只查询游标之后的数据，页码被忽略，深度翻页与第一页的开销相同。
+ * </p>
  *
  * @author vains
  */
@@ -21,8 +25,8 @@ public abstract class BasicPageable implements Serializable {
      */
     @Min(1)
     @NotNull
-    @Schema(title = "当前页码", description = "当前页码")
-    private Long current;
+    @Schema(title = "当前页码", description = "当前页码，按游标分页时忽略")
+    private Long current = 1L;
 
     /**
      * 每页行数
@@ -32,4 +36,16 @@ public abstract class BasicPageable implements Serializable {
     @Schema(title = "每页行数", description = "每页行数")
     private Long size;
 
+    /**
+     * 分页游标
+     */
+    @Schema(title = "分页游标", description = "上一页响应中的 nextCursor，传入后按游标查询下一页")
+    private String cursor;
+
+    /**
+     * 总条数统计方式
+     */
+    @Schema(title = "总条数统计方式", description = "总条数统计方式，默认精确统计")
+    private PageCountModeEnum countMode;
+
 }
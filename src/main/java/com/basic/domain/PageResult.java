@@ -18,12 +18,18 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 public class PageResult<T> extends BasicPageable {
 
-    @Schema(description = "总条数")
+    @Schema(description = "总条数，不统计时为空，缓存或估算时为近似值")
     private Long total;
 
     @Schema(description = "分页数据")
     private List<T> records;
 
+    @Schema(description = "是否有下一页")
+    private Boolean hasNext;
+
+    @Schema(description = "下一页的游标，没有下一页时为空")
+    private String nextCursor;
+
     public PageResult(Long current, Long size, Long total, List<T> records) {
         super.setSize(size);
         super.setCurrent(current);
@@ -72,6 +72,11 @@ public class SysPermission extends BasicEntity {
      */
     private Long parentId;
 
+    /**
+     * 层级路径，由根节点到当前节点的 id 组成，格式为 /rootId/.../id/
+     */
+    private String treePath;
+
     /**
      * 组件路径
      */
@@ -0,0 +1,47 @@
+package com.basic.domain.model;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 关联关系(用户角色、角色权限等)的变更集
+ *
+ * @param added   新增关联的 id
+ * @param removed 移除关联的 id
+ * @author vains
+ */
+public record AssignmentChanges(Set<Long> added, Set<Long> removed) {
+
+    public AssignmentChanges {
+        added = Set.copyOf(added);
+        removed = Set.copyOf(removed);
+    }
+
+    /**
+     * 计算由当前关联变为期望关联需要新增与移除的 id
+     *
+     * @param current 当前关联的 id
+     * @param desired 期望关联的 id，为 null 时表示移除所有关联
+     * @return 变更集
+     */
+    public static AssignmentChanges diff(Collection<Long> current, Collection<Long> desired) {
+        Set<Long> added = new LinkedHashSet<>();
+        if (desired != null) {
+            desired.stream().filter(Objects::nonNull).forEach(added::add);
+        }
+        Set<Long> removed = new LinkedHashSet<>(current);
+        removed.removeAll(added);
+        added.removeAll(current);
+        return new AssignmentChanges(added, removed);
+    }
+
+    /**
+     * @return 没有任何变更时返回 true
+     */
+    public boolean unchanged() {
+        return this.added.isEmpty() && this.removed.isEmpty();
+    }
+
+}
@@ -1,33 +1,119 @@
 package com.basic.domain.model;
 
+import com.basic.util.BeanCopyUtils;
+import com.basic.util.JsonUtils;
 import jakarta.annotation.Nonnull;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
- * 基础OAuth2资源服务用户信息(等同基础用户信息)
+ * 基础OAuth2资源服务用户信息
+ * <p>
+ * 实例为用户信息快照，只能通过 {@link #of(BasicUserDetails)} 构建，会在同一会话的所有请求间共享：
+ * 构建时复制一份用户信息保存在内部，不对外暴露，只提供读取方法；需要完整的用户信息时通过
+ * {@link #toUserDetails()} 获取一份新的副本。属性 {@link #getAttributes()} 在第一次获取时才生成，并且不可修改。
+ * </p>
  *
  * @author vains
  * @see BasicUserDetails
  */
-@Data
-@EqualsAndHashCode(callSuper = true)
-public class BasicOAuth2AuthenticatedPrincipal extends BasicUserDetails implements OAuth2AuthenticatedPrincipal {
+public final class BasicOAuth2AuthenticatedPrincipal implements OAuth2AuthenticatedPrincipal {
 
-    private Map<String, Object> attributes = new HashMap<>();
+    /**
+     * 用户信息副本，只在内部读取
+     */
+    private final BasicUserDetails userDetails;
+
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    private volatile Map<String, Object> attributes;
+
+    private BasicOAuth2AuthenticatedPrincipal(BasicUserDetails userDetails) {
+        Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
+        if (authorities == null) {
+            this.authorities = List.of();
+        } else if (authorities instanceof BitSetAuthorities) {
+            // 位图权限不可修改，直接共享
+            this.authorities = authorities;
+        } else {
+            this.authorities = List.copyOf(authorities);
+        }
+        this.userDetails = copy(userDetails, this.authorities);
+    }
+
+    /**
+     * 根据用户信息构建资源服务用户信息快照
+     *
+     * @param userDetails 用户信息
+     * @return 用户信息快照
+     */
+    public static BasicOAuth2AuthenticatedPrincipal of(BasicUserDetails userDetails) {
+        return new BasicOAuth2AuthenticatedPrincipal(userDetails);
+    }
+
+    /**
+     * @return 用户id
+     */
+    public Long getId() {
+        return this.userDetails.getId();
+    }
+
+    /**
+     * @return 用户名
+     */
+    public String getUsername() {
+        return this.userDetails.getUsername();
+    }
+
+    /**
+     * @return 昵称
+     */
+    public String getNickname() {
+        return this.userDetails.getNickname();
+    }
 
     @Nonnull
     @Override
     public String getName() {
-        return super.getNickname();
+        return this.userDetails.getNickname();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return this.authorities;
     }
 
     @Override
     public Map<String, Object> getAttributes() {
-        return this.attributes;
+        Map<String, Object> attributes = this.attributes;
+        if (attributes == null) {
+            // 生成属性，只在第一次获取时生成
+            attributes = Collections.unmodifiableMap(
+                    JsonUtils.objectToObject(this.userDetails, Map.class, String.class, Object.class));
+            this.attributes = attributes;
+        }
+        return attributes;
     }
+
+    /**
+     * 获取用户信息的副本，修改副本不会影响快照
+     *
+     * @return 用户信息
+     */
+    public BasicUserDetails toUserDetails() {
+        return copy(this.userDetails, this.authorities);
+    }
+
+    private static BasicUserDetails copy(BasicUserDetails source, Collection<? extends GrantedAuthority> authorities) {
+        BasicUserDetails target = new BasicUserDetails();
+        BeanCopyUtils.copyProperties(source, target);
+        target.setAuthorities(authorities);
+        return target;
+    }
+
 }
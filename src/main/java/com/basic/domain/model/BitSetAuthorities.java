@@ -0,0 +1,117 @@
+package com.basic.domain.model;
+
+import com.basic.cache.PermissionCodeDictionary;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+
+/**
+ * 位图权限
+ * <p>
+ * 以权限编码位图保存用户的权限，权限编码由 {@link PermissionCodeDictionary} 分配；
+ * {@link #hasAuthority(String)}、{@link #contains(Object)} 只需要检查对应的位，与用户拥有的权限数量无关。
+ * 实例创建后不可修改，遍历时才将编码转换为权限并缓存。
+ * </p>
+ *
+ * @author vains
+ */
+public final class BitSetAuthorities extends AbstractCollection<GrantedAuthority> {
+
+    private final BitSet bits;
+
+    private final int size;
+
+    private final PermissionCodeDictionary dictionary;
+
+    /**
+     * 遍历时才生成的权限列表
+     */
+    private volatile List<GrantedAuthority> authorities;
+
+    public BitSetAuthorities(BitSet bits, PermissionCodeDictionary dictionary) {
+        this.bits = (BitSet) bits.clone();
+        this.size = this.bits.cardinality();
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * 是否拥有指定权限
+     *
+     * @param authority 权限标识
+     * @return 拥有时返回 true
+     */
+    public boolean hasAuthority(String authority) {
+        if (authority == null) {
+            return false;
+        }
+        int code = this.dictionary.codeOf(authority);
+        return code >= 0 && this.bits.get(code);
+    }
+
+    /**
+     * 是否拥有任意一个指定权限
+     *
+     * @param authorities 权限标识
+     * @return 拥有任意一个时返回 true
+     */
+    public boolean hasAnyAuthority(String... authorities) {
+        for (String authority : authorities) {
+            if (this.hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取位图数据，可通过 {@link PermissionCodeDictionary#decode(byte[])} 还原
+     *
+     * @return 位图数据
+     */
+    public byte[] toByteArray() {
+        return this.bits.toByteArray();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority authority && this.hasAuthority(authority.getAuthority());
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return this.getAuthorities().iterator();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BitSetAuthorities other && this.bits.equals(other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.bits.hashCode();
+    }
+
+    private List<GrantedAuthority> getAuthorities() {
+        List<GrantedAuthority> authorities = this.authorities;
+        if (authorities == null) {
+            List<GrantedAuthority> list = new ArrayList<>(this.size);
+            for (int code = this.bits.nextSetBit(0); code >= 0; code = this.bits.nextSetBit(code + 1)) {
+                String authority = this.dictionary.authorityOf(code);
+                if (authority != null) {
+                    list.add(new SimpleGrantedAuthority(authority));
+                }
+            }
+            authorities = Collections.unmodifiableList(list);
+            this.authorities = authorities;
+        }
+        return authorities;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.basic.domain.model;
+
+import java.util.function.Function;
+
+/**
+ * 导出 csv 的列
+ *
+ * @param title 表头
+ * @param value 获取列的值，返回 null 时为空字符串
+ * @param <T>   行数据类型
+ * @author vains
+ */
+public record ExportColumn<T>(String title, Function<T, ?> value) {
+
+    /**
+     * 创建列
+     *
+     * @param title 表头
+     * @param value 获取列的值
+     * @param <T>   行数据类型
+     * @return 列
+     */
+    public static <T> ExportColumn<T> of(String title, Function<T, ?> value) {
+        return new ExportColumn<>(title, value);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.basic.domain.model;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * 刷新令牌轮换结果
+ *
+ * @author vains
+ */
+@Data
+public class RotatedTokenInfo {
+
+    /**
+     * 新的刷新令牌
+     */
+    private String refreshToken;
+
+    /**
+     * 新的 access token 唯一id
+     */
+    private String jti;
+
+    /**
+     * 新的 access token 签发时间
+     */
+    private Instant issuedAt;
+
+    /**
+     * 新的 access token 过期时间
+     */
+    private Instant expiresAt;
+
+    /**
+     * 用户信息
+     */
+    private BasicUserDetails userDetails;
+
+}
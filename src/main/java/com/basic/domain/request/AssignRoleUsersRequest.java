@@ -0,0 +1,28 @@
+package com.basic.domain.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量为用户分配角色入参
+ *
+ * @author vains
+ */
+@Data
+@Schema(name = "AssignRoleUsersRequest", description = "批量为用户分配角色入参")
+public class AssignRoleUsersRequest implements Serializable {
+
+    @NotNull
+    @Schema(title = "角色 id", description = "角色 id")
+    private Long roleId;
+
+    @NotEmpty
+    @Schema(title = "用户 id列表", description = "用户 id列表")
+    private List<@NotNull Long> userIds;
+
+}
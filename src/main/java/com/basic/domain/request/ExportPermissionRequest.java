@@ -0,0 +1,42 @@
+package com.basic.domain.request;
+
+import com.basic.enums.PermissionTypeEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 导出权限入参
+ *
+ * @author vains
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(name = "ExportPermissionRequest", description = "导出权限入参")
+public class ExportPermissionRequest extends ExportRequest {
+
+    /**
+     * 权限名
+     */
+    @Schema(title = "权限名", description = "权限名")
+    private String name;
+
+    /**
+     * 权限码
+     */
+    @Schema(title = "权限码", description = "权限码")
+    private String permission;
+
+    /**
+     * 路径
+     */
+    @Schema(title = "路径", description = "路径")
+    private String path;
+
+    /**
+     * 菜单类型
+     */
+    @Schema(title = "菜单类型", description = "菜单类型")
+    private PermissionTypeEnum permissionType;
+
+}
@@ -0,0 +1,30 @@
+package com.basic.domain.request;
+
+import com.basic.enums.ExportFormatEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 导出入参
+ *
+ * @author vains
+ */
+@Data
+@Schema(title = "导出入参")
+public abstract class ExportRequest implements Serializable {
+
+    /**
+     * 导出格式
+     */
+    @Schema(title = "导出格式", description = "导出格式，默认为 csv")
+    private ExportFormatEnum format = ExportFormatEnum.CSV;
+
+    /**
+     * 是否压缩
+     */
+    @Schema(title = "是否压缩", description = "为 true 时响应使用 gzip 压缩(Content-Encoding: gzip)")
+    private Boolean gzip = Boolean.FALSE;
+
+}
@@ -1,5 +1,6 @@
 package com.basic.domain.response;
 
+import com.basic.annotation.DictLabel;
 import com.basic.enums.GenderEnum;
 import com.basic.enums.OAuth2AccountPlatformEnum;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -39,7 +40,8 @@ public class FindBasicUserResponse implements Serializable {
     @Schema(description = "邮箱是否验证过")
     private Boolean emailVerified;
 
-    @Schema(description = "用户性别")
+    @DictLabel("GENDER")
+    @Schema(description = "用户性别，同时返回性别名称 genderLabel")
     private GenderEnum gender;
 
     @Schema(title = "出生日期", description = "以 ISO 8601-1 [ISO8601‑1] YYYY-MM-DD 格式表示。")
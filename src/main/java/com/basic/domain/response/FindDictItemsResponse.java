@@ -0,0 +1,32 @@
+package com.basic.domain.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 字典类型及其启用的字典项
+ *
+ * @param typeCode 字典类型编码
+ * @param version  字典版本号，字典类型或字典项每次变更时递增
+ * @param items    启用的字典项，按排序值升序，不可修改
+ * @author vains
+ */
+@Schema(title = "FindDictItemsResponse", description = "字典类型及其启用的字典项")
+public record FindDictItemsResponse(
+
+        @Schema(title = "字典类型编码", description = "字典类型编码")
+        String typeCode,
+
+        @Schema(title = "字典版本号", description = "字典类型或字典项每次变更时递增，可用于前端缓存")
+        long version,
+
+        @Schema(title = "字典项列表", description = "启用的字典项，按排序值升序")
+        List<FindSysDictItemResponse> items) implements Serializable {
+
+    public FindDictItemsResponse {
+        items = List.copyOf(items);
+    }
+
+}
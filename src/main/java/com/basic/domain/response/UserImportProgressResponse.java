@@ -0,0 +1,46 @@
+package com.basic.domain.response;
+
+import com.basic.enums.ImportStatusEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 用户导入进度
+ *
+ * @author vains
+ */
+@Data
+@Schema(name = "UserImportProgressResponse", description = "用户导入进度")
+public class UserImportProgressResponse implements Serializable {
+
+    @Schema(description = "任务id")
+    private String taskId;
+
+    @Schema(description = "任务状态")
+    private ImportStatusEnum status;
+
+    @Schema(description = "已解析的行数")
+    private Long parsed;
+
+    @Schema(description = "校验失败的行数")
+    private Long invalid;
+
+    @Schema(description = "邮箱已被注册或在文件中重复的行数")
+    private Long duplicated;
+
+    @Schema(description = "已加密密码的行数")
+    private Long hashed;
+
+    @Schema(description = "已写入的用户数")
+    private Long inserted;
+
+    @Schema(description = "任务失败的原因")
+    private String message;
+
+    @Schema(description = "被跳过的行及原因，最多保留前 1000 条")
+    private List<String> errors;
+
+}
@@ -1,9 +1,9 @@
 package com.basic.enums;
 
+import com.basic.util.EnumRegistry;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -24,7 +24,7 @@ public interface BasicEnum<V extends Serializable, E extends Enum<E>> {
     V getValue();
 
     /**
-     * 根据子枚举和子枚举对应的入参值找到对应的枚举类型
+     * 根据子枚举和子枚举对应的入参值找到对应的枚举类型，通过 {@link EnumRegistry} 查表，入参与枚举值相等时才匹配
      *
      * @param value 子枚举中对应的值
      * @param clazz 子枚举类型
@@ -33,10 +33,12 @@ public interface BasicEnum<V extends Serializable, E extends Enum<E>> {
      * @param <E>   子枚举的类型
      * @return 返回 {@link BasicEnum} 对应的子类实例
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     static <B extends BasicEnum<V, E>, V extends Serializable, E extends Enum<E>> B fromValue(V value, Class<B> clazz) {
-        return Arrays.stream(clazz.getEnumConstants())
-                .filter(e -> Objects.equals(e.getValue(), value))
-                .findFirst().orElse(null);
+        EnumRegistry registry = EnumRegistry.of((Class) clazz);
+        Enum constant = registry.get(value);
+        // 查找表按数值或字符串比较，这里只接受与枚举值相等的入参
+        return constant != null && Objects.equals(registry.valueOf(constant), value) ? (B) constant : null;
     }
 
 }
@@ -0,0 +1,40 @@
+package com.basic.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 导出文件格式
+ *
+ * @author vains
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormatEnum implements BasicEnum<String, ExportFormatEnum> {
+
+    /**
+     * 逗号分隔，第一行为表头，UTF-8(带 BOM，Excel 可以直接打开)
+     */
+    CSV("csv", "text/csv;charset=UTF-8"),
+
+    /**
+     * 每行一个 JSON 对象，与查询接口返回的字段相同
+     */
+    NDJSON("ndjson", "application/x-ndjson");
+
+    /**
+     * 格式，同时作为文件扩展名
+     */
+    private final String format;
+
+    /**
+     * 响应的 Content-Type
+     */
+    private final String contentType;
+
+    @Override
+    public String getValue() {
+        return this.format;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.basic.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 导入任务状态
+ *
+ * @author vains
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImportStatusEnum implements BasicEnum<String, ImportStatusEnum> {
+
+    /**
+     * 已提交，等待执行
+     */
+    PENDING("pending", "等待执行"),
+
+    /**
+     * 执行中
+     */
+    RUNNING("running", "执行中"),
+
+    /**
+     * 已完成，无效与重复的行被跳过
+     */
+    COMPLETED("completed", "已完成"),
+
+    /**
+     * 执行失败，已写入的批次不回滚
+     */
+    FAILED("failed", "执行失败");
+
+    /**
+     * 状态
+     */
+    private final String status;
+
+    /**
+     * 状态描述
+     */
+    private final String description;
+
+    @Override
+    public String getValue() {
+        return this.status;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.basic.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 分页查询总条数的统计方式
+ *
+ * @author vains
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PageCountModeEnum implements BasicEnum<String, PageCountModeEnum> {
+
+    /**
+     * 每次查询都执行 COUNT 统计精确的总条数
+     */
+    EXACT("exact", "精确统计"),
+
+    /**
+     * 不统计总条数，根据是否有下一页翻页
+     */
+    NONE("none", "不统计"),
+
+    /**
+     * 相同查询条件的总条数缓存一段时间，期间新增或删除的数据不会体现在总条数中
+     */
+    CACHED("cached", "缓存统计结果"),
+
+    /**
+     * 没有查询条件时使用数据库的表统计信息估算总条数，有查询条件时同 {@link #CACHED}
+     */
+    ESTIMATED("estimated", "估算");
+
+    /**
+     * 统计方式
+     */
+    private final String mode;
+
+    /**
+     * 统计方式描述
+     */
+    private final String description;
+
+    @Override
+    public String getValue() {
+        return this.mode;
+    }
+
+}
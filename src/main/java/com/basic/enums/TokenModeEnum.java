@@ -0,0 +1,40 @@
+package com.basic.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * token 解析模式
+ *
+ * @author vains
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TokenModeEnum implements BasicEnum<String, TokenModeEnum> {
+
+    /**
+     * 每次请求根据 jti 从 Redis(本地缓存) 中获取用户信息
+     */
+    REDIS("redis", "Redis 会话模式"),
+
+    /**
+     * 权限信息与用户版本写入 jwt，请求时不读取 Redis，登出与权限变更通过吊销列表生效
+     */
+    STATELESS("stateless", "无状态模式");
+
+    /**
+     * 模式值
+     */
+    private final String mode;
+
+    /**
+     * 模式描述
+     */
+    private final String description;
+
+    @Override
+    public String getValue() {
+        return this.mode;
+    }
+
+}
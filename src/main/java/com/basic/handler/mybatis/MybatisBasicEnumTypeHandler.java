@@ -1,40 +1,36 @@
 package com.basic.handler.mybatis;
 
 import com.baomidou.mybatisplus.annotation.IEnum;
-import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
-import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.basic.enums.BasicEnum;
+import com.basic.util.EnumRegistry;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.ReflectorFactory;
-import org.apache.ibatis.reflection.invoker.Invoker;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
-import java.math.BigDecimal;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Arrays;
-import java.util.Objects;
 
 import static com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler.findEnumValueFieldName;
 
 /**
  * Mybatis Plus BasicEnum枚举处理器
  * 在原有{@link IEnum}的基础上添加{@link BasicEnum}的支持
- * 现有处理逻辑基本与{@link com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler} 一致
+ * 现有处理逻辑基本与{@link com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler} 一致，
+ * 枚举值与枚举的转换通过 {@link EnumRegistry} 查表，读取每行数据时不再遍历枚举与反射调用
  *
  * @author vains
  * @see com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler
  */
 public class MybatisBasicEnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E> {
 
-    private final Invoker getInvoker;
     private final Class<?> propertyType;
     private final Class<E> enumClassType;
+    private final EnumRegistry<E> registry;
 
     private static final ReflectorFactory REFLECTOR_FACTORY = new DefaultReflectorFactory();
 
@@ -51,7 +47,7 @@ public class MybatisBasicEnumTypeHandler<E extends Enum<E>> extends BaseTypeHand
                     new IllegalArgumentException(String.format("Could not find @EnumValue in Class: %s.", this.enumClassType.getName())));
         }
         this.propertyType = ReflectionKit.resolvePrimitiveIfNecessary(metaClass.getGetterType(name));
-        this.getInvoker = metaClass.getGetInvoker(name);
+        this.registry = EnumRegistry.of(enumClassType);
     }
 
 
@@ -92,35 +88,12 @@ public class MybatisBasicEnumTypeHandler<E extends Enum<E>> extends BaseTypeHand
         return this.valueOf(value);
     }
 
-    private Object getValue(Object object) {
-        try {
-            return this.getInvoker.invoke(object, new Object[0]);
-        } catch (ReflectiveOperationException e) {
-            throw ExceptionUtils.mpe(e);
-        }
+    private Object getValue(E object) {
+        return this.registry.valueOf(object);
     }
 
     private E valueOf(Object value) {
-        E[] es = this.enumClassType.getEnumConstants();
-        return Arrays.stream(es).filter((e) -> equalsValue(value, getValue(e))).findAny().orElse(null);
-    }
-
-    /**
-     * 值比较
-     *
-     * @param sourceValue 数据库字段值
-     * @param targetValue 当前枚举属性值
-     * @return 是否匹配
-     * @since 3.3.0
-     */
-    protected boolean equalsValue(Object sourceValue, Object targetValue) {
-        String sValue = StringUtils.toStringTrim(sourceValue);
-        String tValue = StringUtils.toStringTrim(targetValue);
-        if (sourceValue instanceof Number && targetValue instanceof Number
-                && new BigDecimal(sValue).compareTo(new BigDecimal(tValue)) == 0) {
-            return true;
-        }
-        return Objects.equals(sValue, tValue);
+        return this.registry.get(value);
     }
 
 }
@@ -0,0 +1,116 @@
+package com.basic.handler.security;
+
+import com.basic.domain.model.BitSetAuthorities;
+import com.basic.util.SecurityUtils;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PreAuthorize} 权限校验
+ * <p>
+ * 表达式只有 hasAuthority、hasAnyAuthority 时不解析 SpEL，直接通过用户的位图权限({@link BitSetAuthorities})判断，
+ * 校验耗时与用户拥有的权限数量无关；其它表达式交由 {@link PreAuthorizeAuthorizationManager} 处理。
+ * </p>
+ *
+ * @author vains
+ */
+public class BasicPreAuthorizeAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    /**
+     * hasAuthority('a')、hasAnyAuthority('a', 'b')
+     */
+    private static final Pattern AUTHORITY_EXPRESSION =
+            Pattern.compile("^\\s*has(Any)?Authority\\(\\s*('[^']*'(?:\\s*,\\s*'[^']*')*)\\s*\\)\\s*$");
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    private final PreAuthorizeAuthorizationManager delegate = new PreAuthorizeAuthorizationManager();
+
+    /**
+     * 方法 -> 需要的权限，表达式不是简单的权限判断时为空
+     */
+    private final Map<MethodClassKey, Optional<String[]>> requiredAuthorities = new ConcurrentHashMap<>();
+
+    public BasicPreAuthorizeAuthorizationManager(MethodSecurityExpressionHandler expressionHandler) {
+        this.delegate.setExpressionHandler(expressionHandler);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication, MethodInvocation invocation) {
+        Optional<String[]> required = this.getRequiredAuthorities(invocation);
+        if (required.isEmpty()) {
+            return this.delegate.authorize(authentication, invocation);
+        }
+        return new AuthorizationDecision(SecurityUtils.hasAnyAuthority(authentication.get(), required.get()));
+    }
+
+    private Optional<String[]> getRequiredAuthorities(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() == null ? null : AopUtils.getTargetClass(invocation.getThis());
+        return this.requiredAuthorities.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> parse(findExpression(method, targetClass)));
+    }
+
+    /**
+     * 查找方法上的 {@link PreAuthorize}，方法上没有时查找类上的
+     *
+     * @param method      方法
+     * @param targetClass 目标类
+     * @return 权限表达式，没有时返回 null
+     */
+    private static String findExpression(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (preAuthorize == null) {
+            Class<?> declaringClass = targetClass == null ? specificMethod.getDeclaringClass() : targetClass;
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(declaringClass, PreAuthorize.class);
+        }
+        return preAuthorize == null ? null : preAuthorize.value();
+    }
+
+    /**
+     * 解析简单的权限表达式
+     *
+     * @param expression 权限表达式
+     * @return 需要的权限，不是简单的权限表达式时返回空
+     */
+    private static Optional<String[]> parse(String expression) {
+        if (expression == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = AUTHORITY_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        List<String> authorities = new ArrayList<>();
+        Matcher quoted = QUOTED.matcher(matcher.group(2));
+        while (quoted.find()) {
+            authorities.add(quoted.group(1));
+        }
+        // hasAuthority 只允许一个参数，参数不正确时交由 SpEL 处理
+        if (matcher.group(1) == null && authorities.size() != 1) {
+            return Optional.empty();
+        }
+        return Optional.of(authorities.toArray(new String[0]));
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.basic.handler.security;
+
+import com.basic.cache.RequestPermissionIndex;
+import com.basic.cache.RequestPermissionIndex.RequestPermission;
+import com.basic.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.function.Supplier;
+
+/**
+ * 根据数据库中的接口权限校验请求
+ * <p>
+ * 所有请求都需要登录；请求在 {@link RequestPermissionIndex} 中有对应的接口权限并且需要鉴权时，用户还需要拥有对应的权限码。
+ * </p>
+ *
+ * @author vains
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestPermissionAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final RequestPermissionIndex requestPermissionIndex;
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+                                         RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (!TRUST_RESOLVER.isAuthenticated(current)) {
+            return new AuthorizationDecision(false);
+        }
+
+        HttpServletRequest request = context.getRequest();
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        RequestPermission permission = requestPermissionIndex.match(request.getMethod(), path);
+        if (permission == null || !permission.needAuthentication() || ObjectUtils.isEmpty(permission.permission())) {
+            return new AuthorizationDecision(true);
+        }
+        return new AuthorizationDecision(SecurityUtils.hasAnyAuthority(current, permission.permission()));
+    }
+
+}
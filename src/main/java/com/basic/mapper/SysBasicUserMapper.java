@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysBasicUser;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysBasicUser;
  * @author vains
  * @see com.basic.domain.entity.SysBasicUser
  */
-public interface SysBasicUserMapper extends BaseMapper<SysBasicUser> {
+public interface SysBasicUserMapper extends BasicMapper<SysBasicUser> {
 
 }
 
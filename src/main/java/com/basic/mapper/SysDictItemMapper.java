@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysDictItem;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysDictItem;
  * @author vains
  * @see com.basic.domain.entity.SysDictItem
  */
-public interface SysDictItemMapper extends BaseMapper<SysDictItem> {
+public interface SysDictItemMapper extends BasicMapper<SysDictItem> {
 
 }
 
@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysDictType;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysDictType;
  * @author vains
  * @see com.basic.domain.entity.SysDictType
  */
-public interface SysDictTypeMapper extends BaseMapper<SysDictType> {
+public interface SysDictTypeMapper extends BasicMapper<SysDictType> {
 
 }
 
@@ -1,7 +1,8 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysPermission;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 针对表【sys_permission(RBAC权限表)】的数据库操作Mapper
@@ -9,10 +10,22 @@ import com.basic.domain.entity.SysPermission;
  * @author vains
  * @see com.basic.domain.entity.SysPermission
  */
-public interface SysPermissionMapper extends BaseMapper<SysPermission> {
-
-}
-
+public interface SysPermissionMapper extends BasicMapper<SysPermission> {
 
+    /**
+     * 移动子树，将层级路径以 oldTreePath 开头的权限(包含节点自身)的路径前缀替换为 newTreePath
+     *
+     * @param oldTreePath 节点原来的层级路径
+     * @param newTreePath 节点新的层级路径
+     * @return 影响行数
+     */
+    int moveSubtree(@Param("oldTreePath") String oldTreePath, @Param("newTreePath") String newTreePath);
 
+    /**
+     * 根据 parent_id 重新计算所有权限的层级路径，父节点不存在的权限视为根节点
+     *
+     * @return 影响行数
+     */
+    int rebuildTreePaths();
 
+}
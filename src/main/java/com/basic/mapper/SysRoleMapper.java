@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysRole;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysRole;
  * @author vains
  * @see com.basic.domain.entity.SysRole
  */
-public interface SysRoleMapper extends BaseMapper<SysRole> {
+public interface SysRoleMapper extends BasicMapper<SysRole> {
 
 }
 
@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysRolePermission;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysRolePermission;
  * @author vains
  * @see com.basic.domain.entity.SysRolePermission
  */
-public interface SysRolePermissionMapper extends BaseMapper<SysRolePermission> {
+public interface SysRolePermissionMapper extends BasicMapper<SysRolePermission> {
 
 }
 
@@ -1,6 +1,6 @@
 package com.basic.mapper;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.basic.configuration.mybatis.BasicMapper;
 import com.basic.domain.entity.SysUserRole;
 
 /**
@@ -9,7 +9,7 @@ import com.basic.domain.entity.SysUserRole;
  * @author vains
  * @see com.basic.domain.entity.SysUserRole
  */
-public interface SysUserRoleMapper extends BaseMapper<SysUserRole> {
+public interface SysUserRoleMapper extends BasicMapper<SysUserRole> {
 
 }
 
@@ -0,0 +1,38 @@
+package com.basic.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * jwt 签名密钥配置
+ *
+ * @author vains
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "basic.cloud.security.jwk")
+public class JwkProperties {
+
+    /**
+     * 签名算法，支持 RS256、ES256，默认 ES256
+     */
+    private String algorithm = "ES256";
+
+    /**
+     * 密钥文件(JWK Set)路径，多节点部署时所有节点需要指向同一个文件(共享存储)
+     */
+    private String keystore = "./data/jwks.json";
+
+    /**
+     * 密钥轮换周期（天）
+     */
+    private long rotationPeriod = 30L;
+
+    /**
+     * 新密钥的预发布时间（秒）
+     * 新密钥生成后先只用于验签，经过该时间后才用于签名，保证所有节点都已加载新密钥
+     */
+    private long publishDelay = 300L;
+
+}
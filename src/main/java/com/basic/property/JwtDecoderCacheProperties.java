@@ -0,0 +1,23 @@
+package com.basic.property;
+
+import lombok.Data;
+
+/**
+ * 已验签 jwt 缓存配置
+ *
+ * @author vains
+ */
+@Data
+public class JwtDecoderCacheProperties {
+
+    /**
+     * 是否启用缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存的最大条目数，缓存的存活时间为 token 的剩余有效期
+     */
+    private long maximumSize = 10_000L;
+
+}
@@ -0,0 +1,29 @@
+package com.basic.property;
+
+import lombok.Data;
+
+/**
+ * 用户会话本地缓存(near-cache)配置
+ *
+ * @author vains
+ */
+@Data
+public class SessionNearCacheProperties {
+
+    /**
+     * 是否启用本地缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存的最大条目数
+     */
+    private long maximumSize = 10_000L;
+
+    /**
+     * 本地缓存的最长存活时间（秒），实际存活时间不会超过 token 的过期时间。
+     * 失效通知依赖 Redis 发布订阅，订阅断开期间丢失的通知由该时间兜底。
+     */
+    private long expire = 300L;
+
+}
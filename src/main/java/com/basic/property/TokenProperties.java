@@ -1,5 +1,6 @@
 package com.basic.property;
 
+import com.basic.enums.TokenModeEnum;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -14,6 +15,11 @@ import org.springframework.stereotype.Component;
 @ConfigurationProperties(prefix = "basic.cloud.security.token")
 public class TokenProperties {
 
+    /**
+     * token 解析模式，默认每次请求从 Redis(本地缓存) 中获取用户信息
+     */
+    private TokenModeEnum mode = TokenModeEnum.REDIS;
+
     /**
      * access token 过期时间（秒）
      */
@@ -30,9 +36,25 @@ public class TokenProperties {
      */
     private Long refreshTokenAbsoluteExpire = 30L;
 
+    /**
+     * Refresh Token 轮换后的宽限期（秒）
+     * 宽限期内使用已轮换的 Refresh Token 重复刷新时返回相同的新 token，避免并发刷新导致重新登录
+     */
+    private long refreshTokenGracePeriod = 10L;
+
     /**
      * jwt issuer
      */
     private String issuer;
 
+    /**
+     * 用户会话本地缓存配置
+     */
+    private SessionNearCacheProperties nearCache = new SessionNearCacheProperties();
+
+    /**
+     * 已验签 jwt 缓存配置
+     */
+    private JwtDecoderCacheProperties decoderCache = new JwtDecoderCacheProperties();
+
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.basic.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysBasicUser;
+import com.basic.domain.model.AssignmentChanges;
+import com.basic.domain.request.ExportBasicUserRequest;
 import com.basic.domain.request.FindBasicUserPageRequest;
 import com.basic.domain.request.SaveBasicUserRequest;
 import com.basic.domain.request.UpdateUserRolesRequest;
@@ -10,6 +12,7 @@ import com.basic.domain.response.AuthenticatedUserResponse;
 import com.basic.domain.response.FindBasicUserResponse;
 import jakarta.validation.Valid;
 
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,6 +31,14 @@ public interface SysBasicUserService extends IService<SysBasicUser> {
      */
     PageResult<FindBasicUserResponse> findByPage(@Valid FindBasicUserPageRequest request);
 
+    /**
+     * 流式导出基础用户信息，逐行查询并写入输出流，不在内存中保存查询结果，不开启事务
+     *
+     * @param request 导出入参
+     * @param out     输出流
+     */
+    void export(ExportBasicUserRequest request, OutputStream out);
+
     /**
      * 添加/修改用户信息(如果id不为空则是修改，否则是添加)
      *
@@ -43,11 +54,12 @@ public interface SysBasicUserService extends IService<SysBasicUser> {
     AuthenticatedUserResponse getLoginUserinfo();
 
     /**
-     * 更新用户角色
+     * 更新用户角色，只新增、删除有变化的角色
      *
      * @param request 更新用户角色入参
+     * @return 新增与移除的角色id
      */
-    void updateUserRoles(@Valid UpdateUserRolesRequest request);
+    AssignmentChanges updateUserRoles(@Valid UpdateUserRolesRequest request);
 
     /**
      * 根据用户 ID列表获取用户列表
@@ -5,12 +5,16 @@ import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysDictItem;
 import com.basic.domain.request.SysDictItemPageRequest;
 import com.basic.domain.request.SysDictItemRequest;
+import com.basic.domain.response.FindDictItemsResponse;
 import com.basic.domain.response.FindSysDictItemResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 针对表【sys_dict_item(字典项表)】的数据库操作Service
@@ -35,6 +39,14 @@ public interface SysDictItemService extends IService<SysDictItem> {
      */
     List<FindSysDictItemResponse> listByType(@NotBlank String typeCode);
 
+    /**
+     * 根据多个字典类型编码批量查询字典项
+     *
+     * @param typeCodes 字典类型编码列表
+     * @return 字典类型编码 -> 字典，不包含不存在的字典类型
+     */
+    Map<String, FindDictItemsResponse> listByTypes(@NotEmpty Collection<@NotBlank String> typeCodes);
+
     /**
      * 创建字典项
      *
@@ -51,4 +63,11 @@ public interface SysDictItemService extends IService<SysDictItem> {
      * @return 更新后的字典项信息
      */
     FindSysDictItemResponse updateDictItem(@NotNull Long id, @Valid SysDictItemRequest request);
+
+    /**
+     * 删除字典项
+     *
+     * @param id 字典项 ID
+     */
+    void delete(@NotNull Long id);
 }
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysPermission;
 import com.basic.domain.model.DynamicRouter;
+import com.basic.domain.request.ExportPermissionRequest;
 import com.basic.domain.request.FindPermissionPageRequest;
 import com.basic.domain.request.FindPermissionRequest;
 import com.basic.domain.request.SavePermissionRequest;
@@ -11,8 +12,11 @@ import com.basic.domain.response.FindPermissionResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import tools.jackson.databind.util.RawValue;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 针对表【sys_permission(RBAC权限表)】的数据库操作Service
@@ -29,6 +33,14 @@ public interface SysPermissionService extends IService<SysPermission> {
      */
     PageResult<FindPermissionResponse> findByPage(@Valid FindPermissionPageRequest request);
 
+    /**
+     * 流式导出权限信息，逐行查询并写入输出流，不在内存中保存查询结果，不开启事务
+     *
+     * @param request 导出入参
+     * @param out     输出流
+     */
+    void export(ExportPermissionRequest request, OutputStream out);
+
     /**
      * 查询权限信息列表
      *
@@ -78,18 +90,57 @@ public interface SysPermissionService extends IService<SysPermission> {
     /**
      * 检索当前用户的动态菜单路由器列表。
      *
-     * @return 包装 DynamicRouter 对象列表的结果，表示用户的菜单结构
+     * @return 包装 DynamicRouter 对象列表的结果，表示用户的菜单结构，每次调用返回新的实例
      */
     List<DynamicRouter> findUserRouters();
 
     /**
-     * 根据 用户id 查询权限列表
+     * 检索当前用户的动态菜单路由器列表，返回已序列化的 json，可以直接写入响应。
+     *
+     * @return 序列化后的 DynamicRouter 列表
+     */
+    RawValue findUserRoutersJson();
+
+    /**
+     * 查询权限及其所有后代权限
+     *
+     * @param id 权限id
+     * @return 权限自身及所有后代权限，权限不存在时返回空列表
+     */
+    List<SysPermission> findSubtree(Long id);
+
+    /**
+     * 查询权限的所有祖先权限
+     *
+     * @param id 权限id
+     * @return 由根节点到父节点排列的祖先权限
+     */
+    List<SysPermission> findAncestors(Long id);
+
+    /**
+     * 权限是否有子权限
+     *
+     * @param id 权限id
+     * @return 有子权限时返回 true
+     */
+    boolean hasChildren(Long id);
+
+    /**
+     * 根据 用户id 查询权限列表，RBAC 关系会被缓存，返回的权限在多个请求间共享，不应修改
      *
      * @param userId 角色 ID
      * @return 权限列表
      */
     List<SysPermission> findPermissionsByUserId(@NotNull Long userId);
 
+    /**
+     * 根据 用户id 查询接口权限标识，用于组装用户的权限信息
+     *
+     * @param userId 用户 ID
+     * @return 接口权限标识
+     */
+    Set<String> findAuthoritiesByUserId(@NotNull Long userId);
+
     /**
      * 根据 权限ID 删除权限，并删除所有子级
      *
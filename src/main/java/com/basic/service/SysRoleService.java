@@ -3,6 +3,8 @@ package com.basic.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysRole;
+import com.basic.domain.model.AssignmentChanges;
+import com.basic.domain.request.AssignRoleUsersRequest;
 import com.basic.domain.request.FindRolePageRequest;
 import com.basic.domain.request.FindRoleRequest;
 import com.basic.domain.request.SaveRoleRequest;
@@ -60,9 +62,18 @@ public interface SysRoleService extends IService<SysRole> {
     List<FindRoleResponse> findRoles(@Valid FindRoleRequest request);
 
     /**
-     * 变更角色权限
+     * 变更角色权限，只新增、删除有变化的权限
      *
      * @param request 变更角色权限入参
+     * @return 新增与移除的权限id
      */
-    void updateRolePermissions(@Valid UpdateRolePermissionsRequest request);
+    AssignmentChanges updateRolePermissions(@Valid UpdateRolePermissionsRequest request);
+
+    /**
+     * 批量为用户分配角色，已拥有该角色的用户不变
+     *
+     * @param request 批量为用户分配角色入参
+     * @return 新分配该角色的用户id
+     */
+    AssignmentChanges assignUsers(@Valid AssignRoleUsersRequest request);
 }
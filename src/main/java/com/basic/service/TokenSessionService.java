@@ -0,0 +1,53 @@
+package com.basic.service;
+
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.domain.model.RotatedTokenInfo;
+
+import java.time.Instant;
+
+/**
+ * 令牌会话存储接口
+ *
+ * @author vains
+ */
+public interface TokenSessionService {
+
+    /**
+     * 签发令牌时一次性保存令牌会话与刷新令牌，要么全部写入，要么全部不写入
+     *
+     * @param jti                令牌唯一id
+     * @param refreshToken       刷新令牌
+     * @param userDetails        用户信息
+     * @param absoluteExpireTime 刷新令牌的绝对过期时间戳（毫秒）
+     */
+    void saveTokens(String jti, String refreshToken, BasicUserDetails userDetails, long absoluteExpireTime);
+
+    /**
+     * 轮换刷新令牌：校验并作废旧的刷新令牌，同时保存新的令牌会话与刷新令牌；
+     * 宽限期内重复使用已轮换的刷新令牌时返回第一次轮换的结果
+     *
+     * @param refreshToken    旧的刷新令牌
+     * @param newRefreshToken 新的刷新令牌
+     * @param newJti          新的令牌唯一id
+     * @param issuedAt        新令牌的签发时间
+     * @param expiresAt       新令牌的过期时间
+     * @return 轮换结果
+     */
+    RotatedTokenInfo rotate(String refreshToken, String newRefreshToken, String newJti, Instant issuedAt, Instant expiresAt);
+
+    /**
+     * 根据令牌唯一id获取用户信息，一次调用完成
+     *
+     * @param jti 令牌唯一id
+     * @return 用户信息，会话不存在时返回 null
+     */
+    BasicUserDetails load(String jti);
+
+    /**
+     * 删除用户的所有令牌会话
+     *
+     * @param userId 用户id
+     */
+    void removeByUserId(Long userId);
+
+}
@@ -0,0 +1,32 @@
+package com.basic.service;
+
+import com.basic.domain.response.UserImportProgressResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * 批量导入用户 Service 接口
+ *
+ * @author vains
+ */
+public interface UserImportService {
+
+    /**
+     * 提交导入任务，文件在后台逐块解析、校验、查重、加密密码并写入
+     *
+     * @param file    csv(首行为表头，列名为 {@code SaveBasicUserRequest} 的属性名) 或 ndjson 文件
+     * @param roleIds 分配给导入用户的角色id，可以为空
+     * @return 任务id
+     */
+    String submit(MultipartFile file, List<Long> roleIds);
+
+    /**
+     * 查询导入进度
+     *
+     * @param taskId 任务id
+     * @return 导入进度，任务不存在、已过期或不是当前用户提交时返回 null
+     */
+    UserImportProgressResponse progress(String taskId);
+
+}
@@ -0,0 +1,165 @@
+package com.basic.service.impl;
+
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.domain.model.RotatedTokenInfo;
+import com.basic.property.TokenProperties;
+import com.basic.service.TokenSessionService;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.basic.constant.AuthorizeConstants.AUTHENTICATION_PREFIX;
+import static com.basic.constant.AuthorizeConstants.SESSION_PREFIX;
+import static com.basic.constant.AuthorizeConstants.USER_SESSIONS_PREFIX;
+
+/**
+ * 基于redis的令牌会话存储
+ * <p>
+ * 每个令牌的用户信息快照直接存储在以 jti 为 key 的缓存中，解析令牌时只需一次 GET；
+ * 同时按用户维护以会话过期时间排序的 jti 集合，用于登出时清除该用户的所有会话，写入时清除其中已过期的 jti。
+ * 签发令牌时的所有写入通过一个 Lua 脚本完成，只需一次往返，并且不会因部分写入失败留下孤立的 key；
+ * 刷新令牌与绝对过期时间存储在同一个 hash 中，轮换同样通过一个 Lua 脚本原子完成。
+ * 脚本访问的 key 没有共同的 hash tag，不能在 Redis Cluster 中执行。
+ * </p>
+ *
+ * @author vains
+ */
+@Service
+public class RedisTokenSessionService implements TokenSessionService {
+
+    private final TokenProperties tokenProperties;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final RedisTemplate<String, BasicUserDetails> userRedisTemplate;
+
+    /**
+     * 签发令牌脚本
+     */
+    private final RedisScript<Long> issueScript;
+
+    /**
+     * 刷新令牌轮换脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> rotateScript;
+
+    public RedisTokenSessionService(TokenProperties tokenProperties,
+                                    RedisTemplate<String, String> stringRedisTemplate,
+                                    RedisTemplate<String, BasicUserDetails> userRedisTemplate) {
+        this.tokenProperties = tokenProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userRedisTemplate = userRedisTemplate;
+        this.issueScript = DefaultRedisScript.of(new ClassPathResource("scripts/token-issue.lua"), Long.class);
+        this.rotateScript = DefaultRedisScript.of(new ClassPathResource("scripts/token-rotate.lua"), List.class);
+    }
+
+    @Override
+    public void saveTokens(String jti, String refreshToken, BasicUserDetails userDetails, long absoluteExpireTime) {
+        List<String> keys = List.of(SESSION_PREFIX + jti, USER_SESSIONS_PREFIX + userDetails.getId(),
+                AUTHENTICATION_PREFIX + refreshToken);
+        stringRedisTemplate.execute(issueScript, RedisSerializer.byteArray(), null, keys,
+                serializeUser(userDetails), bytes(jti), bytes(tokenProperties.getAccessTokenExpire()),
+                bytes(absoluteExpireTime), bytes(refreshExpire(absoluteExpireTime)), bytes(userDetails.getId()),
+                bytes(System.currentTimeMillis()));
+    }
+
+    @Override
+    public RotatedTokenInfo rotate(String refreshToken, String newRefreshToken, String newJti, Instant issuedAt, Instant expiresAt) {
+        String refreshKey = AUTHENTICATION_PREFIX + refreshToken;
+        List<String> keys = List.of(refreshKey, refreshKey + ":rotated",
+                AUTHENTICATION_PREFIX + newRefreshToken, SESSION_PREFIX + newJti);
+        List<?> result = stringRedisTemplate.execute(rotateScript, RedisSerializer.byteArray(), null, keys,
+                bytes(System.currentTimeMillis()), bytes(newRefreshToken), bytes(newJti),
+                bytes(tokenProperties.getAccessTokenExpire()),
+                bytes(TimeUnit.DAYS.toSeconds(tokenProperties.getRefreshTokenExpire())),
+                bytes(tokenProperties.getRefreshTokenGracePeriod()), bytes(SESSION_PREFIX), bytes(USER_SESSIONS_PREFIX),
+                bytes(issuedAt.getEpochSecond()), bytes(expiresAt.getEpochSecond()));
+
+        long status = ObjectUtils.isEmpty(result) ? 0 : (Long) result.getFirst();
+        if (status == 1) {
+            throw new AuthenticationServiceException("refresh token 已过期，请重新登录");
+        }
+        if (status != 2 && status != 3) {
+            throw new AuthenticationServiceException("refresh token invalid");
+        }
+
+        RotatedTokenInfo rotated = new RotatedTokenInfo();
+        rotated.setUserDetails(deserializeUser((byte[]) result.get(1)));
+        if (status == 2) {
+            rotated.setRefreshToken(newRefreshToken);
+            rotated.setJti(newJti);
+            rotated.setIssuedAt(issuedAt);
+            rotated.setExpiresAt(expiresAt);
+        } else {
+            // 宽限期内的重复刷新，返回已轮换的令牌
+            rotated.setRefreshToken(string(result.get(2)));
+            rotated.setJti(string(result.get(3)));
+            rotated.setIssuedAt(Instant.ofEpochSecond(Long.parseLong(string(result.get(4)))));
+            rotated.setExpiresAt(Instant.ofEpochSecond(Long.parseLong(string(result.get(5)))));
+        }
+        return rotated;
+    }
+
+    @Override
+    public BasicUserDetails load(String jti) {
+        if (ObjectUtils.isEmpty(jti)) {
+            return null;
+        }
+        return userRedisTemplate.opsForValue().get(SESSION_PREFIX + jti);
+    }
+
+    @Override
+    public void removeByUserId(Long userId) {
+        String userSessionsKey = USER_SESSIONS_PREFIX + userId;
+        Set<String> jtiSet = stringRedisTemplate.opsForZSet().range(userSessionsKey, 0, -1);
+        List<String> keys = new ArrayList<>();
+        keys.add(userSessionsKey);
+        if (!ObjectUtils.isEmpty(jtiSet)) {
+            jtiSet.forEach(jti -> keys.add(SESSION_PREFIX + jti));
+        }
+        stringRedisTemplate.delete(keys);
+    }
+
+    /**
+     * 计算刷新令牌的有效期（秒），取单次有效期与剩余绝对有效期中较小的一个
+     *
+     * @param absoluteExpireTime 绝对过期时间戳（毫秒）
+     * @return 刷新令牌的有效期（秒）
+     */
+    private long refreshExpire(long absoluteExpireTime) {
+        long remaining = TimeUnit.MILLISECONDS.toSeconds(absoluteExpireTime - System.currentTimeMillis());
+        return Math.max(1, Math.min(TimeUnit.DAYS.toSeconds(tokenProperties.getRefreshTokenExpire()), remaining));
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeUser(BasicUserDetails userDetails) {
+        return ((RedisSerializer<BasicUserDetails>) userRedisTemplate.getValueSerializer()).serialize(userDetails);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BasicUserDetails deserializeUser(byte[] bytes) {
+        return ((RedisSerializer<BasicUserDetails>) userRedisTemplate.getValueSerializer()).deserialize(bytes);
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(Object value) {
+        return new String((byte[]) value, StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,33 +1,45 @@
 package com.basic.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.basic.cache.RbacGraphCache;
+import com.basic.cache.TokenRevocationCache;
+import com.basic.configuration.mybatis.KeysetSort;
+import com.basic.configuration.mybatis.PageQueryExecutor;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysBasicUser;
 import com.basic.domain.entity.SysUserRole;
+import com.basic.domain.model.AssignmentChanges;
 import com.basic.domain.model.BasicUserDetails;
+import com.basic.domain.model.ExportColumn;
+import com.basic.domain.request.ExportBasicUserRequest;
 import com.basic.domain.request.FindBasicUserPageRequest;
 import com.basic.domain.request.SaveBasicUserRequest;
 import com.basic.domain.request.UpdateUserRolesRequest;
 import com.basic.domain.response.AuthenticatedUserResponse;
 import com.basic.domain.response.FindBasicUserResponse;
+import com.basic.enums.GenderEnum;
 import com.basic.enums.OAuth2AccountPlatformEnum;
+import com.basic.enums.TokenModeEnum;
 import com.basic.exception.CloudIllegalArgumentException;
 import com.basic.mapper.SysBasicUserMapper;
 import com.basic.mapper.SysUserRoleMapper;
+import com.basic.property.TokenProperties;
 import com.basic.service.FileService;
 import com.basic.service.SysBasicUserService;
+import com.basic.util.BeanCopyUtils;
+import com.basic.util.ExportWriter;
 import com.basic.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -43,36 +55,67 @@ import java.util.Optional;
 public class SysBasicUserServiceImpl extends ServiceImpl<SysBasicUserMapper, SysBasicUser>
         implements SysBasicUserService {
 
+    /**
+     * 导出 csv 的列
+     */
+    private static final List<ExportColumn<FindBasicUserResponse>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("ID", FindBasicUserResponse::getId),
+            ExportColumn.of("账号", FindBasicUserResponse::getUsername),
+            ExportColumn.of("昵称", FindBasicUserResponse::getNickname),
+            ExportColumn.of("邮箱", FindBasicUserResponse::getEmail),
+            ExportColumn.of("手机号", FindBasicUserResponse::getPhoneNumber),
+            ExportColumn.of("性别", e -> e.getGender() == null ? null : e.getGender().getName()),
+            ExportColumn.of("出生日期", FindBasicUserResponse::getBirthdate),
+            ExportColumn.of("地址", FindBasicUserResponse::getAddress),
+            ExportColumn.of("账号来源", e -> e.getAccountPlatform() == null ? null
+                    : e.getAccountPlatform().getDescription()),
+            ExportColumn.of("创建时间", FindBasicUserResponse::getCreateTime),
+            ExportColumn.of("修改时间", FindBasicUserResponse::getUpdateTime)
+    );
+
     private final FileService fileService;
 
     private final PasswordEncoder passwordEncoder;
 
     private final SysUserRoleMapper sysUserRoleMapper;
 
+    private final TokenRevocationCache tokenRevocationCache;
+
+    private final RbacGraphCache rbacGraphCache;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
+    private final JsonMapper jsonMapper;
+
+    private final TokenProperties tokenProperties;
+
     @Override
     public PageResult<FindBasicUserResponse> findByPage(FindBasicUserPageRequest request) {
         // 条件构造器
-        LambdaQueryWrapper<SysBasicUser> wrapper = Wrappers.lambdaQuery(SysBasicUser.class)
-                .like(!ObjectUtils.isEmpty(request.getNickname()), SysBasicUser::getNickname,
-                        request.getNickname())
-                .like(!ObjectUtils.isEmpty(request.getEmail()), SysBasicUser::getEmail,
-                        request.getEmail())
-                .eq(!ObjectUtils.isEmpty(request.getGender()), SysBasicUser::getGender,
-                        request.getGender())
-                .orderByDesc(SysBasicUser::getCreateTime);
-
-        Page<SysBasicUser> objectPage = Page.of(request.getCurrent(), request.getSize());
-
-        Page<SysBasicUser> basicUserPage = this.page(objectPage, wrapper);
+        LambdaQueryWrapper<SysBasicUser> wrapper = this.queryWrapper(request.getNickname(), request.getEmail(),
+                request.getGender());
 
         // 转为响应 bean
-        IPage<FindBasicUserResponse> converted = basicUserPage.convert(e -> {
+        return pageQueryExecutor.page(this.baseMapper, wrapper, request,
+                KeysetSort.desc(SysBasicUser::getCreateTime, SysBasicUser::getId, LocalDateTime::parse), e -> {
+                    FindBasicUserResponse basicUserResponse = new FindBasicUserResponse();
+                    BeanCopyUtils.copyProperties(e, basicUserResponse);
+                    return basicUserResponse;
+                });
+    }
+
+    @Override
+    public void export(ExportBasicUserRequest request, OutputStream out) {
+        LambdaQueryWrapper<SysBasicUser> wrapper = this.queryWrapper(request.getNickname(), request.getEmail(),
+                request.getGender()).orderByAsc(SysBasicUser::getId);
+        ExportWriter<FindBasicUserResponse> writer = ExportWriter.of(request.getFormat(), out, EXPORT_COLUMNS,
+                jsonMapper);
+        this.baseMapper.selectStream(wrapper, context -> {
             FindBasicUserResponse basicUserResponse = new FindBasicUserResponse();
-            BeanUtils.copyProperties(e, basicUserResponse);
-            return basicUserResponse;
+            BeanCopyUtils.copyProperties(context.getResultObject(), basicUserResponse);
+            writer.write(basicUserResponse);
         });
-
-        return PageResult.of(converted.getCurrent(), converted.getSize(), converted.getTotal(), converted.getRecords());
+        writer.finish();
     }
 
     @Override
@@ -89,7 +132,7 @@ public class SysBasicUserServiceImpl extends ServiceImpl<SysBasicUserMapper, Sys
 
         // 组装用户信息
         SysBasicUser sysBasicUser = new SysBasicUser();
-        BeanUtils.copyProperties(request, sysBasicUser);
+        BeanCopyUtils.copyProperties(request, sysBasicUser);
 
         // 插入时初始化 id与密码
         if (!hasId) {
@@ -148,7 +191,16 @@ public class SysBasicUserServiceImpl extends ServiceImpl<SysBasicUserMapper, Sys
             return userResponse;
         }
 
-        BeanUtils.copyProperties(loginUser, userResponse);
+        if (tokenProperties.getMode() == TokenModeEnum.STATELESS) {
+            // 无状态模式下 token 中只有基础信息，从数据库中获取完整的用户信息
+            SysBasicUser basicUser = this.getById(loginUser.getId());
+            if (basicUser != null) {
+                BeanCopyUtils.copyProperties(basicUser, userResponse);
+            }
+            return userResponse;
+        }
+
+        BeanCopyUtils.copyProperties(loginUser, userResponse);
 
         // 暂时不返回权限
         userResponse.setAuthorities(null);
@@ -157,27 +209,51 @@ public class SysBasicUserServiceImpl extends ServiceImpl<SysBasicUserMapper, Sys
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void updateUserRoles(UpdateUserRolesRequest request) {
-        SysBasicUser basicUser = this.getById(request.getUserId());
+    public AssignmentChanges updateUserRoles(UpdateUserRolesRequest request) {
+        // 锁定用户，避免并发修改时基于同一份旧数据计算差异
+        SysBasicUser basicUser = this.lambdaQuery()
+                .eq(SysBasicUser::getId, request.getUserId())
+                .last("FOR UPDATE")
+                .one();
         if (basicUser == null) {
             throw new CloudIllegalArgumentException("用户不存在.");
         }
-        // 删除用户原有的角色
-        LambdaQueryWrapper<SysUserRole> deleteWrapper = Wrappers.lambdaQuery(SysUserRole.class)
-                .eq(SysUserRole::getUserId, basicUser.getId());
-        sysUserRoleMapper.delete(deleteWrapper);
-        // 转为用户角色关联实体
-        List<SysUserRole> userRoles = request.getRoleIds().stream().map(id -> {
-            SysUserRole userRole = new SysUserRole();
-            userRole.setUserId(request.getUserId());
-            userRole.setRoleId(id);
-            return userRole;
-        }).toList();
-
-        if (ObjectUtils.isEmpty(userRoles)) {
-            return;
+
+        // 只新增、删除有变化的角色
+        List<Long> currentRoleIds = sysUserRoleMapper.selectList(Wrappers.lambdaQuery(SysUserRole.class)
+                        .select(SysUserRole::getRoleId)
+                        .eq(SysUserRole::getUserId, basicUser.getId()))
+                .stream()
+                .map(SysUserRole::getRoleId)
+                .toList();
+        AssignmentChanges changes = AssignmentChanges.diff(currentRoleIds, request.getRoleIds());
+        if (changes.unchanged()) {
+            return changes;
+        }
+
+        if (!changes.removed().isEmpty()) {
+            LambdaQueryWrapper<SysUserRole> deleteWrapper = Wrappers.lambdaQuery(SysUserRole.class)
+                    .eq(SysUserRole::getUserId, basicUser.getId())
+                    .in(SysUserRole::getRoleId, changes.removed());
+            sysUserRoleMapper.delete(deleteWrapper);
+        }
+        if (!changes.added().isEmpty()) {
+            // 转为用户角色关联实体
+            List<SysUserRole> userRoles = changes.added().stream().map(id -> {
+                SysUserRole userRole = new SysUserRole();
+                userRole.setUserId(basicUser.getId());
+                userRole.setRoleId(id);
+                return userRole;
+            }).toList();
+            // 多行插入，一条语句写入一批
+            sysUserRoleMapper.insertBatch(userRoles);
         }
-        sysUserRoleMapper.insert(userRoles);
+
+        // 用户角色变更，各节点更新 RBAC 快照后清除缓存的用户信息，无状态模式下吊销已签发的 token；
+        // 均在事务提交后执行，先更新 RBAC 快照再吊销，吊销后刷新令牌时加载的是新的权限
+        rbacGraphCache.userRolesChanged(List.of(basicUser.getId()));
+        tokenRevocationCache.revoke(List.of(basicUser.getId()));
+        return changes;
     }
 
     @Override
@@ -186,12 +262,24 @@ public class SysBasicUserServiceImpl extends ServiceImpl<SysBasicUserMapper, Sys
         return sysBasicUsers.stream()
                 .map(u -> {
                     FindBasicUserResponse basicUserResponse = new FindBasicUserResponse();
-                    BeanUtils.copyProperties(u, basicUserResponse);
+                    BeanCopyUtils.copyProperties(u, basicUserResponse);
                     return basicUserResponse;
                 }).toList();
     }
-}
-
-
 
+    /**
+     * 分页查询与导出共用的查询条件
+     *
+     * @param nickname 昵称
+     * @param email    邮箱
+     * @param gender   性别
+     * @return 查询条件
+     */
+    private LambdaQueryWrapper<SysBasicUser> queryWrapper(String nickname, String email, GenderEnum gender) {
+        return Wrappers.lambdaQuery(SysBasicUser.class)
+                .like(!ObjectUtils.isEmpty(nickname), SysBasicUser::getNickname, nickname)
+                .like(!ObjectUtils.isEmpty(email), SysBasicUser::getEmail, email)
+                .eq(!ObjectUtils.isEmpty(gender), SysBasicUser::getGender, gender);
+    }
 
+}
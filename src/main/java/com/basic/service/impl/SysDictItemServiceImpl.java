@@ -2,28 +2,31 @@ package com.basic.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.basic.cache.DictionaryStore;
+import com.basic.configuration.mybatis.KeysetSort;
+import com.basic.configuration.mybatis.PageQueryExecutor;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysDictItem;
 import com.basic.domain.entity.SysDictType;
 import com.basic.domain.request.SysDictItemPageRequest;
 import com.basic.domain.request.SysDictItemRequest;
+import com.basic.domain.response.FindDictItemsResponse;
 import com.basic.domain.response.FindSysDictItemResponse;
-import com.basic.enums.StatusEnum;
 import com.basic.exception.CloudServiceException;
 import com.basic.mapper.SysDictItemMapper;
 import com.basic.mapper.SysDictTypeMapper;
 import com.basic.service.SysDictItemService;
+import com.basic.util.BeanCopyUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 针对表【sys_dict_item(字典项表)】的数据库操作Service实现
@@ -38,54 +41,42 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
 
     private final SysDictTypeMapper sysDictTypeMapper;
 
+    private final DictionaryStore dictionaryStore;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
     @Override
     public PageResult<FindSysDictItemResponse> pageQuery(SysDictItemPageRequest request) {
         // 条件构造器
         LambdaQueryWrapper<SysDictItem> wrapper = Wrappers.lambdaQuery(SysDictItem.class)
                 .eq(!ObjectUtils.isEmpty(request.getStatus()), SysDictItem::getStatus, request.getStatus())
                 .eq(!ObjectUtils.isEmpty(request.getTypeCode()), SysDictItem::getTypeCode, request.getTypeCode())
-                .like(!ObjectUtils.isEmpty(request.getKeyword()), SysDictItem::getItemCode, request.getKeyword())
-                .or()
-                .like(!ObjectUtils.isEmpty(request.getKeyword()), SysDictItem::getItemName, request.getKeyword());
-
-        // 分页
-        Page<SysDictItem> objectPage = Page.of(request.getCurrent(), request.getSize());
-
-        Page<SysDictItem> dictItemPage = this.page(objectPage, wrapper);
+                .and(!ObjectUtils.isEmpty(request.getKeyword()), w -> w
+                        .like(SysDictItem::getItemCode, request.getKeyword())
+                        .or()
+                        .like(SysDictItem::getItemName, request.getKeyword()));
 
         // 转为响应 bean
-        IPage<FindSysDictItemResponse> converted = dictItemPage.convert(e -> {
-            FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
-            BeanUtils.copyProperties(e, dictItemResponse);
-            return dictItemResponse;
-        });
-
-        return PageResult.of(converted.getCurrent(), converted.getSize(), converted.getTotal(), converted.getRecords());
+        return pageQueryExecutor.page(this.baseMapper, wrapper, request,
+                KeysetSort.asc(SysDictItem::getSortOrder, SysDictItem::getId, Integer::valueOf), e -> {
+                    FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
+                    BeanCopyUtils.copyProperties(e, dictItemResponse);
+                    return dictItemResponse;
+                });
     }
 
     @Override
     public List<FindSysDictItemResponse> listByType(String typeCode) {
-        // 验证字典类型是否存在
-        LambdaQueryWrapper<SysDictType> wrapper = Wrappers.lambdaQuery(SysDictType.class)
-                .eq(SysDictType::getTypeCode, typeCode);
-        SysDictType dictType = sysDictTypeMapper.selectOne(wrapper);
-        if (dictType == null) {
+        FindDictItemsResponse dictionary = dictionaryStore.get(typeCode);
+        if (dictionary == null) {
             throw new CloudServiceException("字典类型不存在，类型编码：" + typeCode);
         }
+        return dictionary.items();
+    }
 
-        LambdaQueryWrapper<SysDictItem> itemWrapper = Wrappers.lambdaQuery(SysDictItem.class)
-                .eq(SysDictItem::getStatus, StatusEnum.ENABLE.getCode())
-                .eq(SysDictItem::getTypeCode, dictType.getTypeCode())
-                .orderByAsc(SysDictItem::getSortOrder);
-
-        List<SysDictItem> dictItems = this.list(itemWrapper);
-
-        return dictItems.stream()
-                .map(e -> {
-                    FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
-                    BeanUtils.copyProperties(e, dictItemResponse);
-                    return dictItemResponse;
-                }).toList();
+    @Override
+    public Map<String, FindDictItemsResponse> listByTypes(Collection<String> typeCodes) {
+        return dictionaryStore.getAll(typeCodes);
     }
 
     @Override
@@ -100,21 +91,19 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
 
         // 检查同一字典类型下是否存在相同的字典项键
         LambdaQueryWrapper<SysDictItem> itemWrapper = Wrappers.lambdaQuery(SysDictItem.class)
-                .ne(SysDictItem::getTypeCode, dictType.getTypeCode())
-                .orderByAsc(SysDictItem::getSortOrder);
-
-        List<SysDictItem> existingItems = this.list(itemWrapper);
+                .eq(SysDictItem::getTypeCode, dictType.getTypeCode())
+                .eq(SysDictItem::getItemCode, request.getItemCode());
 
-        boolean keyExists = existingItems.stream()
-                .anyMatch(item -> item.getItemCode().equals(request.getItemCode()));
+        boolean keyExists = this.exists(itemWrapper);
 
         if (keyExists) {
             throw new CloudServiceException("字典项在类型 [ " + dictType.getTypeCode() + " ] 中已存在：" + request.getItemCode());
         }
 
         SysDictItem dictItem = new SysDictItem();
-        BeanUtils.copyProperties(request, dictItem);
+        BeanCopyUtils.copyProperties(request, dictItem);
         this.save(dictItem);
+        dictionaryStore.changed(dictItem.getTypeCode());
 
         if (log.isDebugEnabled()) {
             log.debug("创建字典项成功，ID：{}，字典类型：{}，字典项键：{}",
@@ -122,7 +111,7 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
         }
 
         FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
-        BeanUtils.copyProperties(dictItem, dictItemResponse);
+        BeanCopyUtils.copyProperties(dictItem, dictItemResponse);
         return dictItemResponse;
     }
 
@@ -151,6 +140,9 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
             throw new CloudServiceException("字典项键已存在：" + request.getItemCode());
         }
 
+        // 记录原类型编码，字典项移动到其它类型时两个类型都需要重新加载
+        String originalTypeCode = existingDictItem.getTypeCode();
+
         // 更新字典项信息
         existingDictItem.setTypeCode(request.getTypeCode());
         existingDictItem.setItemCode(request.getItemCode());
@@ -160,6 +152,7 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
         existingDictItem.setI18nJson(request.getI18nJson());
 
         this.updateById(existingDictItem);
+        dictionaryStore.changed(originalTypeCode, existingDictItem.getTypeCode());
 
         if (log.isDebugEnabled()) {
             log.debug("更新字典项成功，ID：{}，字典类型：{}，字典项键：{}",
@@ -167,11 +160,21 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
         }
 
         FindSysDictItemResponse dictItemResponse = new FindSysDictItemResponse();
-        BeanUtils.copyProperties(existingDictItem, dictItemResponse);
+        BeanCopyUtils.copyProperties(existingDictItem, dictItemResponse);
         return dictItemResponse;
     }
-}
-
 
+    @Override
+    public void delete(Long id) {
+        SysDictItem dictItem = this.getOptById(id)
+                .orElseThrow(() -> new CloudServiceException("字典项不存在，ID：" + id));
 
+        this.removeById(id);
+        dictionaryStore.changed(dictItem.getTypeCode());
 
+        if (log.isDebugEnabled()) {
+            log.debug("删除字典项成功，ID：{}，字典类型：{}，字典项键：{}",
+                    dictItem.getId(), dictItem.getTypeCode(), dictItem.getItemCode());
+        }
+    }
+}
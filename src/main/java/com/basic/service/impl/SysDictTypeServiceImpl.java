@@ -3,10 +3,11 @@ package com.basic.service.impl;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.basic.cache.DictionaryStore;
+import com.basic.configuration.mybatis.KeysetSort;
+import com.basic.configuration.mybatis.PageQueryExecutor;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysDictItem;
 import com.basic.domain.entity.SysDictType;
@@ -17,13 +18,16 @@ import com.basic.exception.CloudServiceException;
 import com.basic.mapper.SysDictItemMapper;
 import com.basic.mapper.SysDictTypeMapper;
 import com.basic.service.SysDictTypeService;
+import com.basic.util.BeanCopyUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -39,6 +43,10 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
 
     private final SysDictItemMapper sysDictItemMapper;
 
+    private final DictionaryStore dictionaryStore;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
     @Override
     public List<FindSysDictTypeResponse> listAll() {
         LambdaQueryWrapper<SysDictType> wrapper = Wrappers.lambdaQuery(SysDictType.class).orderByDesc(SysDictType::getCreateTime);
@@ -46,7 +54,7 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
                 .stream()
                 .map(e -> {
                     FindSysDictTypeResponse response = new FindSysDictTypeResponse();
-                    BeanUtils.copyProperties(e, response);
+                    BeanCopyUtils.copyProperties(e, response);
                     return response;
                 }).toList();
     }
@@ -55,23 +63,18 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
     public PageResult<FindSysDictTypeResponse> pageQuery(SysDictTypePageRequest request) {
         // 条件构造器
         LambdaQueryWrapper<SysDictType> wrapper = Wrappers.lambdaQuery(SysDictType.class)
-                .like(!ObjectUtils.isEmpty(request.getKeyword()), SysDictType::getName, request.getKeyword())
-                .or()
-                .like(!ObjectUtils.isEmpty(request.getKeyword()), SysDictType::getTypeCode, request.getKeyword());
-
-        // 分页
-        Page<SysDictType> objectPage = Page.of(request.getCurrent(), request.getSize());
-
-        Page<SysDictType> dictTypesPage = this.page(objectPage, wrapper);
+                .and(!ObjectUtils.isEmpty(request.getKeyword()), w -> w
+                        .like(SysDictType::getName, request.getKeyword())
+                        .or()
+                        .like(SysDictType::getTypeCode, request.getKeyword()));
 
         // 转为响应 bean
-        IPage<FindSysDictTypeResponse> converted = dictTypesPage.convert(e -> {
-            FindSysDictTypeResponse dictTypeResponse = new FindSysDictTypeResponse();
-            BeanUtils.copyProperties(e, dictTypeResponse);
-            return dictTypeResponse;
-        });
-
-        return PageResult.of(converted.getCurrent(), converted.getSize(), converted.getTotal(), converted.getRecords());
+        return pageQueryExecutor.page(this.baseMapper, wrapper, request,
+                KeysetSort.desc(SysDictType::getCreateTime, SysDictType::getId, LocalDateTime::parse), e -> {
+                    FindSysDictTypeResponse dictTypeResponse = new FindSysDictTypeResponse();
+                    BeanCopyUtils.copyProperties(e, dictTypeResponse);
+                    return dictTypeResponse;
+                });
     }
 
     @Override
@@ -85,20 +88,22 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         }
 
         SysDictType dictType = new SysDictType();
-        BeanUtils.copyProperties(request, dictType);
+        BeanCopyUtils.copyProperties(request, dictType);
 
         this.save(dictType);
+        dictionaryStore.changed(dictType.getTypeCode());
 
         if (log.isDebugEnabled()) {
             log.debug("创建字典类型成功，ID：{}，类型编码：{}", dictType.getId(), dictType.getTypeCode());
         }
 
         FindSysDictTypeResponse response = new FindSysDictTypeResponse();
-        BeanUtils.copyProperties(dictType, response);
+        BeanCopyUtils.copyProperties(dictType, response);
         return response;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public FindSysDictTypeResponse updateDictType(Long id, SysDictTypeRequest request) {
         SysDictType existingDictType = this.getOptById(id)
                 .orElseThrow(() -> new CloudServiceException("字典类型不存在，ID：" + id));
@@ -111,6 +116,9 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
             throw new CloudServiceException("字典类型编码已存在：" + request.getTypeCode());
         }
 
+        // 记录原类型编码，用于更新字典项
+        String originalTypeCode = existingDictType.getTypeCode();
+
         // 更新字典类型信息
         existingDictType.setTypeCode(request.getTypeCode());
         existingDictType.setName(request.getName());
@@ -123,38 +131,29 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
             log.debug("更新字典类型，ID：{}，类型编码：{}", existingDictType.getId(), existingDictType.getTypeCode());
         }
 
-        // 更新相关的字典项等
-        LambdaQueryWrapper<SysDictItem> itemWrapper = Wrappers.lambdaQuery(SysDictItem.class)
-                .eq(SysDictItem::getTypeCode, existingDictType.getTypeCode())
-                .orderByAsc(SysDictItem::getSortOrder);
-        List<SysDictItem> dictItems = this.sysDictItemMapper.selectList(itemWrapper);
+        dictionaryStore.changed(originalTypeCode, existingDictType.getTypeCode());
+
+        // 类型编码变更时，一条语句更新相关字典项的类型编码
+        if (!Objects.equals(originalTypeCode, existingDictType.getTypeCode())) {
+            LambdaUpdateWrapper<SysDictItem> itemWrapper = Wrappers.lambdaUpdate(SysDictItem.class)
+                    .set(SysDictItem::getTypeCode, existingDictType.getTypeCode())
+                    .eq(SysDictItem::getTypeCode, originalTypeCode);
+            // 传入空实体以触发修改人、修改时间的自动填充
+            int rows = this.sysDictItemMapper.update(new SysDictItem(), itemWrapper);
 
-        if (dictItems.isEmpty()) {
             if (log.isDebugEnabled()) {
-                log.debug("没有找到相关的字典项，类型编码：{}", existingDictType.getTypeCode());
+                log.debug("更新字典类型相关的字典项，原类型编码：{}，新类型编码：{}，数量：{}",
+                        originalTypeCode, existingDictType.getTypeCode(), rows);
             }
-            FindSysDictTypeResponse response = new FindSysDictTypeResponse();
-            BeanUtils.copyProperties(existingDictType, response);
-            return response;
-        }
-
-        // 如果字典项存在，更新它们的类型编码
-        for (SysDictItem item : dictItems) {
-            item.setTypeCode(existingDictType.getTypeCode());
-        }
-
-        this.sysDictItemMapper.updateById(dictItems);
-
-        if (log.isDebugEnabled()) {
-            log.debug("更新字典类型相关的字典项，类型编码：{}，数量：{}", existingDictType.getTypeCode(), dictItems.size());
         }
 
         FindSysDictTypeResponse response = new FindSysDictTypeResponse();
-        BeanUtils.copyProperties(existingDictType, response);
+        BeanCopyUtils.copyProperties(existingDictType, response);
         return response;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void delete(Long id) {
         SysDictType dictType = this.getOptById(id)
                 .orElseThrow(() -> new CloudServiceException("字典类型不存在，ID：" + id));
@@ -169,6 +168,7 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
         LambdaUpdateWrapper<SysDictItem> wrapper = Wrappers.lambdaUpdate(SysDictItem.class)
                 .eq(SysDictItem::getTypeCode, dictType.getTypeCode());
         this.sysDictItemMapper.delete(wrapper);
+        dictionaryStore.changed(dictType.getTypeCode());
         if (log.isDebugEnabled()) {
             log.debug("删除字典类型相关的字典项，类型编码：{}", dictType.getTypeCode());
         }
@@ -1,16 +1,19 @@
 package com.basic.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.basic.converter.RouterConverter;
+import com.basic.cache.RbacGraphCache;
+import com.basic.cache.RequestPermissionIndex;
+import com.basic.cache.RouterTreeCache;
+import com.basic.configuration.mybatis.KeysetSort;
+import com.basic.configuration.mybatis.PageQueryExecutor;
 import com.basic.domain.PageResult;
 import com.basic.domain.entity.SysPermission;
-import com.basic.domain.entity.SysRolePermission;
-import com.basic.domain.entity.SysUserRole;
 import com.basic.domain.model.DynamicRouter;
+import com.basic.domain.model.ExportColumn;
+import com.basic.domain.request.ExportPermissionRequest;
 import com.basic.domain.request.FindPermissionPageRequest;
 import com.basic.domain.request.FindPermissionRequest;
 import com.basic.domain.request.SavePermissionRequest;
@@ -19,18 +22,21 @@ import com.basic.enums.PermissionTypeEnum;
 import com.basic.exception.CloudIllegalArgumentException;
 import com.basic.exception.CloudServiceException;
 import com.basic.mapper.SysPermissionMapper;
-import com.basic.mapper.SysRolePermissionMapper;
-import com.basic.mapper.SysUserRoleMapper;
 import com.basic.service.SysPermissionService;
+import com.basic.util.BeanCopyUtils;
+import com.basic.util.ExportWriter;
 import com.basic.util.SecurityUtils;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.RawValue;
 
+import java.io.OutputStream;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,11 +49,34 @@ import java.util.stream.Collectors;
 public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, SysPermission>
         implements SysPermissionService {
 
-    private final SysUserRoleMapper sysUserRoleMapper;
+    /**
+     * 导出 csv 的列
+     */
+    private static final List<ExportColumn<FindPermissionResponse>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("ID", FindPermissionResponse::getId),
+            ExportColumn.of("父节点ID", FindPermissionResponse::getParentId),
+            ExportColumn.of("权限名", FindPermissionResponse::getName),
+            ExportColumn.of("标题", FindPermissionResponse::getTitle),
+            ExportColumn.of("权限码", FindPermissionResponse::getPermission),
+            ExportColumn.of("路径", FindPermissionResponse::getPath),
+            ExportColumn.of("请求方式", FindPermissionResponse::getRequestMethod),
+            ExportColumn.of("权限类型", e -> e.getPermissionType() == null ? null : e.getPermissionType().getName()),
+            ExportColumn.of("所属模块", FindPermissionResponse::getModuleName),
+            ExportColumn.of("是否需要认证", FindPermissionResponse::getNeedAuthentication),
+            ExportColumn.of("描述", FindPermissionResponse::getDescription),
+            ExportColumn.of("创建时间", FindPermissionResponse::getCreateTime),
+            ExportColumn.of("修改时间", FindPermissionResponse::getUpdateTime)
+    );
+
+    private final RequestPermissionIndex requestPermissionIndex;
+
+    private final RbacGraphCache rbacGraphCache;
+
+    private final RouterTreeCache routerTreeCache;
 
-    private final SysRolePermissionMapper sysRolePermissionMapper;
+    private final PageQueryExecutor pageQueryExecutor;
 
-    private final RouterConverter routerConverter = new RouterConverter();
+    private final JsonMapper jsonMapper;
 
     @Override
     public PageResult<FindPermissionResponse> findByPage(FindPermissionPageRequest request) {
@@ -58,21 +87,34 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
                         request.getPermission())
                 .like(!ObjectUtils.isEmpty(request.getPath()), SysPermission::getPath, request.getPath())
                 .eq(!ObjectUtils.isEmpty(request.getPermissionType()), SysPermission::getPermissionType,
-                        request.getPermissionType())
-                .orderByAsc(SysPermission::getSortOrder);
-
-        Page<SysPermission> objectPage = Page.of(request.getCurrent(), request.getSize());
-
-        Page<SysPermission> permissionPage = this.page(objectPage, wrapper);
+                        request.getPermissionType());
 
         // 转为响应 bean
-        IPage<FindPermissionResponse> converted = permissionPage.convert(e -> {
+        return pageQueryExecutor.page(this.baseMapper, wrapper, request,
+                KeysetSort.asc(SysPermission::getSortOrder, SysPermission::getId, Integer::valueOf), e -> {
+                    FindPermissionResponse permissionResponse = new FindPermissionResponse();
+                    BeanCopyUtils.copyProperties(e, permissionResponse);
+                    return permissionResponse;
+                });
+    }
+
+    @Override
+    public void export(ExportPermissionRequest request, OutputStream out) {
+        LambdaQueryWrapper<SysPermission> wrapper = Wrappers.lambdaQuery(SysPermission.class)
+                .like(!ObjectUtils.isEmpty(request.getPath()), SysPermission::getPath, request.getPath())
+                .like(!ObjectUtils.isEmpty(request.getName()), SysPermission::getName, request.getName())
+                .like(!ObjectUtils.isEmpty(request.getPermission()), SysPermission::getPermission, request.getPermission())
+                .eq(!ObjectUtils.isEmpty(request.getPermissionType()), SysPermission::getPermissionType, request.getPermissionType())
+                .orderByAsc(SysPermission::getSortOrder)
+                .orderByAsc(SysPermission::getId);
+        ExportWriter<FindPermissionResponse> writer = ExportWriter.of(request.getFormat(), out, EXPORT_COLUMNS,
+                jsonMapper);
+        this.baseMapper.selectStream(wrapper, context -> {
             FindPermissionResponse permissionResponse = new FindPermissionResponse();
-            BeanUtils.copyProperties(e, permissionResponse);
-            return permissionResponse;
+            BeanCopyUtils.copyProperties(context.getResultObject(), permissionResponse);
+            writer.write(permissionResponse);
         });
-
-        return PageResult.of(converted.getCurrent(), converted.getSize(), converted.getTotal(), converted.getRecords());
+        writer.finish();
     }
 
     @Override
@@ -89,7 +131,7 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
         return permissions.stream()
                 .map(e -> {
                     FindPermissionResponse permissionResponse = new FindPermissionResponse();
-                    BeanUtils.copyProperties(e, permissionResponse);
+                    BeanCopyUtils.copyProperties(e, permissionResponse);
                     return permissionResponse;
                 }).toList();
     }
@@ -99,7 +141,7 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
         return this.getOptById(id)
                 .map(e -> {
                     FindPermissionResponse permissionResponse = new FindPermissionResponse();
-                    BeanUtils.copyProperties(e, permissionResponse);
+                    BeanCopyUtils.copyProperties(e, permissionResponse);
                     return permissionResponse;
                 }).orElse(null);
     }
@@ -130,12 +172,18 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
 
         // 组装实体信息
         SysPermission permission = new SysPermission();
-        BeanUtils.copyProperties(request, permission);
+        BeanCopyUtils.copyProperties(request, permission);
 
+        // 移动节点时需要同步修改子节点的层级路径
+        String oldTreePath = null;
+        String newTreePath = null;
         // 插入时初始化
         if (!hasId) {
             // 初始化默认信息
             permission.setDeleted(0);
+            // 提前生成id，用于计算层级路径
+            permission.setId(IdWorker.getId(permission));
+            permission.setTreePath(this.buildTreePath(permission.getParentId(), permission.getId()));
         } else {
             // 设置插入相关的审计信息
             Optional<SysPermission> permissionOptional = this.getOptById(request.getId());
@@ -144,6 +192,16 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
                 permission.setCreateBy(existsPermission.getCreateBy());
                 permission.setCreateName(existsPermission.getCreateName());
                 permission.setCreateTime(existsPermission.getCreateTime());
+
+                oldTreePath = existsPermission.getTreePath();
+                newTreePath = this.buildTreePath(permission.getParentId(), permission.getId());
+                if (oldTreePath == null) {
+                    permission.setTreePath(newTreePath);
+                } else if (newTreePath.startsWith(oldTreePath) && !newTreePath.equals(oldTreePath)) {
+                    throw new CloudIllegalArgumentException("不能将权限移动到自身或其子节点下。");
+                }
+            } else {
+                permission.setTreePath(this.buildTreePath(permission.getParentId(), permission.getId()));
             }
         }
 
@@ -153,8 +211,16 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
         }
         this.saveOrUpdate(permission);
 
+        List<Long> changedIds = List.of(permission.getId());
+        if (oldTreePath != null && !oldTreePath.equals(newTreePath)) {
+            // 一条语句修改节点及所有子节点的层级路径
+            baseMapper.moveSubtree(oldTreePath, newTreePath);
+            changedIds = this.findSubtreeIds(newTreePath);
+        }
+
         // 刷新权限缓存
-//        this.refreshPermissionCache();
+        requestPermissionIndex.changed();
+        rbacGraphCache.permissionsChanged(changedIds);
     }
 
     @Override
@@ -175,21 +241,27 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
             throw new CloudServiceException("路径和请求方法组合不能重复: " + String.join(", ", duplicates));
         }
 
-        // 检查是否和已有权限冲突
+        // 一次查询出所有相同路径的已有权限，在内存中检查是否冲突
+        Set<String> paths = requests.stream()
+                .map(SavePermissionRequest::getPath)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<RequestKey, List<Long>> existingKeys = paths.isEmpty() ? Map.of() : this.lambdaQuery()
+                .select(SysPermission::getId, SysPermission::getPath, SysPermission::getRequestMethod)
+                .in(SysPermission::getPath, paths)
+                .list()
+                .stream()
+                .collect(Collectors.groupingBy(e -> new RequestKey(e.getPath(), e.getRequestMethod()),
+                        Collectors.mapping(SysPermission::getId, Collectors.toList())));
         for (SavePermissionRequest request : requests) {
-            LambdaQueryWrapper<SysPermission> wrapper = Wrappers.lambdaQuery(SysPermission.class);
-
-            // 请求方式
-            if (ObjectUtils.isEmpty(request.getRequestMethod())) {
-                wrapper.isNull(SysPermission::getRequestMethod);
-            } else {
-                wrapper.eq(SysPermission::getRequestMethod, request.getRequestMethod());
+            if (request.getPath() == null) {
+                continue;
             }
-            // 请求路径
-            wrapper.eq(SysPermission::getPath, request.getPath());
+            // 请求方式为空时只和请求方式为 null 的权限冲突
+            String requestMethod = ObjectUtils.isEmpty(request.getRequestMethod()) ? null : request.getRequestMethod();
+            List<Long> existingIds = existingKeys.getOrDefault(new RequestKey(request.getPath(), requestMethod), List.of());
             // 修改需排除当前数据
-            wrapper.ne(request.getId() != null, SysPermission::getId, request.getId());
-            boolean exists = this.exists(wrapper);
+            boolean exists = existingIds.stream().anyMatch(id -> !id.equals(request.getId()));
             if (exists) {
                 duplicates.add(buildUniqueKey(request.getPath(), request.getRequestMethod()));
             }
@@ -199,142 +271,364 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
             throw new CloudServiceException("路径和请求方法组合已存在: " + String.join(", ", duplicates));
         }
 
-        // 批量更新权限
-        List<SysPermission> permissionsToSave = requests.stream().map(request -> {
+        // 一次查询出所有修改数据的原有信息
+        Set<Long> updateIds = requests.stream()
+                .map(SavePermissionRequest::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, SysPermission> existingPermissions = updateIds.isEmpty() ? Map.of() : this.lambdaQuery()
+                .select(SysPermission::getId, SysPermission::getParentId, SysPermission::getTreePath,
+                        SysPermission::getCreateBy, SysPermission::getCreateName, SysPermission::getCreateTime)
+                .in(SysPermission::getId, updateIds)
+                .list()
+                .stream()
+                .collect(Collectors.toMap(SysPermission::getId, Function.identity()));
+
+        // 本批数据，id -> 权限
+        Map<Long, SysPermission> batch = new LinkedHashMap<>();
+        List<SysPermission> permissionsToInsert = new ArrayList<>();
+        List<SysPermission> permissionsToUpdate = new ArrayList<>();
+        // 修改了父节点的已有节点
+        List<Long> movedIds = new ArrayList<>();
+        for (SavePermissionRequest request : requests) {
             SysPermission permission = new SysPermission();
-            BeanUtils.copyProperties(request, permission);
-            // 如果是新增
-            if (request.getId() == null) {
+            BeanCopyUtils.copyProperties(request, permission);
+            SysPermission existing = request.getId() == null ? null : existingPermissions.get(request.getId());
+            if (existing == null) {
+                // 新增，或者 id 在数据库中不存在时按新增处理
                 permission.setDeleted(0);
+                if (permission.getId() == null) {
+                    // 提前生成id，用于计算层级路径
+                    permission.setId(IdWorker.getId(permission));
+                }
+                permissionsToInsert.add(permission);
             } else {
                 // 如果是修改，则保留原有的创建信息
-                Optional<SysPermission> existingPermission = this.getOptById(request.getId());
-                existingPermission.ifPresent(existing -> {
-                    permission.setCreateBy(existing.getCreateBy());
-                    permission.setCreateName(existing.getCreateName());
-                    permission.setCreateTime(existing.getCreateTime());
-                });
+                permission.setCreateBy(existing.getCreateBy());
+                permission.setCreateName(existing.getCreateName());
+                permission.setCreateTime(existing.getCreateTime());
+                Long oldParentId = isRoot(existing.getParentId()) ? null : existing.getParentId();
+                Long newParentId = isRoot(permission.getParentId()) ? null : permission.getParentId();
+                if (!Objects.equals(oldParentId, newParentId)) {
+                    movedIds.add(permission.getId());
+                }
+                permissionsToUpdate.add(permission);
             }
             // 默认设置不删除
             if (permission.getDeleted() == null) {
                 permission.setDeleted(0);
             }
-            return permission;
-        }).toList();
+            batch.put(permission.getId(), permission);
+        }
 
-        if (!ObjectUtils.isEmpty(permissionsToSave)) {
-            this.saveOrUpdateBatch(permissionsToSave);
+        // 一次查询出本批数据引用的、不在本批数据中的父节点的层级路径
+        Set<Long> outerParentIds = batch.values().stream()
+                .map(SysPermission::getParentId)
+                .filter(parentId -> !isRoot(parentId) && !batch.containsKey(parentId))
+                .collect(Collectors.toSet());
+        Map<Long, String> outerTreePaths = new HashMap<>();
+        if (!outerParentIds.isEmpty()) {
+            this.lambdaQuery()
+                    .select(SysPermission::getId, SysPermission::getTreePath)
+                    .in(SysPermission::getId, outerParentIds)
+                    .list()
+                    .forEach(e -> outerTreePaths.put(e.getId(), e.getTreePath()));
+        }
+
+        // 新增与移动的节点都可能形成环(例如 A 移动到 B 下，同时 B 移动到 A 下)，写入前检查
+        for (SysPermission permission : permissionsToInsert) {
+            this.checkHierarchy(permission.getId(), batch, outerTreePaths);
+        }
+        for (Long movedId : movedIds) {
+            this.checkHierarchy(movedId, batch, outerTreePaths);
+        }
+
+        if (movedIds.isEmpty()) {
+            // 没有移动的节点时，只需要计算新增节点的层级路径
+            for (SysPermission permission : permissionsToInsert) {
+                this.resolveTreePath(permission, batch, existingPermissions, outerTreePaths);
+            }
+        }
+
+        // 多行插入与 JDBC 批量更新(需开启 rewriteBatchedStatements)，不再逐条查询是否存在
+        if (!permissionsToInsert.isEmpty()) {
+            baseMapper.insertBatch(permissionsToInsert);
+        }
+        if (!permissionsToUpdate.isEmpty()) {
+            this.updateBatchById(permissionsToUpdate);
+        }
+
+        Set<Long> changedIds = new LinkedHashSet<>(batch.keySet());
+        if (!movedIds.isEmpty()) {
+            // 批量修改时父子节点可能同时移动，直接根据 parent_id 重新计算，一条语句完成
+            baseMapper.rebuildTreePaths();
+            // 只有移动的节点及其子节点的层级路径发生了变化
+            changedIds.addAll(this.findSubtreeIds(movedIds));
         }
 
         // 刷新权限缓存
-//        this.refreshPermissionCache();
+        requestPermissionIndex.changed();
+        rbacGraphCache.permissionsChanged(changedIds);
     }
 
     @Override
     public List<String> findPermissionIdsByRoleId(Long roleId) {
-        LambdaQueryWrapper<SysRolePermission> wrapper = Wrappers.lambdaQuery(SysRolePermission.class)
-                .eq(SysRolePermission::getRoleId, roleId);
-        List<SysRolePermission> rolePermissions = sysRolePermissionMapper.selectList(wrapper);
-        if (rolePermissions == null || rolePermissions.isEmpty()) {
+        long[] permissionIds = rbacGraphCache.getGraph().getPermissionIds(roleId);
+        if (permissionIds.length == 0) {
             return null;
         }
-        // 提取所有权限 id
-        List<Long> permissionIds = rolePermissions.stream()
-                .map(SysRolePermission::getPermissionId)
-                .toList();
 
         // 过滤掉有子节点的权限id(ElementPlus Tree组件如果有设置父节点选中，则不管所有子节点是否选中，父节点都选中，这时会让子节点默认全部选中)
-        return this.findNonParentPermissions(permissionIds);
+        return this.findNonParentPermissions(Arrays.stream(permissionIds).boxed().toList());
     }
 
     @Override
     public List<String> findNonParentPermissions(List<@NotNull Long> permissionIds) {
         // 过滤掉有子节点的权限id(ElementPlus Tree组件如果有设置父节点选中，则不管所有子节点是否选中，父节点都选中，这时会让子节点默认全部选中)
-        List<SysPermission> permissions = this.listByIds(permissionIds);
-        // 提取所有 父节点id
-        Set<Long> parentPermissionIds = permissions.stream()
-                .map(SysPermission::getParentId)
-                .filter(Objects::nonNull)
-                // 去掉根节点标识
-                .filter(parentId -> parentId != 0)
-                .collect(Collectors.toSet());
-
-        // 过滤掉 parentIds 中的节点（也就是有子节点的父节点）
-        return permissionIds.stream()
-                .filter(parentId -> !parentPermissionIds.contains(parentId))
-                .map(String::valueOf)
-                .toList();
+        return rbacGraphCache.getGraph().findNonParentPermissions(permissionIds);
     }
 
     @Override
     public List<DynamicRouter> findUserRouters() {
-        // 获取当前登录用户信息
-        String userId = SecurityUtils.getLoginUserId();
-        if (ObjectUtils.isEmpty(userId)) {
-            throw new CloudServiceException("获取当前用户信息失败.");
-        }
-
-        // 获取用户拥有的权限列表
-        List<SysPermission> permissions = this.findPermissionsByUserId(Long.valueOf(userId));
+        return routerTreeCache.getRouters(this.findCurrentUserId());
+    }
 
-        List<SysPermission> menus = permissions.stream()
-                .filter(e -> PermissionTypeEnum.isMenuType(e.getPermissionType()))
-                .toList();
-        // 转为 DynamicRouter 返回
-        return routerConverter.convertToRouterTree(menus);
+    @Override
+    public RawValue findUserRoutersJson() {
+        return routerTreeCache.getJson(this.findCurrentUserId());
     }
 
     @Override
     public List<SysPermission> findPermissionsByUserId(Long userId) {
-        // 查询用户角色 ID
-        LambdaQueryWrapper<SysUserRole> userRoleWrapper = Wrappers.lambdaQuery(SysUserRole.class)
-                .eq(SysUserRole::getUserId, userId);
-        List<SysUserRole> sysUserRoles = sysUserRoleMapper.selectList(userRoleWrapper);
-        if (!ObjectUtils.isEmpty(sysUserRoles)) {
-            // 角色 ID
-            Set<Long> roleIds = sysUserRoles.stream().map(SysUserRole::getRoleId).collect(Collectors.toSet());
-
-            // 查询角色对应的权限
-            LambdaQueryWrapper<SysRolePermission> rolePermissionWrapper = Wrappers.lambdaQuery(SysRolePermission.class)
-                    .in(SysRolePermission::getRoleId, roleIds);
-            List<SysRolePermission> sysRolePermissions = sysRolePermissionMapper.selectList(rolePermissionWrapper);
-
-            if (!ObjectUtils.isEmpty(sysRolePermissions)) {
-                // 权限 ID
-                Set<Long> permissionIds = sysRolePermissions.stream().map(SysRolePermission::getPermissionId).collect(Collectors.toSet());
-                return this.listByIds(permissionIds);
-            }
+        return rbacGraphCache.getGraph().findPermissionsByUserId(userId);
+    }
 
-        }
-        return List.of();
+    @Override
+    public Set<String> findAuthoritiesByUserId(Long userId) {
+        return this.findPermissionsByUserId(userId).stream()
+                .filter(e -> Objects.equals(e.getPermissionType(), PermissionTypeEnum.REST))
+                .map(SysPermission::getPermission)
+                .filter(e -> !ObjectUtils.isEmpty(e))
+                .collect(Collectors.toSet());
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void removeWithChildren(Long id) {
-        List<Long> ids = new ArrayList<>();
-        // 递归收集所有 后代ID
-        collectChildIds(id, ids);
-        // 加上自身
-        ids.add(id);
+        SysPermission permission = this.getById(id);
+        if (permission == null) {
+            return;
+        }
+        // 根据层级路径一次查出自身及所有后代ID
+        List<Long> ids = ObjectUtils.isEmpty(permission.getTreePath())
+                ? List.of(id) : this.findSubtreeIds(permission.getTreePath());
         removeByIds(ids);
+
+        // 刷新权限缓存
+        requestPermissionIndex.changed();
+        rbacGraphCache.permissionsChanged(ids);
+    }
+
+    @Override
+    public List<SysPermission> findSubtree(Long id) {
+        SysPermission permission = this.getById(id);
+        if (permission == null) {
+            return List.of();
+        }
+        if (ObjectUtils.isEmpty(permission.getTreePath())) {
+            return List.of(permission);
+        }
+        return this.lambdaQuery()
+                .likeRight(SysPermission::getTreePath, permission.getTreePath())
+                .orderByAsc(SysPermission::getSortOrder)
+                .list();
+    }
+
+    @Override
+    public List<SysPermission> findAncestors(Long id) {
+        SysPermission permission = this.getById(id);
+        if (permission == null || ObjectUtils.isEmpty(permission.getTreePath())) {
+            return List.of();
+        }
+        // 层级路径中除自身外的id 即为所有祖先节点
+        List<Long> ancestorIds = Arrays.stream(permission.getTreePath().split("/"))
+                .filter(e -> !e.isEmpty())
+                .map(Long::valueOf)
+                .filter(e -> !e.equals(id))
+                .toList();
+        if (ancestorIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SysPermission> ancestors = this.listByIds(ancestorIds).stream()
+                .collect(Collectors.toMap(SysPermission::getId, Function.identity()));
+        // 按由根节点到父节点的顺序返回
+        return ancestorIds.stream().map(ancestors::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public boolean hasChildren(Long id) {
+        return this.exists(Wrappers.lambdaQuery(SysPermission.class).eq(SysPermission::getParentId, id));
+    }
+
+    /**
+     * 根据层级路径查询节点自身及所有后代节点的id
+     *
+     * @param treePath 节点的层级路径
+     * @return 节点自身及所有后代节点的id
+     */
+    private List<Long> findSubtreeIds(String treePath) {
+        return this.lambdaQuery()
+                .select(SysPermission::getId)
+                .likeRight(SysPermission::getTreePath, treePath)
+                .list()
+                .stream()
+                .map(SysPermission::getId)
+                .toList();
     }
 
     /**
-     * 递归收集所有 子节点ID
+     * 根据层级路径一次查询出多个节点自身及所有后代节点的id
      *
-     * @param parentId  父节点 ID
-     * @param collector 子节点ID 集合
+     * @param ids 节点id
+     * @return 节点自身及所有后代节点的id
      */
-    private void collectChildIds(Long parentId, List<Long> collector) {
-        List<SysPermission> children = lambdaQuery().eq(SysPermission::getParentId, parentId).list();
-        for (SysPermission child : children) {
-            collector.add(child.getId());
-            // 递归收集
-            collectChildIds(child.getId(), collector);
+    private List<Long> findSubtreeIds(Collection<Long> ids) {
+        List<String> treePaths = this.lambdaQuery()
+                .select(SysPermission::getTreePath)
+                .in(SysPermission::getId, ids)
+                .list()
+                .stream()
+                .map(SysPermission::getTreePath)
+                .filter(e -> !ObjectUtils.isEmpty(e))
+                .toList();
+        if (treePaths.isEmpty()) {
+            return List.of();
+        }
+        return this.lambdaQuery()
+                .select(SysPermission::getId)
+                .and(wrapper -> {
+                    for (int i = 0; i < treePaths.size(); i++) {
+                        if (i > 0) {
+                            wrapper.or();
+                        }
+                        wrapper.likeRight(SysPermission::getTreePath, treePaths.get(i));
+                    }
+                })
+                .list()
+                .stream()
+                .map(SysPermission::getId)
+                .toList();
+    }
+
+    /**
+     * 检查批量保存后节点的祖先中是否包含自身
+     * <p>
+     * 本批数据中的节点按新的父节点向上查找，其它节点按数据库中的层级路径向上查找，
+     * 遇到本批数据中的节点时再按它新的父节点继续。
+     * </p>
+     *
+     * @param id             需要检查的节点id
+     * @param batch          本批数据，id -> 权限
+     * @param outerTreePaths 本批数据引用的、不在本批数据中的父节点 id -> 层级路径
+     */
+    private void checkHierarchy(Long id, Map<Long, SysPermission> batch, Map<Long, String> outerTreePaths) {
+        Set<Long> visited = new HashSet<>();
+        Long current = batch.get(id).getParentId();
+        while (!isRoot(current)) {
+            if (current.equals(id) || !visited.add(current)) {
+                throw new CloudIllegalArgumentException("不能将权限移动到自身或其子节点下。");
+            }
+            SysPermission node = batch.get(current);
+            if (node != null) {
+                current = node.getParentId();
+                continue;
+            }
+            if (!outerTreePaths.containsKey(current)) {
+                throw new CloudIllegalArgumentException("父节点不存在。");
+            }
+            String treePath = outerTreePaths.get(current);
+            if (ObjectUtils.isEmpty(treePath)) {
+                throw new CloudServiceException("父节点层级路径缺失，请先执行层级路径迁移脚本。");
+            }
+            // 层级路径为 /祖先id/.../自身id/，从最近的祖先开始查找本批数据中的节点
+            String[] ancestors = treePath.split("/");
+            current = null;
+            for (int i = ancestors.length - 2; i >= 0; i--) {
+                if (ancestors[i].isEmpty()) {
+                    continue;
+                }
+                Long ancestorId = Long.valueOf(ancestors[i]);
+                if (batch.containsKey(ancestorId)) {
+                    current = ancestorId;
+                    break;
+                }
+            }
         }
     }
 
+    /**
+     * 在没有节点移动时计算新增节点的层级路径，父节点可能是本批新增的节点
+     *
+     * @param permission          新增的节点
+     * @param batch               本批数据，id -> 权限
+     * @param existingPermissions 本批修改的节点原有信息
+     * @param outerTreePaths      本批数据引用的、不在本批数据中的父节点 id -> 层级路径
+     * @return 层级路径
+     */
+    private String resolveTreePath(SysPermission permission, Map<Long, SysPermission> batch,
+                                   Map<Long, SysPermission> existingPermissions, Map<Long, String> outerTreePaths) {
+        if (permission.getTreePath() != null) {
+            return permission.getTreePath();
+        }
+        Long parentId = permission.getParentId();
+        String parentTreePath;
+        if (isRoot(parentId)) {
+            parentTreePath = "/";
+        } else if (existingPermissions.containsKey(parentId)) {
+            parentTreePath = existingPermissions.get(parentId).getTreePath();
+        } else if (batch.containsKey(parentId)) {
+            parentTreePath = this.resolveTreePath(batch.get(parentId), batch, existingPermissions, outerTreePaths);
+        } else {
+            parentTreePath = outerTreePaths.get(parentId);
+        }
+        if (ObjectUtils.isEmpty(parentTreePath)) {
+            throw new CloudServiceException("父节点层级路径缺失，请先执行层级路径迁移脚本。");
+        }
+        permission.setTreePath(parentTreePath + permission.getId() + "/");
+        return permission.getTreePath();
+    }
+
+    /**
+     * 是否为根节点的父节点id
+     *
+     * @param parentId 父节点id
+     * @return 为空或为 0 时返回 true
+     */
+    private static boolean isRoot(Long parentId) {
+        return parentId == null || parentId == 0;
+    }
+
+    /**
+     * 根据父节点计算层级路径
+     *
+     * @param parentId 父节点id
+     * @param id       节点id
+     * @return 层级路径
+     */
+    private String buildTreePath(Long parentId, Long id) {
+        if (parentId == null || parentId == 0) {
+            return "/" + id + "/";
+        }
+        SysPermission parent = this.getById(parentId);
+        if (parent == null) {
+            throw new CloudIllegalArgumentException("父节点不存在。");
+        }
+        if (ObjectUtils.isEmpty(parent.getTreePath())) {
+            throw new CloudServiceException("父节点层级路径缺失，请先执行层级路径迁移脚本。");
+        }
+        return parent.getTreePath() + id + "/";
+    }
+
     /**
      * 构建唯一键，用于检查重复的路径和请求方法组合
      *
@@ -346,8 +640,27 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
         return (path != null ? path : "") + ":" + (requestMethod != null ? requestMethod : "");
     }
 
-}
-
-
+    /**
+     * 获取当前登录用户的 id
+     *
+     * @return 用户id
+     */
+    private long findCurrentUserId() {
+        // 获取当前登录用户信息
+        String userId = SecurityUtils.getLoginUserId();
+        if (ObjectUtils.isEmpty(userId)) {
+            throw new CloudServiceException("获取当前用户信息失败.");
+        }
+        return Long.parseLong(userId);
+    }
 
+    /**
+     * 路径与请求方式组合
+     *
+     * @param path          请求路径
+     * @param requestMethod 请求方式
+     */
+    private record RequestKey(String path, String requestMethod) {
+    }
 
+}
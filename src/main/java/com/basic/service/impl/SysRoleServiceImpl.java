@@ -2,32 +2,38 @@ package com.basic.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.basic.cache.RbacGraphCache;
+import com.basic.cache.TokenRevocationCache;
+import com.basic.configuration.mybatis.KeysetSort;
+import com.basic.configuration.mybatis.PageQueryExecutor;
 import com.basic.domain.PageResult;
+import com.basic.domain.entity.SysBasicUser;
 import com.basic.domain.entity.SysRole;
 import com.basic.domain.entity.SysRolePermission;
 import com.basic.domain.entity.SysUserRole;
+import com.basic.domain.model.AssignmentChanges;
+import com.basic.domain.request.AssignRoleUsersRequest;
 import com.basic.domain.request.FindRolePageRequest;
 import com.basic.domain.request.FindRoleRequest;
 import com.basic.domain.request.SaveRoleRequest;
 import com.basic.domain.request.UpdateRolePermissionsRequest;
 import com.basic.domain.response.FindRoleResponse;
 import com.basic.exception.CloudIllegalArgumentException;
+import com.basic.mapper.SysBasicUserMapper;
 import com.basic.mapper.SysRoleMapper;
 import com.basic.mapper.SysRolePermissionMapper;
 import com.basic.mapper.SysUserRoleMapper;
 import com.basic.service.SysRoleService;
+import com.basic.util.BeanCopyUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
 
 /**
  * 针对表【sys_role(RBAC角色表)】的数据库操作Service实现
@@ -43,33 +49,35 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
 
     private final SysRolePermissionMapper sysRolePermissionMapper;
 
+    private final SysBasicUserMapper sysBasicUserMapper;
+
+    private final TokenRevocationCache tokenRevocationCache;
+
+    private final RbacGraphCache rbacGraphCache;
+
+    private final PageQueryExecutor pageQueryExecutor;
+
     @Override
     public PageResult<FindRoleResponse> findByPage(FindRolePageRequest request) {
         LambdaQueryWrapper<SysRole> wrapper = Wrappers.lambdaQuery(SysRole.class)
                 .like(!ObjectUtils.isEmpty(request.getCode()), SysRole::getCode, request.getCode())
                 .like(!ObjectUtils.isEmpty(request.getName()), SysRole::getName, request.getName())
-                .like(!ObjectUtils.isEmpty(request.getDescription()), SysRole::getDescription, request.getDescription())
-                .orderByDesc(SysRole::getCreateTime);
-
-        Page<SysRole> objectPage = Page.of(request.getCurrent(), request.getSize());
-
-        Page<SysRole> rolePage = this.page(objectPage, wrapper);
+                .like(!ObjectUtils.isEmpty(request.getDescription()), SysRole::getDescription, request.getDescription());
 
         // 转为响应 bean
-        IPage<FindRoleResponse> converted = rolePage.convert(e -> {
-            FindRoleResponse response = new FindRoleResponse();
-            BeanUtils.copyProperties(e, response);
-            return response;
-        });
-
-        return PageResult.of(converted.getCurrent(), converted.getSize(), converted.getTotal(), converted.getRecords());
+        return pageQueryExecutor.page(this.baseMapper, wrapper, request,
+                KeysetSort.desc(SysRole::getCreateTime, SysRole::getId, LocalDateTime::parse), e -> {
+                    FindRoleResponse response = new FindRoleResponse();
+                    BeanCopyUtils.copyProperties(e, response);
+                    return response;
+                });
     }
 
     @Override
     public FindRoleResponse roleDetails(Long id) {
         return this.getOptById(id).map(u -> {
             FindRoleResponse roleResponse = new FindRoleResponse();
-            BeanUtils.copyProperties(u, roleResponse);
+            BeanCopyUtils.copyProperties(u, roleResponse);
             return roleResponse;
         }).orElse(null);
     }
@@ -93,7 +101,7 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
 
         // 插入时初始化
         if (!hasId) {
-            BeanUtils.copyProperties(request, role);
+            BeanCopyUtils.copyProperties(request, role);
             // 初始化默认信息
             role.setDeleted(0);
         } else {
@@ -118,11 +126,7 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
 
     @Override
     public List<String> getRoleIdsByUserId(Long userId) {
-        LambdaQueryWrapper<SysUserRole> wrapper = Wrappers.lambdaQuery(SysUserRole.class)
-                .eq(SysUserRole::getUserId, userId);
-        List<SysUserRole> userRoles = sysUserRoleMapper.selectList(wrapper);
-
-        return userRoles.stream().map(SysUserRole::getRoleId).map(String::valueOf).toList();
+        return Arrays.stream(rbacGraphCache.getGraph().getRoleIds(userId)).mapToObj(String::valueOf).toList();
     }
 
     @Override
@@ -139,7 +143,7 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
         return findResult.stream()
                 .map(e -> {
                     FindRoleResponse roleResponse = new FindRoleResponse();
-                    BeanUtils.copyProperties(e, roleResponse);
+                    BeanCopyUtils.copyProperties(e, roleResponse);
                     return roleResponse;
                 })
                 .toList();
@@ -147,30 +151,110 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void updateRolePermissions(UpdateRolePermissionsRequest request) {
-        SysRole sysRole = this.getById(request.getRoleId());
-        if (sysRole == null) {
-            throw new CloudIllegalArgumentException("角色不存在.");
+    public AssignmentChanges updateRolePermissions(UpdateRolePermissionsRequest request) {
+        // 锁定角色，避免并发修改时基于同一份旧数据计算差异
+        SysRole sysRole = this.lockById(request.getRoleId());
+
+        // 只新增、删除有变化的权限
+        List<Long> currentPermissionIds = sysRolePermissionMapper.selectList(
+                        Wrappers.lambdaQuery(SysRolePermission.class)
+                                .select(SysRolePermission::getPermissionId)
+                                .eq(SysRolePermission::getRoleId, sysRole.getId()))
+                .stream()
+                .map(SysRolePermission::getPermissionId)
+                .toList();
+        AssignmentChanges changes = AssignmentChanges.diff(currentPermissionIds, request.getPermissionIds());
+        if (changes.unchanged()) {
+            return changes;
         }
-        LambdaUpdateWrapper<SysRolePermission> wrapper = Wrappers.lambdaUpdate(SysRolePermission.class)
-                .eq(SysRolePermission::getRoleId, sysRole.getId());
-        // 删除原有权限
-        sysRolePermissionMapper.delete(wrapper);
-
-        // 插入新权限
-        List<SysRolePermission> rolePermissions = request.getPermissionIds().stream().map(id -> {
-            SysRolePermission rolePermission = new SysRolePermission();
-            rolePermission.setRoleId(request.getRoleId());
-            rolePermission.setPermissionId(id);
-            return rolePermission;
-        }).toList();
-        if (ObjectUtils.isEmpty(rolePermissions)) {
-            return;
+
+        if (!changes.removed().isEmpty()) {
+            LambdaUpdateWrapper<SysRolePermission> wrapper = Wrappers.lambdaUpdate(SysRolePermission.class)
+                    .eq(SysRolePermission::getRoleId, sysRole.getId())
+                    .in(SysRolePermission::getPermissionId, changes.removed());
+            sysRolePermissionMapper.delete(wrapper);
         }
-        sysRolePermissionMapper.insert(rolePermissions);
+        if (!changes.added().isEmpty()) {
+            List<SysRolePermission> rolePermissions = changes.added().stream().map(id -> {
+                SysRolePermission rolePermission = new SysRolePermission();
+                rolePermission.setRoleId(sysRole.getId());
+                rolePermission.setPermissionId(id);
+                return rolePermission;
+            }).toList();
+            // 多行插入，一条语句写入一批
+            sysRolePermissionMapper.insertBatch(rolePermissions);
+        }
+
+        // 角色权限变更，各节点更新 RBAC 快照后清除缓存的拥有该角色的用户信息，无状态模式下吊销已签发的 token
+        List<Long> userIds = sysUserRoleMapper.selectList(Wrappers.lambdaQuery(SysUserRole.class)
+                        .select(SysUserRole::getUserId)
+                        .eq(SysUserRole::getRoleId, sysRole.getId()))
+                .stream()
+                .map(SysUserRole::getUserId)
+                .toList();
+        // 均在事务提交后执行，先更新 RBAC 快照再吊销，吊销后刷新令牌时加载的是新的权限
+        rbacGraphCache.rolePermissionsChanged(List.of(sysRole.getId()));
+        tokenRevocationCache.revoke(userIds);
+        return changes;
     }
-}
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public AssignmentChanges assignUsers(AssignRoleUsersRequest request) {
+        SysRole sysRole = this.lockById(request.getRoleId());
+
+        Set<Long> userIds = new LinkedHashSet<>(request.getUserIds());
+        Long userCount = sysBasicUserMapper.selectCount(Wrappers.lambdaQuery(SysBasicUser.class)
+                .in(SysBasicUser::getId, userIds));
+        if (userCount == null || userCount != userIds.size()) {
+            throw new CloudIllegalArgumentException("用户不存在.");
+        }
+
+        // 只为还没有该角色的用户插入关联
+        List<Long> existingUserIds = sysUserRoleMapper.selectList(Wrappers.lambdaQuery(SysUserRole.class)
+                        .select(SysUserRole::getUserId)
+                        .eq(SysUserRole::getRoleId, sysRole.getId())
+                        .in(SysUserRole::getUserId, userIds))
+                .stream()
+                .map(SysUserRole::getUserId)
+                .toList();
+        userIds.removeAll(existingUserIds);
+        AssignmentChanges changes = new AssignmentChanges(userIds, Set.of());
+        if (changes.unchanged()) {
+            return changes;
+        }
 
+        List<SysUserRole> userRoles = userIds.stream().map(userId -> {
+            SysUserRole userRole = new SysUserRole();
+            userRole.setUserId(userId);
+            userRole.setRoleId(sysRole.getId());
+            return userRole;
+        }).toList();
+        // 多行插入，一条语句写入一批
+        sysUserRoleMapper.insertBatch(userRoles);
 
+        // 用户角色变更，各节点更新 RBAC 快照后清除缓存的用户信息，无状态模式下吊销已签发的 token；
+        // 均在事务提交后执行，先更新 RBAC 快照再吊销，吊销后刷新令牌时加载的是新的权限
+        List<Long> changedUserIds = List.copyOf(userIds);
+        rbacGraphCache.userRolesChanged(changedUserIds);
+        tokenRevocationCache.revoke(changedUserIds);
+        return changes;
+    }
 
+    /**
+     * 查询并锁定角色，直到当前事务结束
+     *
+     * @param id 角色id
+     * @return 角色
+     */
+    private SysRole lockById(Long id) {
+        SysRole sysRole = this.lambdaQuery()
+                .eq(SysRole::getId, id)
+                .last("FOR UPDATE")
+                .one();
+        if (sysRole == null) {
+            throw new CloudIllegalArgumentException("角色不存在.");
+        }
+        return sysRole;
+    }
+}
@@ -1,18 +1,24 @@
 package com.basic.service.impl;
 
+import com.basic.cache.PermissionCodeDictionary;
+import com.basic.cache.SessionNearCache;
+import com.basic.cache.TokenRevocationCache;
+import com.basic.configuration.jwk.JwtKeyManager;
 import com.basic.constant.AuthorizeConstants;
 import com.basic.domain.model.BasicUserDetails;
-import com.basic.domain.model.RefreshTokenInfo;
+import com.basic.domain.model.RotatedTokenInfo;
 import com.basic.domain.response.TokenResponse;
+import com.basic.enums.TokenModeEnum;
 import com.basic.property.TokenProperties;
+import com.basic.service.SysPermissionService;
 import com.basic.service.TokenService;
+import com.basic.service.TokenSessionService;
 import com.basic.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.authentication.AuthenticationServiceException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -20,6 +26,8 @@ import org.springframework.security.oauth2.server.resource.InvalidBearerTokenExc
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -30,66 +38,70 @@ public class TokenServiceImpl implements TokenService {
 
     private final JwtEncoder jwtEncoder;
 
+    private final JwtKeyManager jwtKeyManager;
+
     private final TokenProperties tokenProperties;
 
-    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final SessionNearCache sessionNearCache;
+
+    private final TokenRevocationCache tokenRevocationCache;
+
+    private final TokenSessionService tokenSessionService;
 
-    private final RedisTemplate<String, BasicUserDetails> userRedisTemplate;
+    private final SysPermissionService sysPermissionService;
 
-    private final RedisTemplate<String, RefreshTokenInfo> refreshRedisTemplate;
+    private final PermissionCodeDictionary permissionCodeDictionary;
 
     @Override
     public TokenResponse generateToken(Authentication authentication) {
 
+        if (!(authentication.getPrincipal() instanceof BasicUserDetails userDetails)) {
+            throw new UnsupportedOperationException("Unsupported principal type: " + authentication.getPrincipal());
+        }
+
         String refreshToken = UUID.randomUUID().toString();
 
-        String refreshKey = AuthorizeConstants.AUTHENTICATION_PREFIX + refreshToken;
+        // 计算 绝对过期时间戳
+        long absoluteExpireTime = System.currentTimeMillis()
+                + TimeUnit.DAYS.toMillis(tokenProperties.getRefreshTokenAbsoluteExpire());
 
-        long absoluteExpireTime;
-        BasicUserDetails basicUserDetails;
+        String jti = UUID.randomUUID().toString();
 
-        if (authentication.getPrincipal() instanceof BasicUserDetails userDetails) {
-            // 计算 绝对过期时间戳
-            absoluteExpireTime = System.currentTimeMillis()
-                    + TimeUnit.DAYS.toMillis(tokenProperties.getRefreshTokenAbsoluteExpire());
+        // 会话与刷新令牌一次性写入
+        tokenSessionService.saveTokens(jti, refreshToken, userDetails, absoluteExpireTime);
 
-            basicUserDetails = userDetails;
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String accessToken = generateAccessToken(jti, userDetails, issuedAt,
+                issuedAt.plusSeconds(tokenProperties.getAccessTokenExpire()));
 
-        } else if (authentication.getPrincipal() instanceof RefreshTokenInfo refreshTokenInfo) {
-            basicUserDetails = refreshTokenInfo.getUserDetails();
-            absoluteExpireTime = refreshTokenInfo.getAbsoluteExpireTime();
+        return buildResponse(accessToken, refreshToken);
+    }
 
-        } else {
-            throw new UnsupportedOperationException("Unsupported principal type: " + authentication.getPrincipal());
-        }
+    private String generateAccessToken(String jti, BasicUserDetails userDetails, Instant issuedAt, Instant expiresAt) {
 
-        // 存储对象，过期时间 = 单次有效期
-        userRedisTemplate.opsForValue().set(
-                refreshKey,
-                basicUserDetails,
-                tokenProperties.getRefreshTokenExpire(),
-                TimeUnit.DAYS
-        );
-
-        // 绝对过期时间
-        stringRedisTemplate.opsForValue().set(
-                refreshKey + ":expire",
-                Long.toString(absoluteExpireTime),
-                tokenProperties.getRefreshTokenExpire(),
-                TimeUnit.DAYS
-        );
-
-        if (authentication.getPrincipal() instanceof RefreshTokenInfo refreshTokenInfo) {
-            // 生成新 token
-            authentication = UsernamePasswordAuthenticationToken.authenticated(
-                    refreshTokenInfo.getUserDetails(),
-                    null,
-                    authentication.getAuthorities()
-            );
+        JwtClaimsSet.Builder builder = JwtClaimsSet.builder()
+                .issuer(tokenProperties.getIssuer())
+                .subject(userDetails.getNickname())
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
+                .id(jti)
+                .claim(AuthorizeConstants.CLAIM_USER_ID, String.valueOf(userDetails.getId()));
+
+        if (tokenProperties.getMode() == TokenModeEnum.STATELESS) {
+            // 无状态模式下将权限信息与用户版本写入 jwt，请求时无需读取 Redis
+            List<String> authorities = userDetails.getAuthorities() == null ? List.of()
+                    : userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+            builder.claim(AuthorizeConstants.CLAIM_AUTHORITIES, authorities)
+                    .claim(AuthorizeConstants.CLAIM_VERSION, System.currentTimeMillis());
         }
+        JwtClaimsSet claims = builder.build();
 
-        String accessToken = generateAccessToken(authentication);
+        JwsHeader jwsHeader = JwsHeader.with(jwtKeyManager.getSignatureAlgorithm()).build();
+
+        return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    }
 
+    private TokenResponse buildResponse(String accessToken, String refreshToken) {
         TokenResponse response = new TokenResponse();
 
         response.setAccessToken(accessToken);
@@ -99,76 +111,27 @@ public class TokenServiceImpl implements TokenService {
         return response;
     }
 
-    private String generateAccessToken(Authentication authentication) {
-
-        String jti = UUID.randomUUID().toString();
-
-        String userId;
-        String subject;
-        if (authentication.getPrincipal() instanceof BasicUserDetails userDetails) {
-            subject = userDetails.getNickname();
-            userId = String.valueOf(userDetails.getId());
-
-            // 缓存 jti 和 用户ID 的映射
-            stringRedisTemplate.opsForValue().set(AuthorizeConstants.JTI_USER_HASH + jti, userId, tokenProperties.getAccessTokenExpire(), TimeUnit.SECONDS);
-
-            // 将用户信息存储到Redis中，方便自省时获取
-            userRedisTemplate.opsForValue().set((AuthorizeConstants.USERINFO_PREFIX + userId), userDetails, tokenProperties.getAccessTokenExpire(), TimeUnit.SECONDS);
-        } else {
-            throw new UnsupportedOperationException("Unsupported principal type: " + authentication.getPrincipal());
-        }
-
-        Instant now = Instant.now();
-
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .issuer(tokenProperties.getIssuer())
-                .subject(subject)
-                .issuedAt(now)
-                .expiresAt(now.plusSeconds(tokenProperties.getAccessTokenExpire()))
-                .id(jti)
-                .claim(AuthorizeConstants.CLAIM_USER_ID, userId)
-                .build();
-
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
-    }
-
     @Override
     public TokenResponse refreshToken(String refreshToken) {
 
-        String key = AuthorizeConstants.AUTHENTICATION_PREFIX + refreshToken;
-
-        // 1. 获取缓存信息
-        BasicUserDetails userDetails = userRedisTemplate.opsForValue().get(key);
-        String absoluteExpireTimeStr = stringRedisTemplate.opsForValue().get(key + ":expire");
-
-        if (userDetails == null || absoluteExpireTimeStr == null) {
-            throw new AuthenticationServiceException("refresh token invalid");
-        }
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
-        long absoluteExpireTime = Long.parseLong(absoluteExpireTimeStr);
+        // 校验、作废旧 token 并写入新 token 在一次调用中原子完成（新 token 会继承剩余的绝对有效期），
+        // 宽限期内的并发重复刷新会得到同一个新 token
+        RotatedTokenInfo rotated = tokenSessionService.rotate(refreshToken, UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), issuedAt, issuedAt.plusSeconds(tokenProperties.getAccessTokenExpire()));
 
-        // 2. 校验绝对过期时间
-        if (System.currentTimeMillis() > absoluteExpireTime) {
-            // 清理
-            refreshRedisTemplate.delete(key);
-            throw new AuthenticationServiceException("refresh token 已过期，请重新登录");
+        BasicUserDetails userDetails = rotated.getUserDetails();
+        if (tokenProperties.getMode() == TokenModeEnum.STATELESS) {
+            // 无状态模式下权限写入 jwt，刷新时重新加载权限，避免权限变更前签发的刷新令牌继续获得已吊销的权限
+            userDetails.setAuthorities(permissionCodeDictionary.encode(
+                    sysPermissionService.findAuthoritiesByUserId(userDetails.getId())));
         }
 
-        // 3. 旧 token 立即作废（轮换机制）
-        userRedisTemplate.delete(key);
-        userRedisTemplate.delete(key + ":expire");
+        String accessToken = generateAccessToken(rotated.getJti(), userDetails,
+                rotated.getIssuedAt(), rotated.getExpiresAt());
 
-        RefreshTokenInfo refreshTokenInfo = new RefreshTokenInfo(userDetails, absoluteExpireTime);
-
-        // 4. 生成新 token（新 token 会继承剩余的绝对有效期）
-        Authentication authentication =
-                UsernamePasswordAuthenticationToken.authenticated(
-                        refreshTokenInfo,
-                        null,
-                        userDetails.getAuthorities()
-                );
-
-        return generateToken(authentication);
+        return buildResponse(accessToken, rotated.getRefreshToken());
     }
 
     @Override
@@ -179,8 +142,14 @@ public class TokenServiceImpl implements TokenService {
             throw new InvalidBearerTokenException("Invalid token");
         }
 
-        // 清除 token 对应的缓存
-        userRedisTemplate.delete(AuthorizeConstants.USERINFO_PREFIX + loginUser.getId());
+        // 清除用户所有 token 对应的会话
+        tokenSessionService.removeByUserId(loginUser.getId());
+
+        // 通知各节点清除本地缓存
+        sessionNearCache.invalidateUsers(List.of(loginUser.getId()));
+
+        // 无状态模式下吊销用户已签发的 token
+        tokenRevocationCache.revoke(List.of(loginUser.getId()));
 
     }
 }
\ No newline at end of file
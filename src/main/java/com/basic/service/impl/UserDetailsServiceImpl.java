@@ -2,16 +2,14 @@ package com.basic.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.cache.PermissionCodeDictionary;
 import com.basic.domain.entity.SysBasicUser;
-import com.basic.domain.entity.SysPermission;
 import com.basic.domain.model.BasicUserDetails;
-import com.basic.enums.PermissionTypeEnum;
 import com.basic.service.SysBasicUserService;
 import com.basic.service.SysPermissionService;
+import com.basic.util.BeanCopyUtils;
 import jakarta.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,9 +18,7 @@ import org.springframework.util.ObjectUtils;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Security 登录时获取用户信息 service 实现
@@ -37,6 +33,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final SysPermissionService sysPermissionService;
 
+    private final PermissionCodeDictionary permissionCodeDictionary;
+
     @Nonnull
     @Override
     public UserDetails loadUserByUsername(@Nonnull String username) throws UsernameNotFoundException {
@@ -55,25 +53,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // 生成用户详情
         SysBasicUser sysBasicUser = basicUsers.getFirst();
         BasicUserDetails userDetails = new BasicUserDetails();
-        BeanUtils.copyProperties(sysBasicUser, userDetails);
+        BeanCopyUtils.copyProperties(sysBasicUser, userDetails);
         userDetails.setAuthorities(new HashSet<>());
 
-        // 查询用户权限列表
-        List<SysPermission> permissions = sysPermissionService.findPermissionsByUserId(sysBasicUser.getId());
-
-        if (ObjectUtils.isEmpty(permissions)) {
+        // 查询用户权限，以权限编码位图的形式保存
+        Set<String> authorities = sysPermissionService.findAuthoritiesByUserId(sysBasicUser.getId());
+        if (ObjectUtils.isEmpty(authorities)) {
             return userDetails;
         }
 
-        // 组装权限
-        Set<SimpleGrantedAuthority> authorities = permissions.stream()
-                .filter(e -> Objects.equals(e.getPermissionType(), PermissionTypeEnum.REST))
-                .map(SysPermission::getPermission)
-                .filter(e -> !ObjectUtils.isEmpty(e))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
-
-        userDetails.setAuthorities(authorities);
+        userDetails.setAuthorities(permissionCodeDictionary.encode(authorities));
 
         return userDetails;
     }
@@ -0,0 +1,653 @@
+package com.basic.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.cache.RbacGraphCache;
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.entity.SysBasicUser;
+import com.basic.domain.entity.SysRole;
+import com.basic.domain.entity.SysUserRole;
+import com.basic.domain.request.SaveBasicUserRequest;
+import com.basic.domain.response.UserImportProgressResponse;
+import com.basic.enums.BasicEnum;
+import com.basic.enums.ExportFormatEnum;
+import com.basic.enums.ImportStatusEnum;
+import com.basic.enums.OAuth2AccountPlatformEnum;
+import com.basic.exception.CloudIllegalArgumentException;
+import com.basic.exception.CloudServiceException;
+import com.basic.mapper.SysBasicUserMapper;
+import com.basic.mapper.SysRoleMapper;
+import com.basic.mapper.SysUserRoleMapper;
+import com.basic.service.UserImportService;
+import com.basic.util.BeanCopyUtils;
+import com.basic.util.CsvReader;
+import com.basic.util.SecurityUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 批量导入用户 Service 实现
+ * <p>
+ * 导入在后台线程中流式读取文件，每 {@value #CHUNK_SIZE} 条有效数据为一块，按阶段处理：
+ * 解析 -> 校验(Bean Validation 与文件内邮箱去重) -> 一次 in 查询检查已注册的邮箱 -> 在加密线程池中并行加密密码
+ * -> 在一个事务中多行插入用户与用户角色。加密当前块的同时写入上一块，内存中最多保留两块数据。
+ * 每个阶段处理完一块后更新 Redis 中的进度，无效或重复的行跳过并记录原因；任务失败时已写入的块不回滚。
+ * 进度中记录提交人，只有提交人可以查询；服务停止时未结束的任务标记为失败。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService, DisposableBean {
+
+    /**
+     * 每块的有效数据条数
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * 最多记录的错误条数
+     */
+    private static final int MAX_ERRORS = 1000;
+
+    /**
+     * 进度保留时间
+     */
+    private static final Duration PROGRESS_TIMEOUT = Duration.ofDays(1);
+
+    /**
+     * 服务停止时等待执行中的任务响应中断的时间
+     */
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String FIELD_SUBMITTER = "submitter";
+
+    private static final String FIELD_STATUS = "status";
+
+    private static final String FIELD_PARSED = "parsed";
+
+    private static final String FIELD_INVALID = "invalid";
+
+    private static final String FIELD_DUPLICATED = "duplicated";
+
+    private static final String FIELD_HASHED = "hashed";
+
+    private static final String FIELD_INSERTED = "inserted";
+
+    private static final String FIELD_MESSAGE = "message";
+
+    private final SysBasicUserMapper sysBasicUserMapper;
+
+    private final SysUserRoleMapper sysUserRoleMapper;
+
+    private final SysRoleMapper sysRoleMapper;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final RbacGraphCache rbacGraphCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final JsonMapper jsonMapper;
+
+    private final Validator validator;
+
+    /**
+     * 执行导入任务的线程，同时最多执行 2 个任务、排队 8 个；提交时的登录信息传递到任务中，用于填充审计字段
+     */
+    private final ExecutorService importExecutor = new DelegatingSecurityContextExecutorService(
+            new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(8),
+                    Thread.ofPlatform().name("user-import-", 0).daemon(true).factory()));
+
+    /**
+     * 加密密码的线程，密码加密是 CPU 密集型的，线程数与 CPU 核数相同，所有导入任务共用
+     */
+    private final ExecutorService hashExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            Thread.ofPlatform().name("user-import-hash-", 0).daemon(true).factory());
+
+    /**
+     * 未结束的任务 -> 导入文件，任务结束时移除
+     */
+    private final Map<ImportProgress, Path> tasks = new ConcurrentHashMap<>();
+
+    @Override
+    public String submit(MultipartFile file, List<Long> roleIds) {
+        if (file == null || file.isEmpty()) {
+            throw new CloudIllegalArgumentException("导入文件不能为空。");
+        }
+        ExportFormatEnum format = formatOf(file.getOriginalFilename());
+
+        List<Long> distinctRoleIds = roleIds == null ? List.of()
+                : roleIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (!distinctRoleIds.isEmpty() && sysRoleMapper.selectCount(Wrappers.lambdaQuery(SysRole.class)
+                .in(SysRole::getId, distinctRoleIds)) != distinctRoleIds.size()) {
+            throw new CloudIllegalArgumentException("角色不存在.");
+        }
+
+        Path path;
+        try {
+            // 请求结束后上传的临时文件会被删除，复制一份供后台任务读取
+            path = Files.createTempFile("user-import-", "." + format.getFormat());
+            file.transferTo(path);
+        } catch (IOException e) {
+            throw new CloudServiceException("保存导入文件失败：" + e.getMessage());
+        }
+
+        String taskId = UUID.randomUUID().toString().replace("-", "");
+        ImportProgress progress = new ImportProgress(taskId);
+        progress.start(Objects.toString(SecurityUtils.getLoginUserId(), ""));
+        tasks.put(progress, path);
+        try {
+            importExecutor.execute(() -> this.execute(progress, path, format, distinctRoleIds));
+        } catch (RejectedExecutionException e) {
+            tasks.remove(progress);
+            deleteQuietly(path);
+            stringRedisTemplate.delete(progress.key);
+            throw new CloudServiceException("导入任务过多，请稍后重试。");
+        }
+        return taskId;
+    }
+
+    @Override
+    public UserImportProgressResponse progress(String taskId) {
+        String key = AuthorizeConstants.USER_IMPORT_PREFIX + taskId;
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(key);
+        if (ObjectUtils.isEmpty(entries)
+                || !Objects.equals(entries.get(FIELD_SUBMITTER), SecurityUtils.getLoginUserId())) {
+            // 不是当前用户提交的任务按不存在处理
+            return null;
+        }
+        UserImportProgressResponse response = new UserImportProgressResponse();
+        response.setTaskId(taskId);
+        response.setStatus(BasicEnum.fromValue((String) entries.get(FIELD_STATUS), ImportStatusEnum.class));
+        response.setParsed(counter(entries, FIELD_PARSED));
+        response.setInvalid(counter(entries, FIELD_INVALID));
+        response.setDuplicated(counter(entries, FIELD_DUPLICATED));
+        response.setHashed(counter(entries, FIELD_HASHED));
+        response.setInserted(counter(entries, FIELD_INSERTED));
+        response.setMessage((String) entries.get(FIELD_MESSAGE));
+        response.setErrors(stringRedisTemplate.opsForList().range(ImportProgress.errorsKey(key), 0, -1));
+        return response;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.importExecutor.shutdownNow();
+        this.hashExecutor.shutdownNow();
+        // 执行中的任务在读取文件、等待加密时响应中断并标记为失败，等待它们结束
+        this.importExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        // 排队中未开始的任务与未能及时结束的任务不会再更新进度，标记为失败
+        this.tasks.forEach((progress, path) -> {
+            progress.status(ImportStatusEnum.FAILED, "服务已停止，导入任务中断。");
+            deleteQuietly(path);
+        });
+        this.tasks.clear();
+    }
+
+    /**
+     * 执行导入任务
+     *
+     * @param progress 任务进度
+     * @param path     导入文件
+     * @param format   文件格式
+     * @param roleIds  分配给导入用户的角色id
+     */
+    private void execute(ImportProgress progress, Path path, ExportFormatEnum format, List<Long> roleIds) {
+        progress.status(ImportStatusEnum.RUNNING, null);
+        ObjectReader objectReader = jsonMapper.readerFor(SaveBasicUserRequest.class);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            RowReader rows = format == ExportFormatEnum.CSV
+                    ? new CsvRowReader(new CsvReader(reader), objectReader)
+                    : new NdjsonRowReader(reader, objectReader);
+            // 文件中已出现的邮箱
+            Set<String> emails = new HashSet<>();
+            CompletableFuture<List<SysBasicUser>> hashing = null;
+            List<Row> chunk;
+            while (!(chunk = this.parse(rows, emails, progress)).isEmpty()) {
+                CompletableFuture<List<SysBasicUser>> next = this.hash(this.excludeRegistered(chunk, progress),
+                        progress);
+                // 加密当前块的同时写入上一块
+                if (hashing != null) {
+                    this.insert(hashing.get(), roleIds, progress);
+                }
+                hashing = next;
+            }
+            if (hashing != null) {
+                this.insert(hashing.get(), roleIds, progress);
+            }
+            progress.status(ImportStatusEnum.COMPLETED, null);
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("导入用户失败，任务id：{}", progress.taskId, cause);
+            progress.status(ImportStatusEnum.FAILED,
+                    e instanceof InterruptedException ? "导入任务被中断。" : cause.getMessage());
+        } finally {
+            tasks.remove(progress);
+            deleteQuietly(path);
+        }
+    }
+
+    /**
+     * 解析与校验，读取到 {@value #CHUNK_SIZE} 条有效数据或文件结束为止
+     *
+     * @param rows     文件中的行
+     * @param emails   文件中已出现的邮箱，校验通过的行的邮箱会加入其中
+     * @param progress 任务进度
+     * @return 有效的行，文件结束时返回空列表
+     * @throws IOException 读取文件失败
+     */
+    private List<Row> parse(RowReader rows, Set<String> emails, ImportProgress progress) throws IOException {
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> errors = new ArrayList<>();
+        long parsed = 0;
+        long invalid = 0;
+        long duplicated = 0;
+        while (chunk.size() < CHUNK_SIZE) {
+            SaveBasicUserRequest request;
+            try {
+                request = rows.next();
+            } catch (JacksonException e) {
+                parsed++;
+                invalid++;
+                errors.add(error(rows.line(), "格式错误，" + e.getOriginalMessage()));
+                continue;
+            }
+            if (request == null) {
+                break;
+            }
+            parsed++;
+            // 置空id，防止插入变修改
+            request.setId(null);
+            Set<ConstraintViolation<SaveBasicUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                invalid++;
+                errors.add(error(rows.line(), violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("；"))));
+            } else if (!emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                duplicated++;
+                errors.add(error(rows.line(), "邮箱在文件中重复。"));
+            } else {
+                chunk.add(new Row(rows.line(), request));
+            }
+        }
+        progress.increment(FIELD_PARSED, parsed);
+        progress.increment(FIELD_INVALID, invalid);
+        progress.increment(FIELD_DUPLICATED, duplicated);
+        progress.errors(errors);
+        return chunk;
+    }
+
+    /**
+     * 一次查询排除邮箱已被注册的行
+     *
+     * @param chunk    有效的行
+     * @param progress 任务进度
+     * @return 邮箱未被注册的行
+     */
+    private List<Row> excludeRegistered(List<Row> chunk, ImportProgress progress) {
+        List<String> emails = chunk.stream().map(row -> row.request().getEmail()).toList();
+        Set<String> registered = sysBasicUserMapper.selectList(Wrappers.lambdaQuery(SysBasicUser.class)
+                        .select(SysBasicUser::getEmail)
+                        .in(SysBasicUser::getEmail, emails))
+                .stream()
+                .map(e -> e.getEmail().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        if (registered.isEmpty()) {
+            return chunk;
+        }
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        List<String> errors = new ArrayList<>();
+        for (Row row : chunk) {
+            if (registered.contains(row.request().getEmail().toLowerCase(Locale.ROOT))) {
+                errors.add(error(row.line(), "邮箱已被注册。"));
+            } else {
+                fresh.add(row);
+            }
+        }
+        progress.increment(FIELD_DUPLICATED, errors.size());
+        progress.errors(errors);
+        return fresh;
+    }
+
+    /**
+     * 将行拆分为与加密线程数相同的份数并行加密密码
+     *
+     * @param rows     待写入的行
+     * @param progress 任务进度
+     * @return 转换后的用户
+     */
+    private CompletableFuture<List<SysBasicUser>> hash(List<Row> rows, ImportProgress progress) {
+        if (rows.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int sliceSize = (rows.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<List<SysBasicUser>>> slices = new ArrayList<>(parallelism);
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            List<Row> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> slice.stream().map(this::toEntity).toList(),
+                    hashExecutor));
+        }
+        return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<SysBasicUser> users = slices.stream().flatMap(slice -> slice.join().stream()).toList();
+            progress.increment(FIELD_HASHED, users.size());
+            return users;
+        });
+    }
+
+    /**
+     * 在一个事务中写入用户与用户角色
+     *
+     * @param users    用户
+     * @param roleIds  分配给用户的角色id
+     * @param progress 任务进度
+     */
+    private void insert(List<SysBasicUser> users, List<Long> roleIds, ImportProgress progress) {
+        if (users.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            sysBasicUserMapper.insertBatch(users);
+            if (!roleIds.isEmpty()) {
+                List<SysUserRole> userRoles = new ArrayList<>(users.size() * roleIds.size());
+                for (SysBasicUser user : users) {
+                    for (Long roleId : roleIds) {
+                        SysUserRole userRole = new SysUserRole();
+                        userRole.setUserId(user.getId());
+                        userRole.setRoleId(roleId);
+                        userRoles.add(userRole);
+                    }
+                }
+                sysUserRoleMapper.insertBatch(userRoles);
+                rbacGraphCache.userRolesChanged(users.stream().map(SysBasicUser::getId).toList());
+            }
+        });
+        progress.increment(FIELD_INSERTED, users.size());
+    }
+
+    /**
+     * 转为用户实体并加密密码，默认值与新增单个用户相同
+     *
+     * @param row 待写入的行
+     * @return 用户实体
+     */
+    private SysBasicUser toEntity(Row row) {
+        SaveBasicUserRequest request = row.request();
+        SysBasicUser sysBasicUser = new SysBasicUser();
+        BeanCopyUtils.copyProperties(request, sysBasicUser);
+        // 提前生成id，写入用户角色时使用
+        sysBasicUser.setId(IdWorker.getId());
+        if (ObjectUtils.isEmpty(request.getPassword())) {
+            // 无密码
+            sysBasicUser.setPassword("{noop}");
+        } else {
+            sysBasicUser.setPassword(passwordEncoder.encode(request.getPassword()));
+        }
+        sysBasicUser.setDeleted(0);
+        sysBasicUser.setEmailVerified(Boolean.FALSE);
+        if (sysBasicUser.getAccountPlatform() == null) {
+            sysBasicUser.setAccountPlatform(OAuth2AccountPlatformEnum.SYSTEM);
+        }
+        return sysBasicUser;
+    }
+
+    /**
+     * 根据文件扩展名获取文件格式
+     *
+     * @param fileName 文件名
+     * @return 文件格式
+     */
+    private static ExportFormatEnum formatOf(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if (extension != null) {
+            switch (extension.toLowerCase(Locale.ROOT)) {
+                case "csv" -> {
+                    return ExportFormatEnum.CSV;
+                }
+                case "ndjson", "jsonl" -> {
+                    return ExportFormatEnum.NDJSON;
+                }
+                default -> {
+                }
+            }
+        }
+        throw new CloudIllegalArgumentException("仅支持导入 csv 与 ndjson 文件。");
+    }
+
+    private static String error(long line, String reason) {
+        return "第 " + line + " 行：" + reason;
+    }
+
+    private static Long counter(Map<Object, Object> entries, String field) {
+        Object value = entries.get(field);
+        return value == null ? 0L : Long.valueOf((String) value);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除导入文件 {} 失败：{}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 文件中的一行
+     *
+     * @param line    行号，从 1 开始
+     * @param request 解析后的用户信息
+     */
+    private record Row(long line, SaveBasicUserRequest request) {
+    }
+
+    /**
+     * 逐行读取导入文件
+     */
+    private interface RowReader {
+
+        /**
+         * 读取下一行，跳过空行
+         *
+         * @return 解析后的用户信息，没有更多行时返回 null
+         * @throws IOException      读取文件失败，无法继续读取
+         * @throws JacksonException 当前行无法解析，可以继续读取下一行
+         */
+        SaveBasicUserRequest next() throws IOException;
+
+        /**
+         * @return 最后读取的行的行号，从 1 开始
+         */
+        long line();
+
+    }
+
+    /**
+     * csv，首行为表头，列名为 {@link SaveBasicUserRequest} 的属性名，空值视为未填写
+     */
+    private final class CsvRowReader implements RowReader {
+
+        private final CsvReader reader;
+
+        private final ObjectReader objectReader;
+
+        private List<String> headers;
+
+        private CsvRowReader(CsvReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public SaveBasicUserRequest next() throws IOException {
+            if (this.headers == null) {
+                List<String> headers = this.reader.next();
+                if (headers == null) {
+                    return null;
+                }
+                this.headers = headers.stream().map(String::trim).toList();
+            }
+            List<String> values;
+            do {
+                values = this.reader.next();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.getFirst().isBlank());
+
+            ObjectNode node = jsonMapper.createObjectNode();
+            for (int i = 0; i < Math.min(values.size(), this.headers.size()); i++) {
+                if (!values.get(i).isBlank()) {
+                    node.put(this.headers.get(i), values.get(i).trim());
+                }
+            }
+            return this.objectReader.readValue(node);
+        }
+
+        @Override
+        public long line() {
+            return this.reader.getLineNumber();
+        }
+
+    }
+
+    /**
+     * ndjson，每行一个 json 对象
+     */
+    private static final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private final ObjectReader objectReader;
+
+        private long line;
+
+        private NdjsonRowReader(BufferedReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public SaveBasicUserRequest next() throws IOException {
+            String value;
+            do {
+                value = this.reader.readLine();
+                if (value == null) {
+                    return null;
+                }
+                this.line++;
+            } while (value.isBlank());
+            return this.objectReader.readValue(value);
+        }
+
+        @Override
+        public long line() {
+            return this.line;
+        }
+
+    }
+
+    /**
+     * 保存在 Redis hash 中的任务进度，计数器通过 HINCRBY 累加，可以在多个线程中更新
+     */
+    private final class ImportProgress {
+
+        private final String taskId;
+
+        private final String key;
+
+        /**
+         * 已记录的错误条数
+         */
+        private final AtomicInteger errorCount = new AtomicInteger();
+
+        private ImportProgress(String taskId) {
+            this.taskId = taskId;
+            this.key = AuthorizeConstants.USER_IMPORT_PREFIX + taskId;
+        }
+
+        private static String errorsKey(String key) {
+            return key + ":errors";
+        }
+
+        /**
+         * 初始化进度
+         *
+         * @param submitter 提交人id
+         */
+        private void start(String submitter) {
+            Map<String, String> initial = new HashMap<>();
+            initial.put(FIELD_SUBMITTER, submitter);
+            initial.put(FIELD_STATUS, ImportStatusEnum.PENDING.getValue());
+            for (String field : List.of(FIELD_PARSED, FIELD_INVALID, FIELD_DUPLICATED, FIELD_HASHED,
+                    FIELD_INSERTED)) {
+                initial.put(field, "0");
+            }
+            stringRedisTemplate.opsForHash().putAll(this.key, initial);
+            stringRedisTemplate.expire(this.key, PROGRESS_TIMEOUT);
+        }
+
+        private void status(ImportStatusEnum status, String message) {
+            stringRedisTemplate.opsForHash().put(this.key, FIELD_STATUS, status.getValue());
+            if (message != null) {
+                stringRedisTemplate.opsForHash().put(this.key, FIELD_MESSAGE, message);
+            }
+            if (status == ImportStatusEnum.COMPLETED || status == ImportStatusEnum.FAILED) {
+                // 从任务结束时开始计算保留时间
+                stringRedisTemplate.expire(this.key, PROGRESS_TIMEOUT);
+                stringRedisTemplate.expire(errorsKey(this.key), PROGRESS_TIMEOUT);
+            }
+        }
+
+        private void increment(String field, long delta) {
+            if (delta > 0) {
+                stringRedisTemplate.opsForHash().increment(this.key, field, delta);
+            }
+        }
+
+        private void errors(List<String> errors) {
+            int remaining = MAX_ERRORS - this.errorCount.get();
+            if (errors.isEmpty() || remaining <= 0) {
+                return;
+            }
+            List<String> recorded = errors.size() > remaining ? errors.subList(0, remaining) : errors;
+            this.errorCount.addAndGet(recorded.size());
+            stringRedisTemplate.opsForList().rightPushAll(errorsKey(this.key), recorded);
+            stringRedisTemplate.expire(errorsKey(this.key), PROGRESS_TIMEOUT);
+        }
+
+    }
+
+}
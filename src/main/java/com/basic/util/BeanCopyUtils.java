@@ -0,0 +1,190 @@
+package com.basic.util;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 属性复制帮助类
+ * <p>
+ * 与 {@link BeanUtils#copyProperties(Object, Object)} 的规则相同：复制源对象中可读、目标对象中可写且类型兼容的同名属性，
+ * null 值同样复制(目标属性为基本类型时跳过)。每对 源类型 -> 目标类型 只在第一次复制时解析属性，
+ * 并通过 {@link LambdaMetafactory} 将 getter、setter 绑定为 {@link Function}、{@link BiConsumer}，
+ * 之后的复制不再查找属性描述符，也不经过反射调用。
+ * </p>
+ *
+ * @author vains
+ */
+@Slf4j
+@UtilityClass
+public class BeanCopyUtils {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 源类型 -> 目标类型 -> 复制器，随类卸载
+     */
+    private static final ClassValue<ClassValue<Copier>> COPIERS = new ClassValue<>() {
+        @Override
+        protected ClassValue<Copier> computeValue(Class<?> sourceType) {
+            return new ClassValue<>() {
+                @Override
+                protected Copier computeValue(Class<?> targetType) {
+                    return Copier.bind(sourceType, targetType);
+                }
+            };
+        }
+    };
+
+    /**
+     * 将源对象的属性复制到目标对象
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @throws FatalBeanException 复制失败
+     */
+    public static void copyProperties(Object source, Object target) {
+        Assert.notNull(source, "Source must not be null");
+        Assert.notNull(target, "Target must not be null");
+        COPIERS.get(source.getClass()).get(target.getClass()).copy(source, target);
+    }
+
+    /**
+     * 绑定 getter
+     *
+     * @param method getter
+     * @return 读取属性的函数
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+            MethodHandle handle = lookup.unreflect(method);
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class), handle,
+                            MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()),
+                                    declaringClass))
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            // 无法访问的类(例如未开放的模块)使用反射调用
+            log.debug("绑定 {} 失败，使用反射调用：{}", method, e.getMessage());
+            ReflectionUtils.makeAccessible(method);
+            return source -> ReflectionUtils.invokeMethod(method, source);
+        }
+    }
+
+    /**
+     * 绑定 setter
+     *
+     * @param method setter
+     * @return 写入属性的函数
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+            MethodHandle handle = lookup.unreflect(method);
+            return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                            MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class), handle,
+                            MethodType.methodType(void.class, declaringClass,
+                                    ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])))
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            log.debug("绑定 {} 失败，使用反射调用：{}", method, e.getMessage());
+            ReflectionUtils.makeAccessible(method);
+            return (target, value) -> ReflectionUtils.invokeMethod(method, target, value);
+        }
+    }
+
+    /**
+     * 一个需要复制的属性
+     *
+     * @param name      属性名
+     * @param getter    读取源对象的属性
+     * @param setter    写入目标对象的属性
+     * @param primitive 目标属性是否为基本类型，基本类型不能写入 null
+     */
+    private record Property(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter,
+                            boolean primitive) {
+    }
+
+    /**
+     * 源类型 -> 目标类型 的复制器
+     *
+     * @param properties 需要复制的属性
+     */
+    private record Copier(Property[] properties) {
+
+        /**
+         * 解析两个类型之间需要复制的属性，规则与 {@link BeanUtils#copyProperties(Object, Object)} 相同
+         *
+         * @param sourceType 源类型
+         * @param targetType 目标类型
+         * @return 复制器
+         */
+        private static Copier bind(Class<?> sourceType, Class<?> targetType) {
+            List<Property> properties = new ArrayList<>();
+            for (PropertyDescriptor targetPd : BeanUtils.getPropertyDescriptors(targetType)) {
+                Method writeMethod = targetPd.getWriteMethod();
+                if (writeMethod == null) {
+                    continue;
+                }
+                PropertyDescriptor sourcePd = BeanUtils.getPropertyDescriptor(sourceType, targetPd.getName());
+                if (sourcePd == null || sourcePd.getReadMethod() == null) {
+                    continue;
+                }
+                Method readMethod = sourcePd.getReadMethod();
+                ResolvableType sourceResolvableType = ResolvableType.forMethodReturnType(readMethod, sourceType);
+                ResolvableType targetResolvableType = ResolvableType.forMethodParameter(writeMethod, 0, targetType);
+                // 无法解析泛型时只比较原始类型
+                boolean assignable = sourceResolvableType.hasUnresolvableGenerics()
+                        || targetResolvableType.hasUnresolvableGenerics()
+                        ? ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())
+                        : targetResolvableType.isAssignableFrom(sourceResolvableType);
+                if (assignable) {
+                    properties.add(new Property(targetPd.getName(), getter(readMethod), setter(writeMethod),
+                            writeMethod.getParameterTypes()[0].isPrimitive()));
+                }
+            }
+            return new Copier(properties.toArray(Property[]::new));
+        }
+
+        private void copy(Object source, Object target) {
+            for (Property property : this.properties) {
+                try {
+                    Object value = property.getter().apply(source);
+                    if (value != null || !property.primitive()) {
+                        property.setter().accept(target, value);
+                    }
+                } catch (RuntimeException e) {
+                    throw new FatalBeanException(
+                            "Could not copy property '" + property.name() + "' from source to target", e);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.basic.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 逐行读取 csv(RFC 4180)
+ * <p>
+ * 支持双引号包裹的值、值中的逗号、换行与转义的双引号("")；忽略开头的 BOM。
+ * 只在内存中保存当前行，调用方负责关闭 {@link Reader}。
+ * </p>
+ *
+ * @author vains
+ */
+public class CsvReader {
+
+    private final Reader reader;
+
+    /**
+     * 下一个字符，-2 表示未预读
+     */
+    private int peeked = -2;
+
+    /**
+     * 是否已读取第一个字符(用于跳过 BOM)
+     */
+    private boolean started;
+
+    /**
+     * 当前记录开始的物理行号，从 1 开始
+     */
+    private long lineNumber;
+
+    /**
+     * 已读取的物理行数
+     */
+    private long lines;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录中的值，没有更多记录时返回 null
+     * @throws IOException 读取失败
+     */
+    public List<String> next() throws IOException {
+        int c = this.read();
+        if (c == -1) {
+            return null;
+        }
+        this.lineNumber = this.lines + 1;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("第 " + this.lineNumber + " 行引号未闭合。");
+                }
+                if (c == '"') {
+                    int next = this.read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        this.lines++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && this.peek() == '\n') {
+                    this.read();
+                }
+                if (c != -1) {
+                    this.lines++;
+                }
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = this.read();
+        }
+    }
+
+    /**
+     * @return 最后读取的记录开始的行号，从 1 开始
+     */
+    public long getLineNumber() {
+        return this.lineNumber;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (this.peeked != -2) {
+            c = this.peeked;
+            this.peeked = -2;
+        } else {
+            c = this.reader.read();
+        }
+        if (!this.started) {
+            this.started = true;
+            if (c == '\uFEFF') {
+                c = this.reader.read();
+            }
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (this.peeked == -2) {
+            this.peeked = this.reader.read();
+        }
+        return this.peeked;
+    }
+
+}
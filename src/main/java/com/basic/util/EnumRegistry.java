@@ -0,0 +1,223 @@
+package com.basic.util;
+
+import com.baomidou.mybatisplus.annotation.IEnum;
+import com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler;
+import com.basic.enums.BasicEnum;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 枚举值 -> 枚举的查找表
+ * <p>
+ * 每个枚举类型只构建一次：枚举值为 {@link BasicEnum#getValue()}、{@link IEnum#getValue()} 或 {@code @EnumValue} 标注的字段，
+ * 构建时读取所有枚举的值并归一化：整数值(包括小数部分为 0 的数值)转为 long，小的非负整数直接按下标保存在数组中，
+ * 其它数值转为去掉末尾 0 的 {@link BigDecimal}，所有值另外按去掉首尾空白的字符串保存。
+ * 查找时数值按数值比较、其它类型按字符串比较，与 {@code MybatisEnumTypeHandler#equalsValue} 的规则相同，
+ * 值相同的多个枚举取第一个。字符串不会被解析为数值，例如 "01" 找不到值为 1 的枚举，需要时由调用方解析。
+ * </p>
+ *
+ * @param <E> 枚举类型
+ * @author vains
+ */
+public final class EnumRegistry<E extends Enum<E>> {
+
+    /**
+     * 按下标保存的整数值上限(不包含)
+     */
+    private static final int DENSE_LIMIT = 256;
+
+    private static final ClassValue<EnumRegistry<?>> REGISTRIES = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumRegistry<?> computeValue(Class<?> type) {
+            return new EnumRegistry(type);
+        }
+    };
+
+    private final Class<E> enumType;
+
+    /**
+     * 枚举值，下标为 {@link Enum#ordinal()}
+     */
+    private final Object[] values;
+
+    /**
+     * 0 到 {@value #DENSE_LIMIT} 之间的整数值 -> 枚举，下标为值
+     */
+    private final E[] dense;
+
+    /**
+     * 其它数值 -> 枚举，整数为 Long，非整数为 BigDecimal
+     */
+    private final Map<Object, E> numbers = new HashMap<>();
+
+    /**
+     * 字符串形式的值 -> 枚举
+     */
+    private final Map<String, E> texts = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private EnumRegistry(Class<E> enumType) {
+        if (!enumType.isEnum()) {
+            throw new IllegalArgumentException(enumType.getName() + " is not an enum type.");
+        }
+        this.enumType = enumType;
+        Function<E, Object> getter = valueGetter(enumType);
+        E[] constants = enumType.getEnumConstants();
+        this.values = new Object[constants.length];
+
+        int denseLength = 0;
+        for (E constant : constants) {
+            Object value = getter.apply(constant);
+            this.values[constant.ordinal()] = value;
+            Object number = normalize(value);
+            if (number instanceof Long l && l >= 0 && l < DENSE_LIMIT) {
+                denseLength = Math.max(denseLength, l.intValue() + 1);
+            }
+        }
+        this.dense = (E[]) Array.newInstance(enumType, denseLength);
+
+        for (E constant : constants) {
+            Object value = this.values[constant.ordinal()];
+            if (value == null) {
+                continue;
+            }
+            Object number = normalize(value);
+            if (number instanceof Long l && l >= 0 && l < denseLength) {
+                if (this.dense[l.intValue()] == null) {
+                    this.dense[l.intValue()] = constant;
+                }
+            } else if (number != null) {
+                this.numbers.putIfAbsent(number, constant);
+            }
+            this.texts.putIfAbsent(value.toString().trim(), constant);
+        }
+    }
+
+    /**
+     * 获取枚举类型的查找表
+     *
+     * @param enumType 枚举类型
+     * @param <E>      枚举类型
+     * @return 查找表
+     * @throws IllegalArgumentException 不是枚举类型，或者不是 {@link BasicEnum}、{@link IEnum}
+     *                                  且没有 {@code @EnumValue} 标注的字段
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumRegistry<E> of(Class<E> enumType) {
+        return (EnumRegistry<E>) REGISTRIES.get(enumType);
+    }
+
+    /**
+     * 根据值查找枚举
+     *
+     * @param value 枚举值，数值按数值比较，其它类型按去掉首尾空白的字符串比较
+     * @return 枚举，找不到时返回 null
+     */
+    public E get(Object value) {
+        if (value == null) {
+            return null;
+        }
+        E constant = null;
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            constant = this.getByLong(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            Object number = normalize(value);
+            constant = number instanceof Long l ? this.getByLong(l) : this.numbers.get(number);
+        }
+        if (constant == null) {
+            constant = this.texts.get(value.toString().trim());
+        }
+        return constant;
+    }
+
+    /**
+     * 获取枚举的值
+     *
+     * @param constant 枚举
+     * @return 构建时读取的值
+     */
+    public Object valueOf(E constant) {
+        return this.values[constant.ordinal()];
+    }
+
+    /**
+     * @return 枚举类型
+     */
+    public Class<E> getEnumType() {
+        return this.enumType;
+    }
+
+    private E getByLong(long value) {
+        return value >= 0 && value < this.dense.length ? this.dense[(int) value] : this.numbers.get(value);
+    }
+
+    /**
+     * 将数值转为 Long 或去掉末尾 0 的 BigDecimal
+     *
+     * @param value 值
+     * @return 数值，不是数值或无法转换时返回 null
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (!(value instanceof Number number)) {
+            return null;
+        }
+        BigDecimal decimal;
+        try {
+            decimal = switch (number) {
+                case BigDecimal d -> d;
+                case BigInteger i -> new BigDecimal(i);
+                default -> new BigDecimal(number.toString().trim());
+            };
+        } catch (NumberFormatException e) {
+            // NaN、Infinity
+            return null;
+        }
+        decimal = decimal.stripTrailingZeros();
+        if (decimal.scale() <= 0) {
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException e) {
+                // 超出 long 范围的整数按 BigDecimal 比较
+                return decimal;
+            }
+        }
+        return decimal;
+    }
+
+    /**
+     * 获取读取枚举值的函数
+     *
+     * @param enumType 枚举类型
+     * @return 读取枚举值的函数
+     */
+    private static <E extends Enum<E>> Function<E, Object> valueGetter(Class<E> enumType) {
+        if (BasicEnum.class.isAssignableFrom(enumType)) {
+            return e -> ((BasicEnum<?, ?>) e).getValue();
+        }
+        if (IEnum.class.isAssignableFrom(enumType)) {
+            return e -> ((IEnum<?>) e).getValue();
+        }
+        String name = MybatisEnumTypeHandler.findEnumValueFieldName(enumType).orElseThrow(() ->
+                new IllegalArgumentException(String.format("Could not find @EnumValue in Class: %s.",
+                        enumType.getName())));
+        Field field = ReflectionUtils.findField(enumType, name);
+        if (field == null) {
+            throw new IllegalArgumentException(String.format("Could not find field %s in Class: %s.", name,
+                    enumType.getName()));
+        }
+        ReflectionUtils.makeAccessible(field);
+        return e -> ReflectionUtils.getField(field, e);
+    }
+
+}
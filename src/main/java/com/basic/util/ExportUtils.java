@@ -0,0 +1,53 @@
+package com.basic.util;
+
+import com.basic.domain.request.ExportRequest;
+import com.basic.enums.ExportFormatEnum;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 导出响应工具类
+ *
+ * @author vains
+ */
+@UtilityClass
+public class ExportUtils {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 构建流式导出的响应，数据在请求线程返回后由异步线程直接写入响应输出流
+     *
+     * @param fileName 下载的文件名，不包含扩展名
+     * @param request  导出入参
+     * @param body     写入导出数据
+     * @return 响应
+     */
+    public static ResponseEntity<StreamingResponseBody> response(String fileName, ExportRequest request,
+                                                                 StreamingResponseBody body) {
+        ExportFormatEnum format = request.getFormat() == null ? ExportFormatEnum.CSV : request.getFormat();
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(fileName + "." + format.getFormat(), StandardCharsets.UTF_8)
+                .build();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        if (!Boolean.TRUE.equals(request.getGzip())) {
+            return builder.body(body);
+        }
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    body.writeTo(gzip);
+                    gzip.finish();
+                });
+    }
+
+}
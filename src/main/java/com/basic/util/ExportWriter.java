@@ -0,0 +1,186 @@
+package com.basic.util;
+
+import com.basic.domain.model.ExportColumn;
+import com.basic.enums.BasicEnum;
+import com.basic.enums.ExportFormatEnum;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static com.basic.constant.DateFormatConstants.DEFAULT_DATE_FORMAT;
+import static com.basic.constant.DateFormatConstants.DEFAULT_DATE_TIME_FORMAT;
+
+/**
+ * 逐行写入导出数据
+ * <p>
+ * 每行写入缓冲区，缓冲区满时写入输出流，不在内存中保存已写入的行；
+ * 写入完成后调用 {@link #finish()} 刷新缓冲区，输出流由调用方关闭。
+ * </p>
+ *
+ * @param <T> 行数据类型
+ * @author vains
+ */
+public abstract class ExportWriter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 创建导出写入器
+     *
+     * @param format     导出格式，为 null 时导出 csv
+     * @param out        输出流
+     * @param columns    csv 的列
+     * @param jsonMapper ndjson 使用的 JsonMapper，与接口响应的序列化方式相同
+     * @param <T>        行数据类型
+     * @return 导出写入器
+     */
+    public static <T> ExportWriter<T> of(ExportFormatEnum format, OutputStream out,
+                                         List<ExportColumn<T>> columns, JsonMapper jsonMapper) {
+        return switch (format == null ? ExportFormatEnum.CSV : format) {
+            case CSV -> new CsvWriter<>(out, columns);
+            case NDJSON -> new NdjsonWriter<>(out, jsonMapper);
+        };
+    }
+
+    /**
+     * 写入一行
+     *
+     * @param row 行数据
+     * @throws UncheckedIOException 写入输出流失败，通常是客户端断开连接
+     */
+    public abstract void write(T row);
+
+    /**
+     * 刷新缓冲区
+     *
+     * @throws UncheckedIOException 写入输出流失败
+     */
+    public abstract void finish();
+
+    /**
+     * csv：RFC 4180，包含逗号、引号或换行的值使用双引号包裹
+     */
+    private static final class CsvWriter<T> extends ExportWriter<T> {
+
+        private static final DateTimeFormatter DATE_TIME_FORMATTER =
+                DateTimeFormatter.ofPattern(DEFAULT_DATE_TIME_FORMAT);
+
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT);
+
+        private static final String FORMULA_PREFIXES = "=+-@";
+
+        private final Writer writer;
+
+        private final List<ExportColumn<T>> columns;
+
+        private CsvWriter(OutputStream out, List<ExportColumn<T>> columns) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.columns = columns;
+            try {
+                // BOM，Excel 按 UTF-8 打开
+                writer.write('\uFEFF');
+                for (int i = 0; i < columns.size(); i++) {
+                    this.writeCell(i, columns.get(i).title());
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(T row) {
+            try {
+                for (int i = 0; i < columns.size(); i++) {
+                    Object value = columns.get(i).value().apply(row);
+                    String text = format(value);
+                    // 防止以公式开头的文本在表格软件中被执行
+                    if (value instanceof CharSequence && !text.isEmpty()
+                            && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                        text = "'" + text;
+                    }
+                    this.writeCell(i, text);
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeCell(int index, String value) throws IOException {
+            if (index > 0) {
+                writer.write(',');
+            }
+            if (value.isEmpty()) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static String format(Object value) {
+            return switch (value) {
+                case null -> "";
+                case LocalDateTime dateTime -> DATE_TIME_FORMATTER.format(dateTime);
+                case LocalDate date -> DATE_FORMATTER.format(date);
+                case BasicEnum<?, ?> basicEnum -> String.valueOf(basicEnum.getValue());
+                default -> value.toString();
+            };
+        }
+
+    }
+
+    /**
+     * ndjson：每行一个 JSON 对象
+     */
+    private static final class NdjsonWriter<T> extends ExportWriter<T> {
+
+        private final ObjectWriter objectWriter;
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(OutputStream out, JsonMapper jsonMapper) {
+            // 每行写入后不刷新，由生成器的缓冲区决定何时写入输出流
+            this.objectWriter = jsonMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n");
+            this.generator = objectWriter.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(T row) {
+            objectWriter.writeValue(generator, row);
+        }
+
+        @Override
+        public void finish() {
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.basic.util;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 不可修改的 long 键哈希表
+ * <p>
+ * 使用开放寻址法，key 以 long 数组保存，查询时不需要装箱；修改时返回修改后的新实例(copy-on-write)，原实例不变，
+ * 适合读多写少、需要在多个线程间共享快照的场景。值不允许为 null。
+ * </p>
+ *
+ * @param <V> 值的类型
+ * @author vains
+ */
+public final class LongObjectMap<V> {
+
+    private static final LongObjectMap<?> EMPTY = new LongObjectMap<>(new long[2], new Object[2], 0);
+
+    private final long[] keys;
+
+    /**
+     * 值，为 null 时表示对应的位置为空
+     */
+    private final Object[] values;
+
+    private final int size;
+
+    private LongObjectMap(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongObjectMap<V> empty() {
+        return (LongObjectMap<V>) EMPTY;
+    }
+
+    /**
+     * 根据 map 构建
+     *
+     * @param map 键值对，值为 null 的会被忽略
+     * @param <V> 值的类型
+     * @return LongObjectMap
+     */
+    public static <V> LongObjectMap<V> of(Map<Long, ? extends V> map) {
+        return empty().withAll(map);
+    }
+
+    /**
+     * 获取 key 对应的值
+     *
+     * @param key key
+     * @return 值，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = this.keys.length - 1;
+        for (int i = index(key, mask); this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return (V) this.values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 键值对数量
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 遍历所有键值对
+     *
+     * @param action 处理每个键值对
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<Long, ? super V> action) {
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null) {
+                action.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * 批量修改，返回修改后的新实例
+     *
+     * @param changes 修改的键值对，值为 null 时表示删除
+     * @return 修改后的新实例
+     */
+    @SuppressWarnings("unchecked")
+    public LongObjectMap<V> withAll(Map<Long, ? extends V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        int capacity = capacity(this.size + changes.size());
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int newSize = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null && !changes.containsKey(this.keys[i])) {
+                put(newKeys, newValues, this.keys[i], this.values[i]);
+                newSize++;
+            }
+        }
+        for (Map.Entry<Long, ? extends V> entry : changes.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                put(newKeys, newValues, entry.getKey(), entry.getValue());
+                newSize++;
+            }
+        }
+        return newSize == 0 ? (LongObjectMap<V>) EMPTY : new LongObjectMap<>(newKeys, newValues, newSize);
+    }
+
+    private static void put(long[] keys, Object[] values, long key, Object value) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * 负载因子不超过 0.5 的 2 的幂容量
+     */
+    private static int capacity(int size) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1);
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+}
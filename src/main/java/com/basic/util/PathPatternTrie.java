@@ -0,0 +1,183 @@
+package com.basic.util;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按路径段构建的路径匹配前缀树
+ * <p>
+ * 支持完整路径段的 {@code {var}}、{@code *} 以及 {@code **}，匹配时按路径段逐层查找，耗时与路径深度成正比，与规则数量无关；
+ * 优先级：普通路径段 &gt; {@code {var}}/{@code *} &gt; {@code **}。
+ * 路径段中只有部分通配符(e.g. {@code file-*.txt})、带正则的变量(e.g. {@code {id:\d+}})或 {@code **} 不在末尾的规则，
+ * 先按通配符路径段定位，命中后再使用 {@link AntPathMatcher} 校验。
+ * 构建完成后不应再修改，修改时重新构建一个新的实例替换。
+ * </p>
+ *
+ * @param <T> 规则对应的值类型
+ * @author vains
+ */
+public class PathPatternTrie<T> {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final String WILDCARD = "*";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Node<T> root = new Node<>();
+
+    private int size;
+
+    /**
+     * 添加规则，同一路径规则重复添加时先添加的优先
+     *
+     * @param pattern 路径规则
+     * @param value   规则对应的值
+     */
+    public void add(String pattern, T value) {
+        String[] segments = split(pattern);
+        Node<T> node = this.root;
+        boolean verify = false;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (DOUBLE_WILDCARD.equals(segment) || segment.startsWith("{*")) {
+                // ** 不在末尾或者前面有需要校验的路径段时无法只通过前缀树判断
+                node.rest.add(new Leaf<>(i < segments.length - 1 || verify ? pattern : null, value));
+                this.size++;
+                return;
+            }
+            if (isVariable(segment)) {
+                node = node.wildcard == null ? (node.wildcard = new Node<>()) : node.wildcard;
+            } else if (hasWildcard(segment)) {
+                verify = true;
+                node = node.wildcard == null ? (node.wildcard = new Node<>()) : node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node<>());
+            }
+        }
+        node.exact.add(new Leaf<>(verify ? pattern : null, value));
+        this.size++;
+    }
+
+    /**
+     * 查找与路径匹配的规则
+     *
+     * @param path 请求路径
+     * @return 规则对应的值，没有匹配的规则时返回 null
+     */
+    public T match(String path) {
+        return match(this.root, split(path), 0, path);
+    }
+
+    /**
+     * @return 规则数量
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private static <T> T match(Node<T> node, String[] segments, int index, String path) {
+        if (index == segments.length) {
+            T value = resolve(node.exact, path);
+            // ** 也可以匹配 0 个路径段
+            return value != null ? value : resolve(node.rest, path);
+        }
+        Node<T> literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            T value = match(literal, segments, index + 1, path);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (node.wildcard != null) {
+            T value = match(node.wildcard, segments, index + 1, path);
+            if (value != null) {
+                return value;
+            }
+        }
+        return resolve(node.rest, path);
+    }
+
+    private static <T> T resolve(List<Leaf<T>> leaves, String path) {
+        for (Leaf<T> leaf : leaves) {
+            if (leaf.pattern() == null || PATH_MATCHER.match(leaf.pattern(), path)) {
+                return leaf.value();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 是否为可以匹配任意路径段的 {@code *} 或 {@code {var}}，带正则的 {@code {var:regex}} 需要校验
+     *
+     * @param segment 路径段
+     * @return 是否可以匹配任意路径段
+     */
+    private static boolean isVariable(String segment) {
+        return WILDCARD.equals(segment)
+                || (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('}') == segment.length() - 1
+                && segment.indexOf(':') < 0);
+    }
+
+    private static boolean hasWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * 按 / 拆分路径，忽略空路径段
+     *
+     * @param path 路径
+     * @return 路径段
+     */
+    private static String[] split(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static final class Node<T> {
+
+        /**
+         * 普通路径段
+         */
+        private final Map<String, Node<T>> literals = new HashMap<>();
+
+        /**
+         * 在当前节点结束的规则
+         */
+        private final List<Leaf<T>> exact = new ArrayList<>(1);
+
+        /**
+         * 以 ** 结尾的规则
+         */
+        private final List<Leaf<T>> rest = new ArrayList<>(1);
+
+        /**
+         * {var}、* 以及包含通配符的路径段
+         */
+        private Node<T> wildcard;
+    }
+
+    /**
+     * 规则
+     *
+     * @param pattern 命中后还需要校验的完整路径规则，不需要校验时为 null
+     * @param value   规则对应的值
+     */
+    private record Leaf<T>(String pattern, T value) {
+    }
+
+}
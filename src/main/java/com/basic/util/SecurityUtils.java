@@ -1,6 +1,9 @@
 package com.basic.util;
 
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.model.BasicOAuth2AuthenticatedPrincipal;
 import com.basic.domain.model.BasicUserDetails;
+import com.basic.domain.model.BitSetAuthorities;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.experimental.UtilityClass;
@@ -10,9 +13,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.BearerTokenError;
 import org.springframework.security.oauth2.server.resource.BearerTokenErrorCodes;
 import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
@@ -36,7 +41,7 @@ public class SecurityUtils {
     /**
      * 获取当前登录用户
      *
-     * @return 当前登录用户
+     * @return 当前登录用户，资源服务中为用户信息快照的副本，修改不会影响其它请求
      */
     public static BasicUserDetails getLoginUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -46,10 +51,25 @@ public class SecurityUtils {
 
         // 获取当前认证信息
         Object principal = authentication.getPrincipal();
+        if (principal instanceof BasicOAuth2AuthenticatedPrincipal authenticatedPrincipal) {
+            return authenticatedPrincipal.toUserDetails();
+        }
         if (principal instanceof BasicUserDetails userDetails) {
             // 获取当前用户 id
             return userDetails;
         }
+        if (principal instanceof Jwt jwt) {
+            // 无状态模式下从 jwt 中获取基础信息
+            String userId = jwt.getClaimAsString(AuthorizeConstants.CLAIM_USER_ID);
+            if (userId == null) {
+                return null;
+            }
+            BasicUserDetails userDetails = new BasicUserDetails();
+            userDetails.setId(Long.valueOf(userId));
+            userDetails.setNickname(jwt.getSubject());
+            userDetails.setAuthorities(authentication.getAuthorities());
+            return userDetails;
+        }
         return null;
     }
 
@@ -59,6 +79,12 @@ public class SecurityUtils {
      * @return 当前登录用户的 id
      */
     public static String getLoginUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof BasicOAuth2AuthenticatedPrincipal principal) {
+            // 只读取 id，不复制用户信息
+            return String.valueOf(principal.getId());
+        }
         BasicUserDetails loginUser = getLoginUser();
         if (loginUser == null) {
             return null;
@@ -67,6 +93,34 @@ public class SecurityUtils {
         return String.valueOf(loginUser.getId());
     }
 
+    /**
+     * 判断认证信息是否拥有任意一个指定权限，用户信息中为位图权限时只需要检查对应的位
+     *
+     * @param authentication 认证信息
+     * @param authorities    权限标识
+     * @return 拥有任意一个时返回 true
+     */
+    public static boolean hasAnyAuthority(Authentication authentication, String... authorities) {
+        if (authentication == null) {
+            return false;
+        }
+        if (authentication.getAuthorities() instanceof BitSetAuthorities bitSetAuthorities) {
+            return bitSetAuthorities.hasAnyAuthority(authorities);
+        }
+        if (authentication.getPrincipal() instanceof BasicUserDetails userDetails
+                && userDetails.getAuthorities() instanceof BitSetAuthorities bitSetAuthorities) {
+            return bitSetAuthorities.hasAnyAuthority(authorities);
+        }
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            for (String authority : authorities) {
+                if (authority.equals(grantedAuthority.getAuthority())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * 认证与鉴权失败回调
      *
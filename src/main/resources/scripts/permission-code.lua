@@ -0,0 +1,22 @@
+-- 为权限标识分配编码，已分配的直接返回；编码从 0 开始由计数器连续分配且不会回收
+-- KEYS[1] 权限编码字典key，KEYS[2] 权限编码计数器key(值为已分配的编码数量)
+-- ARGV 权限标识
+if redis.call('EXISTS', KEYS[2]) == 0 then
+    -- 计数器不存在时(首次使用或由字典大小分配编码的旧数据)，从已分配的最大编码之后开始
+    local sequence = 0
+    for _, code in ipairs(redis.call('HVALS', KEYS[1])) do
+        sequence = math.max(sequence, tonumber(code) + 1)
+    end
+    redis.call('SET', KEYS[2], sequence)
+end
+
+local codes = {}
+for i, authority in ipairs(ARGV) do
+    local code = redis.call('HGET', KEYS[1], authority)
+    if not code then
+        code = redis.call('INCR', KEYS[2]) - 1
+        redis.call('HSET', KEYS[1], authority, code)
+    end
+    codes[i] = tonumber(code)
+end
+return codes
@@ -0,0 +1,21 @@
+-- 签发令牌时一次性写入会话与刷新令牌，保证原子性
+-- KEYS[1] 会话key，KEYS[2] 用户会话索引key，KEYS[3] 刷新令牌key
+-- ARGV[1] 用户信息，ARGV[2] jti，ARGV[3] 会话有效期(秒)，ARGV[4] 绝对过期时间戳(毫秒)，ARGV[5] 刷新令牌有效期(秒)，ARGV[6] 用户id
+-- ARGV[7] 当前时间戳(毫秒)
+local sessionExpire = tonumber(ARGV[3])
+local now = tonumber(ARGV[7])
+
+redis.call('SET', KEYS[1], ARGV[1], 'EX', sessionExpire)
+
+-- 用户会话索引以会话过期时间为 score，写入时清除已过期的 jti；索引的有效期取该用户所有会话中最长的一个
+redis.call('ZADD', KEYS[2], now + sessionExpire * 1000, ARGV[2])
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+if redis.call('TTL', KEYS[2]) < sessionExpire then
+    redis.call('EXPIRE', KEYS[2], sessionExpire)
+end
+
+-- 刷新令牌与绝对过期时间存储在同一个 hash 中
+redis.call('HSET', KEYS[3], 'user', ARGV[1], 'expire', ARGV[4], 'uid', ARGV[6])
+redis.call('EXPIRE', KEYS[3], tonumber(ARGV[5]))
+
+return 1
@@ -0,0 +1,15 @@
+-- 删除已过期的 token 吊销记录，在脚本中比较后删除，避免删除读取后被重新吊销的记录
+-- KEYS[1] token 吊销列表key
+-- ARGV[1] 过期时间戳(毫秒)，版本不大于该值的记录都已过期
+local expiredBefore = tonumber(ARGV[1])
+local entries = redis.call('HGETALL', KEYS[1])
+local expired = {}
+for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) <= expiredBefore then
+        expired[#expired + 1] = entries[i]
+    end
+end
+for i = 1, #expired, 1000 do
+    redis.call('HDEL', KEYS[1], unpack(expired, i, math.min(i + 999, #expired)))
+end
+return #expired
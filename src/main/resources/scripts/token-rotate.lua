@@ -0,0 +1,53 @@
+-- 刷新令牌轮换：校验、作废旧的刷新令牌并签发新的会话与刷新令牌，保证原子性
+-- 会话key与用户会话索引key由脚本根据读取到的 jti、uid 拼接，这些 key 不在同一个 slot，脚本只适用于单机或哨兵模式的 Redis
+-- KEYS[1] 旧刷新令牌key，KEYS[2] 旧刷新令牌的轮换记录key，KEYS[3] 新刷新令牌key，KEYS[4] 新会话key
+-- ARGV[1] 当前时间戳(毫秒)，ARGV[2] 新刷新令牌，ARGV[3] 新 jti，ARGV[4] 会话有效期(秒)，ARGV[5] 刷新令牌单次有效期(秒)
+-- ARGV[6] 宽限期(秒)，ARGV[7] 会话key前缀，ARGV[8] 用户会话索引key前缀，ARGV[9] 签发时间(秒)，ARGV[10] 过期时间(秒)
+-- 返回值：{0} 无效，{1} 已过绝对过期时间，{2, 用户信息} 轮换成功，{3, 用户信息, 刷新令牌, jti, 签发时间, 过期时间} 宽限期内的重复刷新
+local now = tonumber(ARGV[1])
+
+-- 宽限期内的重复刷新直接返回已轮换的结果
+local rotated = redis.call('HMGET', KEYS[2], 'refresh', 'jti', 'iat', 'exp')
+if rotated[1] then
+    local user = redis.call('GET', ARGV[7] .. rotated[2])
+    if not user then
+        return { 0 }
+    end
+    return { 3, user, rotated[1], rotated[2], rotated[3], rotated[4] }
+end
+
+local old = redis.call('HMGET', KEYS[1], 'user', 'expire', 'uid')
+if not old[1] or not old[2] or not old[3] then
+    return { 0 }
+end
+
+redis.call('DEL', KEYS[1])
+
+local absoluteExpire = tonumber(old[2])
+if now > absoluteExpire then
+    return { 1 }
+end
+
+-- 新的刷新令牌继承剩余的绝对有效期
+local refreshExpire = math.min(tonumber(ARGV[5]), math.floor((absoluteExpire - now) / 1000))
+if refreshExpire < 1 then
+    refreshExpire = 1
+end
+redis.call('HSET', KEYS[3], 'user', old[1], 'expire', old[2], 'uid', old[3])
+redis.call('EXPIRE', KEYS[3], refreshExpire)
+
+-- 新会话
+local sessionExpire = tonumber(ARGV[4])
+redis.call('SET', KEYS[4], old[1], 'EX', sessionExpire)
+local userSessionsKey = ARGV[8] .. old[3]
+redis.call('ZADD', userSessionsKey, now + sessionExpire * 1000, ARGV[3])
+redis.call('ZREMRANGEBYSCORE', userSessionsKey, '-inf', now)
+if redis.call('TTL', userSessionsKey) < sessionExpire then
+    redis.call('EXPIRE', userSessionsKey, sessionExpire)
+end
+
+-- 轮换记录，宽限期内的重复刷新返回相同的结果
+redis.call('HSET', KEYS[2], 'refresh', ARGV[2], 'jti', ARGV[3], 'iat', ARGV[9], 'exp', ARGV[10])
+redis.call('EXPIRE', KEYS[2], tonumber(ARGV[6]))
+
+return { 2, old[1] }
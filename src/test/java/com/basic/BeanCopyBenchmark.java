@@ -0,0 +1,86 @@
+package com.basic;
+
+import com.basic.domain.entity.SysBasicUser;
+import com.basic.domain.response.FindBasicUserResponse;
+import com.basic.enums.GenderEnum;
+import com.basic.enums.OAuth2AccountPlatformEnum;
+import com.basic.util.BeanCopyUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 BeanUtils(每次查找属性描述符并反射调用)与 BeanCopyUtils(绑定好的 getter、setter)复制实体到响应的吞吐量与分配速率
+ * <p>
+ * 结果中关注 gc.alloc.rate.norm(每次操作分配的字节数)
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanCopyBenchmark {
+
+    private SysBasicUser user;
+
+    @Setup
+    public void setup() {
+        user = new SysBasicUser();
+        user.setId(1949423372845867009L);
+        user.setUsername("admin");
+        user.setNickname("管理员");
+        user.setEmail("admin@example.com");
+        user.setEmailVerified(Boolean.TRUE);
+        user.setGender(GenderEnum.MALE);
+        user.setPassword("{noop}");
+        user.setBirthdate(LocalDate.of(2000, 1, 1));
+        user.setPhoneNumber("13800000000");
+        user.setAddress("北京市");
+        user.setDeleted(0);
+        user.setAccountPlatform(OAuth2AccountPlatformEnum.SYSTEM);
+        user.setCreateTime(LocalDateTime.now());
+        user.setUpdateTime(LocalDateTime.now());
+    }
+
+    /**
+     * 原有方式：Spring BeanUtils
+     */
+    @Benchmark
+    public FindBasicUserResponse beanUtils() {
+        FindBasicUserResponse response = new FindBasicUserResponse();
+        BeanUtils.copyProperties(user, response);
+        return response;
+    }
+
+    /**
+     * 绑定方式：BeanCopyUtils
+     */
+    @Benchmark
+    public FindBasicUserResponse beanCopyUtils() {
+        FindBasicUserResponse response = new FindBasicUserResponse();
+        BeanCopyUtils.copyProperties(user, response);
+        return response;
+    }
+
+    /**
+     * 在 IDE 中运行，或者 mvn test-compile exec:exec -Pbenchmark -Dbenchmark=BeanCopyBenchmark
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BeanCopyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
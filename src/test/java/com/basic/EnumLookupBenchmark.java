@@ -0,0 +1,96 @@
+package com.basic;
+
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.basic.enums.GenderEnum;
+import com.basic.util.EnumRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比读取结果集时遍历枚举(每次比较转字符串与 BigDecimal)与查表将数据库中的值转为枚举的吞吐量与分配速率
+ * <p>
+ * 每次操作转换一页(1000 行)的性别字段，结果中关注 gc.alloc.rate.norm(每次操作分配的字节数)
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLookupBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private Integer[] values;
+
+    private EnumRegistry<GenderEnum> registry;
+
+    @Setup
+    public void setup() {
+        Integer[] genders = {0, 1, 2, 9};
+        values = new Integer[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            values[i] = genders[i % genders.length];
+        }
+        registry = EnumRegistry.of(GenderEnum.class);
+    }
+
+    /**
+     * 原有方式：遍历枚举并逐个比较
+     */
+    @Benchmark
+    public void streamConstants(Blackhole blackhole) {
+        for (Integer value : values) {
+            blackhole.consume(Arrays.stream(GenderEnum.class.getEnumConstants())
+                    .filter(e -> equalsValue(value, e.getValue()))
+                    .findAny()
+                    .orElse(null));
+        }
+    }
+
+    /**
+     * 查表方式：EnumRegistry
+     */
+    @Benchmark
+    public void registry(Blackhole blackhole) {
+        for (Integer value : values) {
+            blackhole.consume(registry.get(value));
+        }
+    }
+
+    /**
+     * 原来 MybatisBasicEnumTypeHandler 中的值比较
+     */
+    private static boolean equalsValue(Object sourceValue, Object targetValue) {
+        String sValue = StringUtils.toStringTrim(sourceValue);
+        String tValue = StringUtils.toStringTrim(targetValue);
+        if (sourceValue instanceof Number && targetValue instanceof Number
+                && new BigDecimal(sValue).compareTo(new BigDecimal(tValue)) == 0) {
+            return true;
+        }
+        return Objects.equals(sValue, tValue);
+    }
+
+    /**
+     * 在 IDE 中运行，或者 mvn test-compile exec:exec -Pbenchmark -Dbenchmark=EnumLookupBenchmark
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EnumLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
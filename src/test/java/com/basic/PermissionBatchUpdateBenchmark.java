@@ -0,0 +1,111 @@
+package com.basic;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.basic.domain.entity.SysPermission;
+import com.basic.domain.request.SavePermissionRequest;
+import com.basic.enums.PermissionTypeEnum;
+import com.basic.service.SysPermissionService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 对比逐条查询(冲突检查、审计信息、saveOrUpdateBatch)与集合查询加批量写入的批量修改权限耗时，数据在事务结束时回滚
+ */
+@SpringBootTest
+class PermissionBatchUpdateBenchmark {
+
+    private static final String PATH_PREFIX = "/latency-test/permission/";
+
+    @Autowired
+    private SysPermissionService sysPermissionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1000, 10000})
+    void compareBatchUpdateLatency(int rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                List<SavePermissionRequest> requests = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    SavePermissionRequest request = new SavePermissionRequest();
+                    request.setName("latency-test-" + i);
+                    request.setTitle("latency-test-" + i);
+                    request.setPath(PATH_PREFIX + rows + "/" + i);
+                    request.setRequestMethod("GET");
+                    request.setPermissionType(PermissionTypeEnum.REST);
+                    request.setParentId(0L);
+                    requests.add(request);
+                }
+
+                long start = System.nanoTime();
+                sysPermissionService.batchUpdatePermissions(requests);
+                long insertNanos = System.nanoTime() - start;
+
+                // 修改刚插入的数据
+                Map<String, Long> ids = sysPermissionService.lambdaQuery()
+                        .select(SysPermission::getId, SysPermission::getPath)
+                        .likeRight(SysPermission::getPath, PATH_PREFIX + rows + "/")
+                        .list()
+                        .stream()
+                        .collect(Collectors.toMap(SysPermission::getPath, SysPermission::getId));
+                Assertions.assertEquals(rows, ids.size());
+                requests.forEach(request -> {
+                    request.setId(ids.get(request.getPath()));
+                    request.setDescription("updated");
+                });
+
+                start = System.nanoTime();
+                legacyBatchUpdate(requests);
+                long legacyNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                sysPermissionService.batchUpdatePermissions(requests);
+                long batchNanos = System.nanoTime() - start;
+
+                System.out.printf("%d 条，批量新增耗时(ms)：%.2f%n", rows, insertNanos / 1_000_000.0);
+                System.out.printf("%d 条，逐条查询修改耗时(ms)：%.2f%n", rows, legacyNanos / 1_000_000.0);
+                System.out.printf("%d 条，集合查询批量修改耗时(ms)：%.2f%n", rows, batchNanos / 1_000_000.0);
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    /**
+     * 原来的实现：每条数据查询一次是否冲突、查询一次原有信息，saveOrUpdateBatch 再逐条查询是否存在
+     */
+    private void legacyBatchUpdate(List<SavePermissionRequest> requests) {
+        for (SavePermissionRequest request : requests) {
+            LambdaQueryWrapper<SysPermission> wrapper = Wrappers.lambdaQuery(SysPermission.class)
+                    .eq(SysPermission::getRequestMethod, request.getRequestMethod())
+                    .eq(SysPermission::getPath, request.getPath())
+                    .ne(request.getId() != null, SysPermission::getId, request.getId());
+            Assertions.assertFalse(sysPermissionService.exists(wrapper));
+        }
+        List<SysPermission> permissions = requests.stream().map(request -> {
+            SysPermission permission = new SysPermission();
+            BeanUtils.copyProperties(request, permission);
+            sysPermissionService.getOptById(request.getId()).ifPresent(existing -> {
+                permission.setCreateBy(existing.getCreateBy());
+                permission.setCreateName(existing.getCreateName());
+                permission.setCreateTime(existing.getCreateTime());
+            });
+            return permission;
+        }).toList();
+        sysPermissionService.saveOrUpdateBatch(permissions);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.basic;
+
+import com.basic.domain.model.BasicOAuth2AuthenticatedPrincipal;
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.enums.GenderEnum;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比每次请求构建用户信息(复制属性 + 转换属性 Map)与共享用户信息快照的分配速率
+ * <p>
+ * 结果中关注 gc.alloc.rate.norm(每次操作分配的字节数)
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalSnapshotBenchmark {
+
+    private BasicUserDetails userDetails;
+
+    private BasicOAuth2AuthenticatedPrincipal snapshot;
+
+    @Setup
+    public void setup() {
+        userDetails = new BasicUserDetails();
+        userDetails.setId(1949423372845867009L);
+        userDetails.setUsername("admin");
+        userDetails.setNickname("管理员");
+        userDetails.setEmail("admin@example.com");
+        userDetails.setEmailVerified(Boolean.TRUE);
+        userDetails.setGender(GenderEnum.MALE);
+        userDetails.setBirthdate(LocalDate.of(2000, 1, 1));
+        userDetails.setPhoneNumber("13800000000");
+        userDetails.setCreateTime(LocalDateTime.now());
+        userDetails.setAuthorities(List.of(new SimpleGrantedAuthority("system:user:list"),
+                new SimpleGrantedAuthority("system:role:list"), new SimpleGrantedAuthority("system:permission:list")));
+
+        snapshot = BasicOAuth2AuthenticatedPrincipal.of(userDetails);
+        snapshot.getAttributes();
+    }
+
+    /**
+     * 原有方式：每次请求复制属性并转换属性 Map
+     */
+    @Benchmark
+    public void perRequestConversion(Blackhole blackhole) {
+        BasicOAuth2AuthenticatedPrincipal principal = BasicOAuth2AuthenticatedPrincipal.of(userDetails);
+        blackhole.consume(principal);
+        blackhole.consume(principal.getAttributes());
+    }
+
+    /**
+     * 快照方式：构建一次后共享，请求中只读取
+     */
+    @Benchmark
+    public void sharedSnapshot(Blackhole blackhole) {
+        blackhole.consume(snapshot);
+        blackhole.consume(snapshot.getAttributes());
+    }
+
+    /**
+     * 在 IDE 中运行，或者 mvn test-compile exec:exec -Pbenchmark -Dbenchmark=PrincipalSnapshotBenchmark
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PrincipalSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
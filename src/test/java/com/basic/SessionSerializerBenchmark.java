@@ -0,0 +1,109 @@
+package com.basic;
+
+import com.basic.configuration.redis.BasicUserDetailsRedisSerializer;
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.enums.GenderEnum;
+import com.basic.util.RedisConfigUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比用户信息使用 json(默认类型信息) 与二进制格式序列化的大小与耗时
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionSerializerBenchmark {
+
+    @Param({"10", "1000"})
+    private int authorityCount;
+
+    private GenericJacksonJsonRedisSerializer jsonSerializer;
+
+    private BasicUserDetailsRedisSerializer binarySerializer;
+
+    private BasicUserDetails userDetails;
+
+    private byte[] jsonBytes;
+
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        JsonMapper.Builder builder = RedisConfigUtils.buildRedisObjectMapper(JsonMapper.builder());
+        jsonSerializer = new GenericJacksonJsonRedisSerializer(builder.build());
+        binarySerializer = new BasicUserDetailsRedisSerializer(jsonSerializer);
+
+        userDetails = new BasicUserDetails();
+        userDetails.setId(1949423372845867009L);
+        userDetails.setUsername("admin");
+        userDetails.setNickname("管理员");
+        userDetails.setEmail("admin@example.com");
+        userDetails.setEmailVerified(Boolean.TRUE);
+        userDetails.setGender(GenderEnum.MALE);
+        userDetails.setBirthdate(LocalDate.of(2000, 1, 1));
+        userDetails.setPhoneNumber("13800000000");
+        userDetails.setPassword("{bcrypt}$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        userDetails.setCreateTime(LocalDateTime.now());
+        userDetails.setUpdateTime(LocalDateTime.now());
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(new SimpleGrantedAuthority("system:module" + (i / 20) + ":operation" + i));
+        }
+        userDetails.setAuthorities(authorities);
+
+        jsonBytes = jsonSerializer.serialize(userDetails);
+        binaryBytes = binarySerializer.serialize(userDetails);
+        System.out.printf("权限数量：%d，json：%d 字节，二进制：%d 字节%n", authorityCount, jsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public void jsonSerialize(Blackhole blackhole) {
+        blackhole.consume(jsonSerializer.serialize(userDetails));
+    }
+
+    @Benchmark
+    public void binarySerialize(Blackhole blackhole) {
+        blackhole.consume(binarySerializer.serialize(userDetails));
+    }
+
+    @Benchmark
+    public void jsonDeserialize(Blackhole blackhole) {
+        blackhole.consume(jsonSerializer.deserialize(jsonBytes));
+    }
+
+    @Benchmark
+    public void binaryDeserialize(Blackhole blackhole) {
+        blackhole.consume(binarySerializer.deserialize(binaryBytes));
+    }
+
+    /**
+     * 在 IDE 中运行，或者 mvn test-compile exec:exec -Pbenchmark -Dbenchmark=SessionSerializerBenchmark
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SessionSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.basic;
+
+import com.basic.constant.AuthorizeConstants;
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.service.TokenSessionService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比旧的两次查询(jti -> 用户id -> 用户信息)与新的单次查询解析会话的耗时
+ */
+@SpringBootTest
+class TokenSessionLookupBenchmark {
+
+    private static final String LEGACY_JTI_USER_PREFIX = "basic-platform:test:userinfo:jti:";
+
+    private static final String LEGACY_USERINFO_PREFIX = "basic-platform:test:userinfo:id:";
+
+    private static final int WARMUP = 200;
+
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private TokenSessionService tokenSessionService;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private RedisTemplate<String, BasicUserDetails> userRedisTemplate;
+
+    @Test
+    void compareLookupLatency() {
+        BasicUserDetails userDetails = new BasicUserDetails();
+        userDetails.setId(-1L);
+        userDetails.setUsername("latency-test");
+        userDetails.setNickname("latency-test");
+
+        String jti = UUID.randomUUID().toString();
+        String refreshToken = UUID.randomUUID().toString();
+        // 旧的存储结构
+        stringRedisTemplate.opsForValue().set(LEGACY_JTI_USER_PREFIX + jti, String.valueOf(userDetails.getId()), 60, TimeUnit.SECONDS);
+        userRedisTemplate.opsForValue().set(LEGACY_USERINFO_PREFIX + userDetails.getId(), userDetails, 60, TimeUnit.SECONDS);
+        // 新的存储结构
+        tokenSessionService.saveTokens(jti, refreshToken, userDetails,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60));
+
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                legacyLoad(jti);
+                tokenSessionService.load(jti);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                Assertions.assertNotNull(legacyLoad(jti));
+            }
+            long legacyNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                Assertions.assertNotNull(tokenSessionService.load(jti));
+            }
+            long singleNanos = System.nanoTime() - start;
+
+            System.out.println("两次查询平均耗时(μs): " + legacyNanos / ITERATIONS / 1000.0);
+            System.out.println("单次查询平均耗时(μs): " + singleNanos / ITERATIONS / 1000.0);
+
+            Assertions.assertEquals(legacyLoad(jti).getUsername(), tokenSessionService.load(jti).getUsername());
+        } finally {
+            stringRedisTemplate.delete(List.of(LEGACY_JTI_USER_PREFIX + jti, LEGACY_USERINFO_PREFIX + userDetails.getId(),
+                    AuthorizeConstants.AUTHENTICATION_PREFIX + refreshToken));
+            tokenSessionService.removeByUserId(userDetails.getId());
+        }
+    }
+
+    private BasicUserDetails legacyLoad(String jti) {
+        String userId = stringRedisTemplate.opsForValue().get(LEGACY_JTI_USER_PREFIX + jti);
+        return userRedisTemplate.opsForValue().get(LEGACY_USERINFO_PREFIX + userId);
+    }
+
+}
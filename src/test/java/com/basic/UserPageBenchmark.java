@@ -0,0 +1,66 @@
+package com.basic;
+
+import com.basic.domain.PageResult;
+import com.basic.domain.request.FindBasicUserPageRequest;
+import com.basic.domain.response.FindBasicUserResponse;
+import com.basic.enums.PageCountModeEnum;
+import com.basic.service.SysBasicUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 对比按页码分页(OFFSET + COUNT)与按游标分页(不统计总条数)查询用户时，深度翻页(最多 {@value #MAX_PAGES} 页)的耗时
+ */
+@Slf4j
+@SpringBootTest
+class UserPageBenchmark {
+
+    private static final long SIZE = 20;
+
+    /**
+     * 最多翻页的页数
+     */
+    private static final long MAX_PAGES = 50;
+
+    @Autowired
+    private SysBasicUserService sysBasicUserService;
+
+    @Test
+    void compareOffsetAndKeysetLatency() {
+        FindBasicUserPageRequest request = new FindBasicUserPageRequest();
+        request.setSize(SIZE);
+        request.setCountMode(PageCountModeEnum.EXACT);
+        PageResult<FindBasicUserResponse> firstPage = sysBasicUserService.findByPage(request);
+        // 深度翻页只比较前 MAX_PAGES 页，数据量大时不遍历整张表
+        long pages = Math.min(MAX_PAGES, Math.max(1, (firstPage.getTotal() + SIZE - 1) / SIZE));
+
+        // 按页码查询第 pages 页
+        request.setCurrent(pages);
+        long start = System.nanoTime();
+        PageResult<FindBasicUserResponse> offsetPage = sysBasicUserService.findByPage(request);
+        long offsetNanos = System.nanoTime() - start;
+
+        // 按游标逐页查询到第 pages 页，记录每一页的最大耗时
+        request.setCurrent(1L);
+        request.setCountMode(PageCountModeEnum.NONE);
+        long maxKeysetNanos = 0;
+        PageResult<FindBasicUserResponse> keysetPage = null;
+        for (long page = 1; page <= pages; page++) {
+            start = System.nanoTime();
+            keysetPage = sysBasicUserService.findByPage(request);
+            maxKeysetNanos = Math.max(maxKeysetNanos, System.nanoTime() - start);
+            request.setCursor(keysetPage.getNextCursor());
+        }
+        // 两种方式查询到的第 pages 页相同
+        Assertions.assertEquals(offsetPage.getRecords().stream().map(FindBasicUserResponse::getId).toList(),
+                keysetPage.getRecords().stream().map(FindBasicUserResponse::getId).toList());
+        Assertions.assertEquals(offsetPage.getHasNext(), keysetPage.getHasNext());
+
+        log.info("按页码查询第 {} 页耗时(ms)：{}", pages, offsetNanos / 1_000_000.0);
+        log.info("按游标查询前 {} 页单页最大耗时(ms)：{}", pages, maxKeysetNanos / 1_000_000.0);
+    }
+
+}
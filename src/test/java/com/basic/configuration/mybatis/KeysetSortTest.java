@@ -0,0 +1,89 @@
+package com.basic.configuration.mybatis;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * 游标分页条件测试，与 MySQL 一致：升序时 null 在前，降序时 null 在后
+ */
+class KeysetSortTest {
+
+    private static final KeysetSort<Row, Integer> ASC =
+            KeysetSort.asc(Row::getSortOrder, Row::getId, Integer::valueOf);
+
+    private static final KeysetSort<Row, Integer> DESC =
+            KeysetSort.desc(Row::getSortOrder, Row::getId, Integer::valueOf);
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Row.class);
+    }
+
+    @Test
+    void ascAfterNullContinuesWithNullsThenAllNonNulls() {
+        Assertions.assertEquals("((sort_order IS NULL AND id > 5 OR sort_order IS NOT NULL))", after(ASC, null, 5L));
+    }
+
+    @Test
+    void ascAfterValueNeverReturnsNulls() {
+        Assertions.assertEquals("((sort_order > 3 OR (sort_order = 3 AND id > 5)))", after(ASC, 3, 5L));
+    }
+
+    @Test
+    void descAfterNullOnlyContinuesWithinNulls() {
+        Assertions.assertEquals("((sort_order IS NULL AND id < 5))", after(DESC, null, 5L));
+    }
+
+    @Test
+    void descAfterValueEndsWithNulls() {
+        Assertions.assertEquals("((sort_order < 3 OR (sort_order = 3 AND id < 5) OR sort_order IS NULL))",
+                after(DESC, 3, 5L));
+    }
+
+    @Test
+    void orderByAppendsIdInSameDirection() {
+        LambdaQueryWrapper<Row> wrapper = Wrappers.lambdaQuery(Row.class);
+        DESC.orderBy(wrapper);
+        Assertions.assertEquals("ORDER BY sort_order DESC,id DESC", wrapper.getSqlSegment().trim());
+    }
+
+    /**
+     * 生成游标条件，参数占位符替换为参数值
+     */
+    private static String after(KeysetSort<Row, Integer> sort, Integer value, Long id) {
+        LambdaQueryWrapper<Row> wrapper = Wrappers.lambdaQuery(Row.class);
+        sort.after(wrapper, value, id);
+        String sql = wrapper.getSqlSegment();
+        for (Map.Entry<String, Object> entry : wrapper.getParamNameValuePairs().entrySet()) {
+            sql = sql.replace("#{ew.paramNameValuePairs." + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+        return sql;
+    }
+
+    /**
+     * 测试用实体，只包含排序字段与主键
+     */
+    static class Row {
+
+        private Long id;
+
+        private Integer sortOrder;
+
+        public Long getId() {
+            return id;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+    }
+
+}
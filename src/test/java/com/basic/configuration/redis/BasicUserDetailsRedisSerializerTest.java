@@ -0,0 +1,101 @@
+package com.basic.configuration.redis;
+
+import com.basic.domain.model.BasicUserDetails;
+import com.basic.enums.GenderEnum;
+import com.basic.enums.OAuth2AccountPlatformEnum;
+import com.basic.util.RedisConfigUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户信息二进制序列化测试，序列化后读取的用户信息与原用户信息相同
+ */
+class BasicUserDetailsRedisSerializerTest {
+
+    private final GenericJacksonJsonRedisSerializer jsonSerializer = new GenericJacksonJsonRedisSerializer(
+            RedisConfigUtils.buildRedisObjectMapper(JsonMapper.builder()).build());
+
+    private final BasicUserDetailsRedisSerializer serializer = new BasicUserDetailsRedisSerializer(jsonSerializer);
+
+    @Test
+    void roundTripsAllFields() {
+        BasicUserDetails user = user(2);
+        byte[] bytes = serializer.serialize(user);
+        // 格式版本 2，未压缩
+        Assertions.assertEquals(2, bytes[0]);
+        Assertions.assertEquals(0, bytes[1]);
+        Assertions.assertEquals(user, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        BasicUserDetails user = new BasicUserDetails();
+        user.setId(1L);
+        user.setUsername("admin");
+        BasicUserDetails read = serializer.deserialize(serializer.serialize(user));
+        Assertions.assertEquals(user, read);
+        Assertions.assertNull(read.getAuthorities());
+        Assertions.assertNull(read.getGender());
+    }
+
+    @Test
+    void compressesManyAuthorities() {
+        BasicUserDetails user = user(100);
+        byte[] bytes = serializer.serialize(user);
+        Assertions.assertEquals(1, bytes[1]);
+        Assertions.assertEquals(user, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void readsJsonWrittenBeforeUpgrade() {
+        BasicUserDetails user = user(2);
+        BasicUserDetails read = serializer.deserialize(jsonSerializer.serialize(user));
+        Assertions.assertNotNull(read);
+        Assertions.assertEquals(user.getId(), read.getId());
+        Assertions.assertEquals(user.getUsername(), read.getUsername());
+        Assertions.assertEquals(List.of("system:user:0", "system:user:1"),
+                read.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void handlesEmptyInput() {
+        Assertions.assertNull(serializer.serialize(null));
+        Assertions.assertNull(serializer.deserialize(null));
+        Assertions.assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    private static BasicUserDetails user(int authorityCount) {
+        BasicUserDetails user = new BasicUserDetails();
+        user.setId(1949423372845867009L);
+        user.setUsername("admin");
+        user.setNickname("管理员");
+        user.setEmail("admin@example.com");
+        user.setEmailVerified(Boolean.TRUE);
+        user.setGender(GenderEnum.MALE);
+        user.setPassword("{noop}");
+        user.setBirthdate(LocalDate.of(2000, 1, 1));
+        user.setPhoneNumber("13800000000");
+        user.setPhoneNumberVerified(Boolean.FALSE);
+        user.setDeleted(0);
+        user.setAccountPlatform(OAuth2AccountPlatformEnum.SYSTEM);
+        user.setCreateBy(1L);
+        user.setCreateTime(LocalDateTime.of(2025, 7, 27, 10, 30, 15, 123456789));
+        user.setUpdateTime(LocalDateTime.of(2025, 7, 28, 8, 0));
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(new SimpleGrantedAuthority("system:user:" + i));
+        }
+        user.setAuthorities(authorities);
+        return user;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.basic.util;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 属性复制测试，每个场景都与 {@link BeanUtils#copyProperties(Object, Object)} 的结果比较
+ */
+class BeanCopyUtilsTest {
+
+    @Test
+    void copiesInheritedAccessors() {
+        Child source = new Child();
+        source.setId(1L);
+        source.setName("admin");
+        source.setCount(2);
+        source.setTags(List.of("a"));
+        source.setLevel(3);
+
+        Flat target = copy(source, Flat::new);
+        Assertions.assertEquals(1L, target.getId());
+        Assertions.assertEquals("admin", target.getName());
+        Assertions.assertEquals(2, target.getCount());
+        Assertions.assertSame(source.getTags(), target.getTags());
+        Assertions.assertEquals(3, target.getLevel());
+    }
+
+    @Test
+    void skipsPropertiesWithIncompatibleGenerics() {
+        StringTags source = new StringTags();
+        source.setTags(List.of("a"));
+
+        IntegerTags target = copy(source, () -> {
+            IntegerTags tags = new IntegerTags();
+            tags.setTags(List.of(1));
+            return tags;
+        });
+        Assertions.assertEquals(List.of(1), target.getTags());
+
+        Child child = copy(source, Child::new);
+        Assertions.assertSame(source.getTags(), child.getTags());
+    }
+
+    @Test
+    void skipsNullForPrimitivesAndBoxesOtherwise() {
+        Child source = new Child();
+        source.setLevel(5);
+
+        Primitives target = copy(source, () -> {
+            Primitives primitives = new Primitives();
+            primitives.setCount(7);
+            primitives.setLevel(9);
+            return primitives;
+        });
+        // null 不写入基本类型
+        Assertions.assertEquals(7, target.getCount());
+        // 基本类型装箱后写入包装类型
+        Assertions.assertEquals(5, target.getLevel());
+
+        source.setCount(3);
+        Assertions.assertEquals(3, copy(source, Primitives::new).getCount());
+    }
+
+    @Test
+    void overwritesWithNullForReferenceTypes() {
+        Flat target = copy(new Child(), () -> {
+            Flat flat = new Flat();
+            flat.setName("admin");
+            return flat;
+        });
+        Assertions.assertNull(target.getName());
+    }
+
+    /**
+     * 分别使用 BeanCopyUtils 与 BeanUtils 复制到新建的目标对象，断言结果相同
+     */
+    private static <T> T copy(Object source, Supplier<T> targetSupplier) {
+        T expected = targetSupplier.get();
+        BeanUtils.copyProperties(source, expected);
+        T actual = targetSupplier.get();
+        BeanCopyUtils.copyProperties(source, actual);
+        Assertions.assertEquals(expected, actual);
+        return actual;
+    }
+
+    @Data
+    static class Base {
+
+        private Long id;
+
+        private String name;
+
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class Child extends Base {
+
+        private Integer count;
+
+        private List<String> tags;
+
+        private int level;
+
+    }
+
+    @Data
+    static class Flat {
+
+        private Long id;
+
+        private String name;
+
+        private Integer count;
+
+        private List<String> tags;
+
+        private int level;
+
+    }
+
+    @Data
+    static class StringTags {
+
+        private List<String> tags;
+
+    }
+
+    @Data
+    static class IntegerTags {
+
+        private List<Integer> tags;
+
+    }
+
+    @Data
+    static class Primitives {
+
+        private int count;
+
+        private Integer level;
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.basic.util;
+
+import com.basic.domain.model.ExportColumn;
+import com.basic.enums.ExportFormatEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * csv 读取测试，导出的 csv 可以原样读回
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsBackExportedRows() throws IOException {
+        List<List<String>> rows = List.of(
+                List.of("admin", "北京市"),
+                List.of("a,b", "say \"hi\""),
+                List.of("multi\nline", "crlf\r\nline"),
+                List.of("", "trailing"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<List<String>> writer = ExportWriter.of(ExportFormatEnum.CSV, out, List.of(
+                ExportColumn.of("name", (List<String> row) -> row.get(0)),
+                ExportColumn.of("address", (List<String> row) -> row.get(1))), null);
+        rows.forEach(writer::write);
+        writer.finish();
+
+        CsvReader reader = new CsvReader(new InputStreamReader(
+                new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8));
+        // BOM 被忽略
+        Assertions.assertEquals(List.of("name", "address"), reader.next());
+        List<List<String>> read = new ArrayList<>();
+        List<String> values;
+        while ((values = reader.next()) != null) {
+            read.add(values);
+        }
+        Assertions.assertEquals(rows, read);
+    }
+
+    @Test
+    void tracksPhysicalLineOfEachRecord() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("name\n\"a\nb\"\r\nc"));
+        reader.next();
+        Assertions.assertEquals(1, reader.getLineNumber());
+        Assertions.assertEquals(List.of("a\nb"), reader.next());
+        Assertions.assertEquals(2, reader.getLineNumber());
+        Assertions.assertEquals(List.of("c"), reader.next());
+        Assertions.assertEquals(4, reader.getLineNumber());
+        Assertions.assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnclosedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("name\n\"a,b\n"));
+        reader.next();
+        Assertions.assertThrows(IOException.class, reader::next);
+    }
+
+}
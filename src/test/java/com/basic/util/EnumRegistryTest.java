@@ -0,0 +1,134 @@
+package com.basic.util;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.baomidou.mybatisplus.annotation.IEnum;
+import com.basic.configuration.EnumConverterFactory;
+import com.basic.enums.BasicEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * 枚举查找表测试：数值按数值比较，其它按字符串比较，字符串不会被解析为数值
+ */
+class EnumRegistryTest {
+
+    private final EnumRegistry<Level> levels = EnumRegistry.of(Level.class);
+
+    @Test
+    void findsIntegralValuesByAnyNumberType() {
+        Assertions.assertEquals(Level.LOW, levels.get(1));
+        Assertions.assertEquals(Level.LOW, levels.get(1L));
+        Assertions.assertEquals(Level.LOW, levels.get((short) 1));
+        Assertions.assertEquals(Level.LOW, levels.get(new BigDecimal("1.00")));
+        Assertions.assertEquals(Level.HIGH, levels.get(300L));
+        Assertions.assertNull(levels.get(2));
+        Assertions.assertNull(levels.get(null));
+    }
+
+    @Test
+    void matchesStringsByTrimmedTextOnly() {
+        Assertions.assertEquals(Level.LOW, levels.get(" 1 "));
+        Assertions.assertNull(levels.get("01"));
+        Assertions.assertNull(levels.get("1.0"));
+        Assertions.assertNull(levels.get("low"));
+    }
+
+    @Test
+    void comparesDecimalValuesNumerically() {
+        EnumRegistry<Ratio> ratios = EnumRegistry.of(Ratio.class);
+        Assertions.assertEquals(Ratio.HALF, ratios.get(new BigDecimal("0.5")));
+        Assertions.assertEquals(Ratio.HALF, ratios.get(0.5D));
+        Assertions.assertEquals(Ratio.HALF, ratios.get("0.50"));
+        Assertions.assertNull(ratios.get("0.5"));
+    }
+
+    @Test
+    void readsEnumValueField() {
+        EnumRegistry<Status> statuses = EnumRegistry.of(Status.class);
+        Assertions.assertEquals(Status.ENABLED, statuses.get("enabled"));
+        Assertions.assertEquals("disabled", statuses.valueOf(Status.DISABLED));
+        Assertions.assertEquals(300, levels.valueOf(Level.HIGH));
+    }
+
+    @Test
+    void rejectsEnumWithoutValue() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnumRegistry.of(Plain.class));
+    }
+
+    @Test
+    void fromValueRequiresEqualValue() {
+        Assertions.assertEquals(Level.HIGH, BasicEnum.fromValue(300, Level.class));
+        Assertions.assertNull(BasicEnum.fromValue(3, Level.class));
+    }
+
+    @Test
+    void converterParsesNumericParameters() {
+        Converter<String, Level> converter = new EnumConverterFactory<Integer, Level>().getConverter(Level.class);
+        Assertions.assertEquals(Level.LOW, converter.convert("1"));
+        Assertions.assertEquals(Level.LOW, converter.convert("01"));
+        Assertions.assertEquals(Level.HIGH, converter.convert(" 300.0 "));
+        Assertions.assertNull(converter.convert("low"));
+        Assertions.assertNull(converter.convert(""));
+    }
+
+    enum Level implements BasicEnum<Integer, Level> {
+
+        LOW(1),
+
+        HIGH(300);
+
+        private final Integer value;
+
+        Level(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer getValue() {
+            return this.value;
+        }
+
+    }
+
+    enum Ratio implements IEnum<BigDecimal> {
+
+        HALF(new BigDecimal("0.50"));
+
+        private final BigDecimal value;
+
+        Ratio(BigDecimal value) {
+            this.value = value;
+        }
+
+        @Override
+        public BigDecimal getValue() {
+            return this.value;
+        }
+
+    }
+
+    enum Status {
+
+        ENABLED("enabled"),
+
+        DISABLED("disabled");
+
+        @EnumValue
+        private final String code;
+
+        Status(String code) {
+            this.code = code;
+        }
+
+    }
+
+    enum Plain {
+
+        VALUE
+
+    }
+
+}
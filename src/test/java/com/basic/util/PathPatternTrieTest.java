@@ -0,0 +1,63 @@
+package com.basic.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 路径匹配前缀树测试，匹配结果与 AntPathMatcher 相同
+ */
+class PathPatternTrieTest {
+
+    @Test
+    void prefersLiteralOverVariableOverDoubleWildcard() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/api/**", "rest");
+        trie.add("/api/user/{id}", "variable");
+        trie.add("/api/user/list", "literal");
+
+        Assertions.assertEquals("literal", trie.match("/api/user/list"));
+        Assertions.assertEquals("variable", trie.match("/api/user/1"));
+        Assertions.assertEquals("rest", trie.match("/api/user/1/roles"));
+        Assertions.assertEquals("rest", trie.match("/api"));
+        Assertions.assertNull(trie.match("/other"));
+    }
+
+    @Test
+    void verifiesPartialWildcardBeforeTrailingDoubleWildcard() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/api/file-*/**", "file");
+
+        Assertions.assertEquals("file", trie.match("/api/file-1/x"));
+        Assertions.assertEquals("file", trie.match("/api/file-1"));
+        Assertions.assertNull(trie.match("/api/anything/x"));
+    }
+
+    @Test
+    void verifiesPartialWildcardSegment() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/api/file-*.txt", "txt");
+
+        Assertions.assertEquals("txt", trie.match("/api/file-1.txt"));
+        Assertions.assertNull(trie.match("/api/file-1.csv"));
+    }
+
+    @Test
+    void verifiesRegexVariable() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/user/{id:\\d+}", "id");
+        trie.add("/user/{name}", "name");
+
+        Assertions.assertEquals("id", trie.match("/user/12"));
+        Assertions.assertEquals("name", trie.match("/user/abc"));
+    }
+
+    @Test
+    void verifiesDoubleWildcardInTheMiddle() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/api/**/export", "export");
+
+        Assertions.assertEquals("export", trie.match("/api/user/role/export"));
+        Assertions.assertNull(trie.match("/api/user/role"));
+    }
+
+}